@@ -0,0 +1,94 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.adapter.OrderLine;
+import com.baymotors.patterns.adapter.PartSupplierAdapter;
+import com.baymotors.patterns.adapter.PartSupplierSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of 10-line baskets placed with orderParts versus the same
+ * baskets placed by looping over orderPart. Run as a plain Java program;
+ * the optional argument is the maximum thread count.
+ */
+public class BatchOrderBenchmark {
+    private static final int PART_COUNT = 64;
+    private static final int BASKET_SIZE = 10;
+    private static final long RUN_MILLIS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        run(1, true); // Warm-up
+        run(1, false);
+        System.out.println("Threads  batch baskets/s   looped baskets/s");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double batch = run(threads, true);
+            double looped = run(threads, false);
+            System.out.printf("%7d  %15.0f  %17.0f%n", threads, batch, looped);
+        }
+    }
+
+    private static double run(int threads, boolean batch) throws InterruptedException {
+        Supplier supplier = new Supplier(1, "Bench Supplier", "Bench", "bench@test.com", "0000", "Cardiff");
+        Manufacturer manufacturer = new Manufacturer(1, "Bench");
+        for (int i = 0; i < PART_COUNT; i++) {
+            supplier.addPart(new Part(i, "Part " + i, "P" + i, 1.0, manufacturer, supplier), Integer.MAX_VALUE);
+        }
+        PartSupplierSystem system = new PartSupplierAdapter(supplier);
+
+        LongAdder baskets = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        for (int t = 0; t < threads; t++) {
+            List<List<OrderLine>> basketsForThread = buildBaskets(t);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                while ((local & 255) != 0 || System.currentTimeMillis() < deadline) {
+                    List<OrderLine> basket = basketsForThread.get((int) (local % basketsForThread.size()));
+                    if (batch) {
+                        system.orderParts(basket);
+                    } else {
+                        for (OrderLine line : basket) {
+                            system.orderPart(line.getPartCode(), line.getQuantity());
+                        }
+                    }
+                    local++;
+                }
+                baskets.add(local);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return baskets.sum() * 1_000.0 / RUN_MILLIS;
+    }
+
+    // Overlapping baskets so threads really do compete for the same parts
+    private static List<List<OrderLine>> buildBaskets(int seed) {
+        List<List<OrderLine>> baskets = new ArrayList<>();
+        for (int b = 0; b < 16; b++) {
+            List<OrderLine> basket = new ArrayList<>(BASKET_SIZE);
+            for (int i = 0; i < BASKET_SIZE; i++) {
+                basket.add(new OrderLine("P" + ((seed * 7 + b * 3 + i * 5) % PART_COUNT), 1));
+            }
+            baskets.add(basket);
+        }
+        return baskets;
+    }
+}
@@ -0,0 +1,52 @@
+package bench.com.baymotos;
+
+import com.baymotors.exceptions.BayMotorsException;
+
+/**
+ * Cost of throwing and catching a validation failure with and without a
+ * stack trace. Each exception is thrown a few dozen frames deep, about as
+ * deep as a menu handler or HTTP request handler. Run as a plain Java
+ * program.
+ */
+public class ExceptionCostBenchmark {
+    private static final int DEPTH = 40;
+    private static final int RUNS = 500_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            double full = time(true);
+            double stackless = time(false);
+            if (round == 2) {
+                System.out.printf("Full stack trace %.2f us, stackless %.2f us per failure%n", full, stackless);
+            }
+        }
+    }
+
+    private static double time(boolean fullTrace) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            try {
+                fail(DEPTH, fullTrace);
+            } catch (BayMotorsException e) {
+                sink += e.getMessage().length();
+            }
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / RUNS;
+        if (sink == 0) {
+            throw new AssertionError();
+        }
+        return micros;
+    }
+
+    private static void fail(int depth, boolean fullTrace) throws BayMotorsException {
+        if (depth > 0) {
+            fail(depth - 1, fullTrace);
+            return;
+        }
+        if (fullTrace) {
+            throw new BayMotorsException("Invalid task", BayMotorsException.ErrorCode.TASK_ERROR);
+        }
+        throw BayMotorsException.expected("Invalid task", BayMotorsException.ErrorCode.TASK_ERROR);
+    }
+}
@@ -0,0 +1,100 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.HttpApiServer;
+import com.baymotors.utils.LatencyHistogram;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loopback load test for the HTTP API: concurrent clients on virtual
+ * threads mix task reads with task creation. Run as a plain Java program;
+ * the optional arguments are the number of clients and requests per client.
+ */
+public class HttpApiBenchmark {
+    private static final int VEHICLES = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        System.setProperty(HttpApiServer.NO_DELAY_PROPERTY, "true"); // As BayMotorsApp does
+
+        DataStore dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        Manager manager = new Manager(dataStore.getNextUserId(), "Load Manager", "load@test.com", "load123");
+        dataStore.addUser(manager);
+        Manufacturer make = new Manufacturer(1, "Toyota");
+        for (int i = 0; i < VEHICLES; i++) {
+            Customer customer = new Customer(dataStore.getNextCustomerId(), "Customer " + i, "c" + i + "@test.com", "0000");
+            dataStore.addCustomer(customer);
+            Vehicle vehicle = new Vehicle(dataStore.getNextVehicleId(), "LD" + i, make, "Yaris", 2021);
+            vehicle.setOwner(customer);
+            dataStore.addVehicle(vehicle);
+        }
+
+        HttpApiServer server = new HttpApiServer(dataStore, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getPort();
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load@test.com\",\"password\":\"load123\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        String token = login.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        LatencyHistogram reads = new LatencyHistogram();
+        LatencyHistogram writes = new LatencyHistogram();
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                running.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        boolean write = i % 4 == 0;
+                        int vehicleId = 1 + (clientId * requestsPerClient + i) % VEHICLES;
+                        HttpRequest.Builder request = write
+                                ? HttpRequest.newBuilder(URI.create(baseUrl + "/tasks")).POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"vehicleId\":" + vehicleId + ",\"description\":\"Load test\",\"priority\":2}"))
+                                : HttpRequest.newBuilder(URI.create(baseUrl + "/vehicles/" + vehicleId)).GET();
+                        request.header("Authorization", "Bearer " + token);
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        (write ? writes : reads).record(System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        server.stop();
+
+        long total = (long) clients * requestsPerClient;
+        System.out.printf("%d clients, %d requests in %.2f s: %.0f req/s, %d errors%n",
+                clients, total, seconds, total / seconds, errors.get());
+        System.out.println("reads  " + reads.summary());
+        System.out.println("writes " + writes.summary());
+        System.out.println("tasks created: " + dataStore.getAllTasks().size());
+    }
+}
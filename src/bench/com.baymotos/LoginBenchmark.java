@@ -0,0 +1,47 @@
+package bench.com.baymotos;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.models.Mechanic;
+import com.baymotors.models.User;
+import com.baymotors.utils.AuthService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Requests per second when every request re-checks the password, against
+ * logging in once and presenting the session token. Run as a plain Java
+ * program; the optional argument is the number of requests per mode.
+ */
+public class LoginBenchmark {
+    public static void main(String[] args) throws AuthException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        Map<String, User> users = new HashMap<>();
+        User user = new Mechanic(1, "Bench Mechanic", "bench@test.com", "bench123");
+        users.put(user.getEmail(), user);
+        AuthService auth = new AuthService(users::get);
+
+        // Warm up the hashing and lookup paths
+        auth.logout(auth.login("bench@test.com", "bench123", "bench"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            auth.logout(auth.login("bench@test.com", "bench123", "bench"));
+        }
+        double loginMicros = (System.nanoTime() - start) / 1_000.0 / requests;
+
+        String token = auth.login("bench@test.com", "bench123", "bench");
+        int validations = 2_000_000;
+        for (int i = 0; i < validations; i++) {
+            auth.authenticate(token);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < validations; i++) {
+            auth.authenticate(token);
+        }
+        double sessionMicros = (System.nanoTime() - start) / 1_000.0 / validations;
+
+        System.out.printf("Password per request: %10.1f us  (%,.0f req/s)%n", loginMicros, 1_000_000 / loginMicros);
+        System.out.printf("Session token:        %10.3f us  (%,.0f req/s)%n", sessionMicros, 1_000_000 / sessionMicros);
+    }
+}
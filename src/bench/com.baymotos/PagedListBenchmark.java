@@ -0,0 +1,58 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.PagedRenderer;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Time to show one page of a large customer list, against printing every
+ * row as the list screens used to. Output goes to a discarding stream so
+ * the terminal is not measured. Run as a plain Java program; the optional
+ * argument is the number of customers.
+ */
+public class PagedListBenchmark {
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        DataStore dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        for (int i = 0; i < customers; i++) {
+            dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "Customer " + i,
+                    "customer" + i + "@test.com", "0000"));
+        }
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            List<Customer> all = dataStore.getAllCustomers();
+            for (int i = 0; i < all.size(); i++) {
+                Customer customer = all.get(i);
+                out.printf("%d. %s (%s) - %s\n", i + 1, customer.getName(), customer.getEmail(),
+                        customer.isRegistered() ? "Registered" : "Unregistered");
+            }
+            long fullMillis = (System.nanoTime() - start) / 1_000_000;
+
+            PagedRenderer<Customer> pages = new PagedRenderer<>("Customers",
+                    dataStore::getCustomerCount, dataStore::getCustomers,
+                    (buffer, number, customer) -> buffer.append(number).append(". ").append(customer.getName())
+                            .append(" (").append(customer.getEmail()).append(") - ")
+                            .append(customer.isRegistered() ? "Registered" : "Unregistered").append('\n'),
+                    out, 20);
+            int renders = 10_000;
+            start = System.nanoTime();
+            for (int i = 0; i < renders; i++) {
+                pages.navigate("g" + (1 + (i * 7919L) % (customers / 20)));
+                pages.render();
+            }
+            double pageMicros = (System.nanoTime() - start) / 1_000.0 / renders;
+
+            if (round == 2) {
+                System.out.printf("%d customers: full list %d ms, random page %.1f us%n",
+                        customers, fullMillis, pageMicros);
+            }
+        }
+    }
+}
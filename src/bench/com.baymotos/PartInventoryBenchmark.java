@@ -0,0 +1,98 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.PartCodes;
+import com.baymotors.models.Supplier;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Footprint and lookup cost of Supplier's interned-ID stock table against a
+ * ConcurrentHashMap<String, AtomicInteger> holding the same stock. Run as a
+ * plain Java program; the optional argument is the number of parts.
+ */
+public class PartInventoryBenchmark {
+    private static final int LOOKUPS = 5_000_000;
+
+    public static void main(String[] args) {
+        int partCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Manufacturer manufacturer = new Manufacturer(1, "Bench");
+        Supplier owner = new Supplier(0, "Owner", "Bench", "owner@test.com", "0000", "Cardiff");
+        String[] codes = new String[partCount];
+        Part[] parts = new Part[partCount];
+        for (int i = 0; i < partCount; i++) {
+            codes[i] = "BENCH-" + i;
+            parts[i] = new Part(i, "Part " + i, codes[i], 1.0, manufacturer, owner);
+            PartCodes.intern(codes[i]);
+        }
+
+        long before = usedMemory();
+        ConcurrentHashMap<String, AtomicInteger> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < partCount; i++) {
+            map.put(codes[i], new AtomicInteger(1_000 + i));
+        }
+        long mapBytes = usedMemory() - before;
+
+        before = usedMemory();
+        Supplier supplier = new Supplier(1, "Bench Supplier", "Bench", "bench@test.com", "0000", "Cardiff");
+        for (int i = 0; i < partCount; i++) {
+            supplier.addPart(parts[i], 1_000 + i);
+        }
+        // The supplier also keeps its catalogue list, one reference per part
+        long supplierBytes = usedMemory() - before - 4L * partCount;
+
+        int[] probe = new int[LOOKUPS];
+        Random random = new Random(7);
+        for (int i = 0; i < LOOKUPS; i++) {
+            probe[i] = random.nextInt(partCount);
+        }
+        int[] ids = new int[partCount];
+        for (int i = 0; i < partCount; i++) {
+            ids[i] = PartCodes.idOf(codes[i]);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i : probe) {
+                sum += map.get(codes[i]).get();
+            }
+            long mapNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i : probe) {
+                sum += supplier.getPartQuantity(codes[i]);
+            }
+            long codeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i : probe) {
+                sum += supplier.getPartQuantity(ids[i]);
+            }
+            long idNanos = System.nanoTime() - start;
+
+            System.out.printf("Round %d lookup ns/op: map %.1f, supplier by code %.1f, supplier by ID %.1f (checksum %d)%n",
+                    round + 1,
+                    (double) mapNanos / LOOKUPS,
+                    (double) codeNanos / LOOKUPS,
+                    (double) idNanos / LOOKUPS,
+                    sum);
+        }
+
+        System.out.printf("Parts: %d%n", partCount);
+        System.out.printf("ConcurrentHashMap<String, AtomicInteger>: ~%d KB (measured)%n", mapBytes / 1024);
+        System.out.printf("Supplier stock table: ~%d KB (measured), ~%d KB (computed)%n",
+                supplierBytes / 1024, supplier.getInventorySizeInBytes() / 1024);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,63 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.SearchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Query latency of the part search index over a generated catalogue. Run
+ * as a plain Java program; the optional argument is the number of parts.
+ */
+public class PartSearchBenchmark {
+    private static final String[] WORDS = {
+            "oil", "filter", "brake", "pad", "disc", "front", "rear", "spark", "plug", "wiper",
+            "blade", "timing", "belt", "water", "pump", "clutch", "kit", "alternator", "starter", "motor",
+            "radiator", "hose", "gasket", "bearing", "shock", "absorber", "bulb", "headlight", "sensor", "valve"
+    };
+    private static final String[] MAKES = {"Toyota", "Honda", "Ford", "Vauxhall", "Nissan", "BMW", "Audi", "Kia"};
+    private static final String[] QUERIES = {
+            "bra", "oil fil", "spark plug ford", "alternat", "BP12", "headlgiht", "radaitor hose", "tim belt kia"
+    };
+    private static final int LIMIT = 10;
+
+    public static void main(String[] args) {
+        int partCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Supplier supplier = new Supplier(1, "Bench Supplier", "Bench", "bench@test.com", "0000", "Cardiff");
+        Manufacturer[] makes = new Manufacturer[MAKES.length];
+        for (int i = 0; i < makes.length; i++) {
+            makes[i] = new Manufacturer(i + 1, MAKES[i]);
+        }
+        SearchIndex<Part> index = new SearchIndex<>(Part::getId, part -> Arrays.asList(
+                part.getName(), part.getCode(), part.getManufacturer().getName()));
+
+        Random random = new Random(11);
+        long start = System.nanoTime();
+        for (int i = 0; i < partCount; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String code = (char) ('A' + random.nextInt(26)) + "" + (char) ('A' + random.nextInt(26)) + i;
+            index.add(new Part(i, name, code, 1.0, makes[random.nextInt(makes.length)], supplier));
+        }
+        System.out.printf("Indexed %d parts in %d ms%n", partCount, (System.nanoTime() - start) / 1_000_000);
+
+        for (int round = 0; round < 5; round++) {
+            for (String query : QUERIES) {
+                int iterations = 200;
+                int found = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    List<Part> results = index.search(query, LIMIT);
+                    found = results.size();
+                }
+                double micros = (System.nanoTime() - start) / 1_000.0 / iterations;
+                if (round == 4) {
+                    System.out.printf("%-18s %8.1f us  (%d results)%n", "\"" + query + "\"", micros, found);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.ScriptRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+/**
+ * Replays a generated day of garage operations through the headless
+ * script runner. Run as a plain Java program; the optional argument is
+ * the number of commands.
+ */
+public class ScriptReplayBenchmark {
+    private static final int MECHANICS = 20;
+    private static final int CUSTOMERS = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        int commands = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        DataStore dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+
+        Manager manager = new Manager(dataStore.getNextUserId(), "Bench Manager", "manager@bench.com", "bench123");
+        dataStore.addUser(manager);
+        int firstMechanicId = 0;
+        for (int i = 0; i < MECHANICS; i++) {
+            Mechanic mechanic = new Mechanic(dataStore.getNextUserId(), "Mechanic " + i,
+                    "mechanic" + i + "@bench.com", "bench123", Role.MECHANIC);
+            dataStore.addUser(mechanic);
+            manager.addTeamMember(mechanic);
+            if (i == 0) {
+                firstMechanicId = mechanic.getId();
+            }
+        }
+        Manufacturer make = new Manufacturer(dataStore.getNextManufacturerId(), "Toyota");
+        dataStore.addManufacturer(make);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer(dataStore.getNextCustomerId(), "Customer " + i,
+                    "customer" + i + "@bench.com", "0000" + i);
+            customer.register();
+            dataStore.addCustomer(customer);
+            Vehicle vehicle = new Vehicle(dataStore.getNextVehicleId(), "BM" + i, make, "Corolla", 2020);
+            vehicle.setOwner(customer);
+            dataStore.addVehicle(vehicle);
+        }
+
+        // Each task is created, allocated, completed and its owner offered a deal
+        StringBuilder script = new StringBuilder("login manager@bench.com bench123\n");
+        int tasks = commands / 4;
+        for (int task = 1; task <= tasks; task++) {
+            int vehicle = 1 + task % CUSTOMERS;
+            script.append("create-task ").append(vehicle).append(' ').append(1 + task % 3)
+                    .append(" Service visit ").append(task).append('\n');
+            script.append("allocate ").append(task).append(' ').append(firstMechanicId + task % MECHANICS).append('\n');
+            script.append("complete ").append(task).append('\n');
+            script.append("notify ").append(vehicle).append(" offer\n");
+        }
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ScriptRunner.Report report = new ScriptRunner(dataStore).run(new BufferedReader(new StringReader(script.toString())));
+        System.setOut(console);
+        System.out.print(report.format());
+    }
+}
@@ -0,0 +1,69 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark for Supplier.order. Run as a plain Java program:
+ * it reports order throughput for 1..N threads, once with every thread
+ * hammering the same hot part and once with orders spread over many parts.
+ */
+public class SupplierInventoryBenchmark {
+    private static final int PART_COUNT = 64;
+    private static final long RUN_MILLIS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        System.out.println("Threads  hot-part ops/s   spread ops/s");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double hot = run(threads, true);
+            double spread = run(threads, false);
+            System.out.printf("%7d  %14.0f  %13.0f%n", threads, hot, spread);
+        }
+    }
+
+    private static double run(int threads, boolean hotPart) throws InterruptedException {
+        Supplier supplier = new Supplier(1, "Bench Supplier", "Bench", "bench@test.com", "0000", "Cardiff");
+        Manufacturer manufacturer = new Manufacturer(1, "Bench");
+        String[] codes = new String[PART_COUNT];
+        for (int i = 0; i < PART_COUNT; i++) {
+            codes[i] = "P" + i;
+            supplier.addPart(new Part(i, "Part " + i, codes[i], 1.0, manufacturer, supplier), Integer.MAX_VALUE);
+        }
+
+        LongAdder orders = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int i = seed;
+                long local = 0;
+                while ((local & 1023) != 0 || System.currentTimeMillis() < deadline) {
+                    String code = hotPart ? codes[0] : codes[i++ & (PART_COUNT - 1)];
+                    supplier.order(code, 1);
+                    local++;
+                }
+                orders.add(local);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return orders.sum() * 1_000.0 / RUN_MILLIS;
+    }
+}
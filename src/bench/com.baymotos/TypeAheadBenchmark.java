@@ -0,0 +1,66 @@
+package bench.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.SearchIndex;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Time to answer a type-ahead query against a large customer list, next
+ * to a linear scan of every customer for the same text. Run as a plain
+ * Java program with a large heap (e.g. -Xmx3g); the optional argument is
+ * the number of customers.
+ */
+public class TypeAheadBenchmark {
+    private static final String[] FIRST = {"John", "Joanna", "Alice", "Mohammed", "Priya", "David", "Sarah", "Tom"};
+    private static final String[] LAST = {"Smith", "Jones", "Patel", "Brown", "Khan", "Taylor", "Wilson", "Evans"};
+    private static final String[] QUERIES = {"jo", "john sm", "07700 9001", "customer12345", "smitj"};
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        DataStore dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        long start = System.nanoTime();
+        for (int i = 0; i < customers; i++) {
+            dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(),
+                    FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length],
+                    "customer" + i + "@test.com", String.format("07700 9%05d", i % 100_000)));
+        }
+        System.out.printf("Loaded and indexed %d customers in %d ms%n",
+                customers, (System.nanoTime() - start) / 1_000_000);
+
+        SearchIndex<Customer> index = dataStore.getCustomerSearchIndex();
+        List<Customer> all = dataStore.getAllCustomers();
+        for (int round = 0; round < 3; round++) {
+            for (String query : QUERIES) {
+                int runs = 1_000;
+                start = System.nanoTime();
+                int found = 0;
+                for (int i = 0; i < runs; i++) {
+                    found = index.search(query, 10).size();
+                }
+                double searchMicros = (System.nanoTime() - start) / 1_000.0 / runs;
+
+                start = System.nanoTime();
+                String needle = query.toLowerCase(Locale.ROOT);
+                int scanned = 0;
+                for (Customer customer : all) {
+                    if (customer.getName().toLowerCase(Locale.ROOT).contains(needle)
+                            || customer.getEmail().contains(needle) || customer.getPhone().contains(needle)) {
+                        if (++scanned == 10) {
+                            break;
+                        }
+                    }
+                }
+                double scanMicros = (System.nanoTime() - start) / 1_000.0;
+
+                if (round == 2) {
+                    System.out.printf("%-15s %2d matches  index %8.1f us  scan %10.1f us%n",
+                            "'" + query + "'", found, searchMicros, scanMicros);
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,50 @@
 package com.baymotors;
 
+import com.baymotors.utils.ConsoleServer;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.HttpApiServer;
 import com.baymotors.utils.MenuSystem;
+import com.baymotors.utils.NotificationCoalescer;
+import com.baymotors.utils.NotificationUtil;
+import com.baymotors.utils.ScriptRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 public class BayMotorsApp {
+    // Directory for state kept between runs, e.g. -Dbaymotors.dataDir=/var/lib/baymotors
+    private static final String DATA_DIR_PROPERTY = "baymotors.dataDir";
+    private static final long SCHEDULER_TICK_MILLIS = 1_000;
+    private static final int SCHEDULER_BATCH_SIZE = 500;
+
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--script")) {
+            runScript(args[1], args.length > 2 && args[2].equals("--verbose"));
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--console-server")) {
+            runConsoleServer(Integer.parseInt(args[1]));
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--http")) {
+            runHttpApi(Integer.parseInt(args[1]));
+            return;
+        }
+
         System.out.println("Starting Bay Motors Management System...");
         System.out.println("Initializing data...");
 
         try {
             // Create and start the menu system
             MenuSystem menuSystem = new MenuSystem();
+            startBackgroundServices();
 
             // Display welcome message and credentials
             System.out.println("\nWelcome to Bay Motors Management System!");
@@ -24,10 +59,101 @@ public class BayMotorsApp {
 
             // Start the menu system
             menuSystem.start();
+            System.exit(0);
 
         } catch (Exception e) {
             System.err.println("Error starting the application: " + e.getMessage());
             e.printStackTrace();
         }
     }
+
+    /**
+     * Opens on-disk storage and starts reservation expiry, notification
+     * coalescing and the release of scheduled notifications. On exit a
+     * shutdown hook stops releasing, delivers digests still pending, saves
+     * the scheduled notifications and writes the last inventory ledger batch.
+     */
+    private static void startBackgroundServices() {
+        DataStore dataStore = DataStore.getInstance();
+        try {
+            dataStore.openStorage(Paths.get(System.getProperty(DATA_DIR_PROPERTY, "data")));
+        } catch (IOException e) {
+            System.err.println("Could not open data directory, scheduled notifications and stock movements "
+                    + "will not be kept: " + e.getMessage());
+        }
+        dataStore.getReservationManager().start();
+        NotificationCoalescer coalescer = dataStore.getNotificationCoalescer();
+        coalescer.start();
+        NotificationUtil.useCoalescer(coalescer);
+        dataStore.getNotificationScheduler().start(SCHEDULER_TICK_MILLIS, SCHEDULER_BATCH_SIZE,
+                dataStore::getCustomer, NotificationUtil::sendBatch);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            dataStore.getNotificationScheduler().stop();
+            coalescer.stop();
+            try {
+                dataStore.closeStorage();
+            } catch (IOException e) {
+                System.err.println("Could not save data: " + e.getMessage());
+            }
+        }, "notification-flush"));
+    }
+
+    /**
+     * Replays a command script ("-" for stdin) and prints the latency report.
+     * Notification output is discarded unless verbose is set, so the
+     * report measures the operations rather than the terminal.
+     */
+    private static void runScript(String path, boolean verbose) {
+        PrintStream console = System.out;
+        try (BufferedReader script = path.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(path))) {
+            ScriptRunner runner = new ScriptRunner(DataStore.getInstance());
+            if (!verbose) {
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            }
+            ScriptRunner.Report report;
+            try {
+                report = runner.run(script);
+            } finally {
+                System.setOut(console);
+            }
+            console.print(report.format());
+        } catch (IOException e) {
+            System.err.println("Error reading script: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serves the HTTP API on the loopback interface until the process is stopped.
+     */
+    private static void runHttpApi(int port) {
+        if (System.getProperty(HttpApiServer.NO_DELAY_PROPERTY) == null) {
+            System.setProperty(HttpApiServer.NO_DELAY_PROPERTY, "true");
+        }
+        try {
+            HttpApiServer server = new HttpApiServer(DataStore.getInstance(),
+                    new InetSocketAddress("127.0.0.1", port));
+            startBackgroundServices();
+            server.start();
+            System.out.println("HTTP API listening on http://127.0.0.1:" + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting the HTTP API: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serves the console menus over TCP on the loopback interface, one
+     * session per connection, until the process is stopped.
+     */
+    private static void runConsoleServer(int port) {
+        try {
+            ConsoleServer server = new ConsoleServer(new InetSocketAddress("127.0.0.1", port));
+            startBackgroundServices();
+            server.start();
+            System.out.println("Console server listening on 127.0.0.1:" + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting the console server: " + e.getMessage());
+        }
+    }
 }
@@ -1,7 +1,23 @@
 package com.baymotors.exceptions;
 
+/**
+ * A failed login or a missing permission. Always expected, so no stack
+ * trace is captured. A missing or invalid session is UNAUTHORIZED_ACCESS;
+ * a logged-in user without the permission is PERMISSION_DENIED.
+ */
 public class AuthException extends BayMotorsException{
     public AuthException(String message) {
-        super(message, ErrorCode.UNAUTHORIZED_ACCESS);
+        super(message, ErrorCode.UNAUTHORIZED_ACCESS, true);
+    }
+
+    private AuthException(String message, ErrorCode errorCode) {
+        super(message, errorCode, true);
+    }
+
+    /**
+     * The user is known but is not allowed to do this.
+     */
+    public static AuthException permissionDenied(String message) {
+        return new AuthException(message, ErrorCode.PERMISSION_DENIED);
     }
 }
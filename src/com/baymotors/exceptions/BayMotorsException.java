@@ -1,29 +1,72 @@
 package com.baymotors.exceptions;
 
+/**
+ * Base checked exception for the system.
+ *
+ * Most of these are expected outcomes, such as invalid input or a task
+ * that is already allocated, and the caller only needs the code and the
+ * message. expected() and the TaskException, AuthException and
+ * ConflictException subclasses skip capturing a stack trace, which is
+ * most of the cost of throwing. The public constructors still capture
+ * one for genuinely unexpected errors. Every exception is counted per code in ErrorMetrics.
+ */
 public class BayMotorsException extends Exception{
+    // Run with -Dbaymotors.fullTraces=true to capture traces for expected failures as well
+    private static final boolean FULL_TRACES = Boolean.getBoolean("baymotors.fullTraces");
+
     private final ErrorCode errorCode;
+    private final boolean expected;
 
     public enum ErrorCode {
         INVALID_INPUT,
         UNAUTHORIZED_ACCESS,
+        PERMISSION_DENIED,
         CUSTOMER_NOT_FOUND,
         VEHICLE_NOT_FOUND,
+        TASK_NOT_FOUND,
         MECHANIC_UNAVAILABLE,
         TASK_ERROR,
+        CONFLICT,
         SYSTEM_ERROR
     }
 
     public BayMotorsException(String message, ErrorCode errorCode) {
         super(message);
         this.errorCode = errorCode;
+        this.expected = false;
+        ErrorMetrics.getInstance().record(errorCode, false);
     }
 
     public BayMotorsException(String message, ErrorCode errorCode, Throwable cause) {
         super(message, cause);
         this.errorCode = errorCode;
+        this.expected = false;
+        ErrorMetrics.getInstance().record(errorCode, false);
+    }
+
+    /**
+     * For expected failures: no stack trace is captured unless full traces are switched on.
+     */
+    protected BayMotorsException(String message, ErrorCode errorCode, boolean expected) {
+        super(message, null, true, !expected || FULL_TRACES);
+        this.errorCode = errorCode;
+        this.expected = expected;
+        ErrorMetrics.getInstance().record(errorCode, expected);
+    }
+
+    /**
+     * Creates an exception for an expected failure, such as a validation
+     * error, without capturing a stack trace.
+     */
+    public static BayMotorsException expected(String message, ErrorCode errorCode) {
+        return new BayMotorsException(message, errorCode, true);
     }
 
     public ErrorCode getErrorCode() {
         return errorCode;
     }
+
+    public boolean isExpected() {
+        return expected;
+    }
 }
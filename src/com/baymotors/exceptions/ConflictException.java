@@ -0,0 +1,25 @@
+package com.baymotors.exceptions;
+
+/**
+ * A write was refused because the record changed after the writer read
+ * it. The writer should read the record again and decide whether its
+ * change still applies. Always expected, so no stack trace is captured.
+ */
+public class ConflictException extends BayMotorsException{
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public ConflictException(String message, long expectedVersion, long actualVersion) {
+        super(message, ErrorCode.CONFLICT, true);
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
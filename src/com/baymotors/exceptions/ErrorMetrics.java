@@ -0,0 +1,74 @@
+package com.baymotors.exceptions;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How many BayMotorsExceptions have been created per error code, split
+ * into expected failures and unexpected errors. Every exception is
+ * recorded here when it is constructed.
+ */
+public class ErrorMetrics {
+    private static final ErrorMetrics instance = new ErrorMetrics();
+
+    private final Map<BayMotorsException.ErrorCode, LongAdder> expected;
+    private final Map<BayMotorsException.ErrorCode, LongAdder> unexpected;
+
+    private ErrorMetrics() {
+        expected = new EnumMap<>(BayMotorsException.ErrorCode.class);
+        unexpected = new EnumMap<>(BayMotorsException.ErrorCode.class);
+        for (BayMotorsException.ErrorCode code : BayMotorsException.ErrorCode.values()) {
+            expected.put(code, new LongAdder());
+            unexpected.put(code, new LongAdder());
+        }
+    }
+
+    public static ErrorMetrics getInstance() {
+        return instance;
+    }
+
+    void record(BayMotorsException.ErrorCode code, boolean isExpected) {
+        if (code == null) {
+            return;
+        }
+        (isExpected ? expected : unexpected).get(code).increment();
+    }
+
+    public long getExpectedCount(BayMotorsException.ErrorCode code) {
+        return expected.get(code).sum();
+    }
+
+    public long getUnexpectedCount(BayMotorsException.ErrorCode code) {
+        return unexpected.get(code).sum();
+    }
+
+    public long getCount(BayMotorsException.ErrorCode code) {
+        return getExpectedCount(code) + getUnexpectedCount(code);
+    }
+
+    public void reset() {
+        for (BayMotorsException.ErrorCode code : BayMotorsException.ErrorCode.values()) {
+            expected.get(code).reset();
+            unexpected.get(code).reset();
+        }
+    }
+
+    /**
+     * One line per error code that has been seen.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (BayMotorsException.ErrorCode code : BayMotorsException.ErrorCode.values()) {
+            long expectedCount = getExpectedCount(code);
+            long unexpectedCount = getUnexpectedCount(code);
+            if (expectedCount + unexpectedCount == 0) {
+                continue;
+            }
+            report.append(code)
+                    .append(": expected=").append(expectedCount)
+                    .append(" unexpected=").append(unexpectedCount).append('\n');
+        }
+        return report.toString();
+    }
+}
@@ -1,7 +1,11 @@
 package com.baymotors.exceptions;
 
+/**
+ * A task operation that was refused, such as completing a task that is
+ * not assigned. Always expected, so no stack trace is captured.
+ */
 public class TaskException extends BayMotorsException{
     public TaskException(String message) {
-        super(message, ErrorCode.TASK_ERROR);
+        super(message, ErrorCode.TASK_ERROR, true);
     }
 }
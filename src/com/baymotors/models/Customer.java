@@ -2,16 +2,21 @@ package com.baymotors.models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import com.baymotors.patterns.observer.CustomerListener;
 import com.baymotors.patterns.observer.Observer;
 
-public class Customer {
+public class Customer implements Versioned {
     private int id;
     private String name;
     private String email;
     private String phone;
-    private boolean isRegistered;
-    private List<Vehicle> vehicles;
+    private volatile boolean isRegistered;
+    private List<Vehicle> vehicles; // Guarded by this; sessions add vehicles to the same customer
     private List<Observer> observers;
+    private List<CustomerListener> listeners;
+    private final AtomicLong version = new AtomicLong();
 
     public Customer(int id, String name, String email, String phone) {
         this.id = id;
@@ -20,30 +25,58 @@ public class Customer {
         this.phone = phone;
         this.isRegistered = false;
         this.vehicles = new ArrayList<>();
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
     public void register() {
         this.isRegistered = true;
+        version.incrementAndGet();
         notifyObservers("Customer registered: " + this.name);
+        for (CustomerListener listener : listeners) {
+            listener.onRegistered(this);
+        }
     }
 
     // Fixed the bi-directional relationship
     public void addVehicle(Vehicle vehicle) {
-        if (vehicle != null && !vehicles.contains(vehicle)) {
-            vehicles.add(vehicle);
-            if (vehicle.getOwner() != this) {
-                vehicle.setOwner(this);
+        if (vehicle == null) {
+            return;
+        }
+        synchronized (this) {
+            if (vehicles.contains(vehicle)) {
+                return;
             }
+            vehicles.add(vehicle);
+            version.incrementAndGet();
+        }
+        if (vehicle.getOwner() != this) {
+            vehicle.setOwner(this);
+        }
+        for (CustomerListener listener : listeners) {
+            listener.onVehicleAdded(this, vehicle);
         }
     }
 
     public void removeVehicle(Vehicle vehicle) {
-        if (vehicles.contains(vehicle)) {
-            vehicles.remove(vehicle);
-            if (vehicle.getOwner() == this) {
-                vehicle.setOwner(null);
+        synchronized (this) {
+            if (!vehicles.remove(vehicle)) {
+                return;
             }
+            version.incrementAndGet();
+        }
+        if (vehicle.getOwner() == this) {
+            vehicle.setOwner(null);
+        }
+        for (CustomerListener listener : listeners) {
+            listener.onVehicleRemoved(this, vehicle);
+        }
+    }
+
+    // Called by Task when work on one of this customer's vehicles is completed
+    void serviceCompleted(Vehicle vehicle, Task task) {
+        for (CustomerListener listener : listeners) {
+            listener.onServiceCompleted(this, vehicle, task);
         }
     }
 
@@ -53,6 +86,16 @@ public class Customer {
         }
     }
 
+    public void addListener(CustomerListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(CustomerListener listener) {
+        listeners.remove(listener);
+    }
+
     private void notifyObservers(String message) {
         for (Observer observer : observers) {
             observer.update(message);
@@ -65,5 +108,7 @@ public class Customer {
     public String getEmail() { return email; }
     public String getPhone() { return phone; }
     public boolean isRegistered() { return isRegistered; }
-    public List<Vehicle> getVehicles() { return new ArrayList<>(vehicles); }
+    @Override
+    public long getVersion() { return version.get(); }
+    public synchronized List<Vehicle> getVehicles() { return new ArrayList<>(vehicles); }
 }
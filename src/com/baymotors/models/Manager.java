@@ -9,18 +9,16 @@ public class Manager extends User{
     private List<Task> pendingTasks;
 
     public Manager(int id, String name, String email, String password) {
-        super(id, name, email, password);
-        this.teamMembers = new ArrayList<>();
-        this.pendingTasks = new ArrayList<>();
+        this(id, name, email, password, Role.MANAGER);
     }
 
-    @Override
-    public boolean hasPermission(String action) {
-        // Managers have all permissions
-        return true;
+    public Manager(int id, String name, String email, String password, Role role) {
+        super(id, name, email, password, role);
+        this.teamMembers = new ArrayList<>();
+        this.pendingTasks = new ArrayList<>();
     }
 
-    public void allocateTask(Task task, Mechanic mechanic) throws TaskException {
+    public synchronized void allocateTask(Task task, Mechanic mechanic) throws TaskException {
         if (task == null || mechanic == null) {
             throw new TaskException("Task and mechanic must not be null");
         }
@@ -33,17 +31,17 @@ public class Manager extends User{
         pendingTasks.remove(task);
     }
 
-    public void addTeamMember(Mechanic mechanic) {
+    public synchronized void addTeamMember(Mechanic mechanic) {
         if (mechanic != null && !teamMembers.contains(mechanic)) {
             teamMembers.add(mechanic);
         }
     }
 
-    public List<Task> getPendingTasks() {
+    public synchronized List<Task> getPendingTasks() {
         return new ArrayList<>(pendingTasks);
     }
 
-    public List<Mechanic> getTeamMembers() {
+    public synchronized List<Mechanic> getTeamMembers() {
         return new ArrayList<>(teamMembers);
     }
 }
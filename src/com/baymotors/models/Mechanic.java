@@ -10,17 +10,16 @@ public class Mechanic extends User{
     private PriorityQueue<Task> taskQueue; // For priority-based task management
 
     public Mechanic(int id, String name, String email, String password) {
-        super(id, name, email, password);
-        this.assignedTasks = new ArrayList<>();
-        this.taskQueue = new PriorityQueue<>();
+        this(id, name, email, password, Role.MECHANIC);
     }
 
-    @Override
-    public boolean hasPermission(String action) {
-        return action.startsWith("TASK_") || action.equals("VIEW_VEHICLE");
+    public Mechanic(int id, String name, String email, String password, Role role) {
+        super(id, name, email, password, role);
+        this.assignedTasks = new ArrayList<>();
+        this.taskQueue = new PriorityQueue<>();
     }
 
-    public void assignTask(Task task) throws TaskException {
+    public synchronized void assignTask(Task task) throws TaskException {
         if (task == null) {
             throw new TaskException("Task cannot be null");
         }
@@ -28,11 +27,11 @@ public class Mechanic extends User{
         taskQueue.offer(task);
     }
 
-    public Task getNextTask() {
+    public synchronized Task getNextTask() {
         return taskQueue.peek();
     }
 
-    public void completeTask(Task task) throws TaskException {
+    public synchronized void completeTask(Task task) throws TaskException {
         if (task == null || !assignedTasks.contains(task)) {
             throw new TaskException("Invalid task");
         }
@@ -41,7 +40,7 @@ public class Mechanic extends User{
         taskQueue.remove(task);
     }
 
-    public List<Task> getAssignedTasks() {
+    public synchronized List<Task> getAssignedTasks() {
         return new ArrayList<>(assignedTasks);
     }
 }
@@ -24,7 +24,12 @@ public class Part {
     public String getName() { return name; }
     public String getCode() { return code; }
     public double getPrice() { return price; }
-    public void setPrice(double price) { this.price = price; }
+    public void setPrice(double price) {
+        this.price = price;
+        if (supplier != null) {
+            supplier.priceChanged(this);
+        }
+    }
     public Manufacturer getManufacturer() { return manufacturer; }
     public Supplier getSupplier() { return supplier; }
 }
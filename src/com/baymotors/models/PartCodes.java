@@ -0,0 +1,70 @@
+package com.baymotors.models;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns part codes into dense int IDs shared by every supplier.
+ *
+ * A code is hashed once, when it is first seen; after that callers can hold
+ * on to the ID and use the int overloads on Supplier, which never hash a
+ * string or box a quantity. IDs are never reused and entries are never
+ * freed, so only code that stocks a part (Supplier.addPart) interns it;
+ * lookups use idOf, which never grows the table, and an unknown code
+ * simply maps to -1.
+ */
+public final class PartCodes {
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] codes = new String[1024];
+    private static int count;
+
+    private PartCodes() {}
+
+    /**
+     * Only for codes that are being stocked. Use idOf for lookups.
+     *
+     * @return The ID for the code, assigning the next free one if it is new
+     */
+    public static int intern(String code) {
+        if (code == null) {
+            throw new IllegalArgumentException("Part code cannot be null");
+        }
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        synchronized (PartCodes.class) {
+            id = ids.get(code);
+            if (id != null) {
+                return id;
+            }
+            int next = count++;
+            if (next == codes.length) {
+                codes = Arrays.copyOf(codes, codes.length * 2);
+            }
+            codes[next] = code;
+            ids.put(code, next); // Publishes codes[next] to readers that find this ID
+            return next;
+        }
+    }
+
+    /**
+     * @return The code's ID, or -1 if it has never been interned
+     */
+    public static int idOf(String code) {
+        if (code == null) {
+            return -1;
+        }
+        Integer id = ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    public static String codeOf(int id) {
+        String[] current = codes;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    public static int size() {
+        return ids.size();
+    }
+}
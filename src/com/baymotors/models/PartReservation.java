@@ -0,0 +1,94 @@
+package com.baymotors.models;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stock held against a supplier for a job. The quantity leaves the
+ * supplier's available stock when the reservation is made; confirming turns
+ * it into a real order, while releasing or expiring returns it.
+ *
+ * Exactly one of confirm, release and expire can succeed, decided by a
+ * single compare-and-set on the status.
+ */
+public class PartReservation {
+    public enum Status {
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private final int id;
+    private final Supplier supplier;
+    private final String partCode;
+    private final int quantity;
+    private final long expiresAtMillis;
+    private final AtomicReference<Status> status;
+    private volatile Runnable onSettled;
+
+    public PartReservation(int id, Supplier supplier, String partCode, int quantity, long expiresAtMillis) {
+        this.id = id;
+        this.supplier = supplier;
+        this.partCode = partCode;
+        this.quantity = quantity;
+        this.expiresAtMillis = expiresAtMillis;
+        this.status = new AtomicReference<>(Status.HELD);
+    }
+
+    /**
+     * Sets a callback run once the reservation leaves HELD, e.g. to cancel its expiry timer.
+     */
+    public void setOnSettled(Runnable onSettled) {
+        this.onSettled = onSettled;
+    }
+
+    /**
+     * Converts the held stock into a real order.
+     *
+     * @return false if the reservation had already been released or expired
+     */
+    public boolean confirm() {
+        return settle(Status.CONFIRMED);
+    }
+
+    /**
+     * Gives the held stock back to the supplier.
+     */
+    public boolean release() {
+        if (!settle(Status.RELEASED)) {
+            return false;
+        }
+        supplier.releaseReservation(partCode, quantity);
+        return true;
+    }
+
+    /**
+     * Called when the reservation's time runs out; gives the stock back.
+     */
+    public boolean expire() {
+        if (!status.compareAndSet(Status.HELD, Status.EXPIRED)) {
+            return false;
+        }
+        supplier.releaseReservation(partCode, quantity);
+        return true;
+    }
+
+    private boolean settle(Status target) {
+        if (!status.compareAndSet(Status.HELD, target)) {
+            return false;
+        }
+        Runnable callback = onSettled;
+        if (callback != null) {
+            callback.run();
+        }
+        return true;
+    }
+
+    // Getters
+    public int getId() { return id; }
+    public Supplier getSupplier() { return supplier; }
+    public String getPartCode() { return partCode; }
+    public int getQuantity() { return quantity; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+    public Status getStatus() { return status.get(); }
+}
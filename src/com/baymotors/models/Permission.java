@@ -0,0 +1,50 @@
+package com.baymotors.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actions a user's role can allow. Each permission is one bit of a long,
+ * so there can be at most 64.
+ */
+public enum Permission {
+    TASK_VIEW,
+    TASK_CREATE,
+    TASK_ALLOCATE,
+    TASK_UPDATE,
+    TASK_COMPLETE,
+    VIEW_VEHICLE,
+    MANAGE_VEHICLES,
+    VIEW_CUSTOMER,
+    MANAGE_CUSTOMERS,
+    MANAGE_PARTS,
+    MANAGE_SUPPLIERS,
+    SEND_NOTIFICATIONS,
+    MANAGE_USERS;
+
+    private static final Map<String, Permission> BY_NAME = new HashMap<>();
+
+    static {
+        if (values().length > Long.SIZE) {
+            throw new IllegalStateException("Permissions do not fit in a long");
+        }
+        for (Permission permission : values()) {
+            BY_NAME.put(permission.name(), permission);
+        }
+    }
+
+    private final long bit = 1L << ordinal();
+
+    public long bit() {
+        return bit;
+    }
+
+    /**
+     * Resolves a permission name, for callers that still pass strings.
+     *
+     * @return The permission, or null if there is none by that name
+     */
+    public static Permission fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+}
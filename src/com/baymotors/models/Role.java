@@ -0,0 +1,63 @@
+package com.baymotors.models;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A named set of permissions, compiled to a bitset when it is created so
+ * that checking a permission is a single AND. Roles are plain values:
+ * new ones can be defined and given to any user without subclassing.
+ */
+public final class Role {
+    public static final Role MANAGER = new Role("Manager", EnumSet.allOf(Permission.class));
+    public static final Role MECHANIC = new Role("Mechanic", EnumSet.of(
+            Permission.TASK_VIEW,
+            Permission.TASK_CREATE,
+            Permission.TASK_ALLOCATE,
+            Permission.TASK_UPDATE,
+            Permission.TASK_COMPLETE,
+            Permission.VIEW_VEHICLE
+    ));
+
+    private final String name;
+    private final Set<Permission> permissions;
+    private final long mask;
+
+    public Role(String name, Set<Permission> permissions) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Role name cannot be empty");
+        }
+        if (permissions == null) {
+            throw new IllegalArgumentException("Permissions cannot be null");
+        }
+        this.name = name;
+        this.permissions = permissions.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(permissions));
+        long bits = 0;
+        for (Permission permission : this.permissions) {
+            bits |= permission.bit();
+        }
+        this.mask = bits;
+    }
+
+    public static Role of(String name, Permission... permissions) {
+        Set<Permission> set = EnumSet.noneOf(Permission.class);
+        Collections.addAll(set, permissions);
+        return new Role(name, set);
+    }
+
+    public boolean grants(Permission permission) {
+        return permission != null && (mask & permission.bit()) != 0;
+    }
+
+    public String getName() { return name; }
+    public Set<Permission> getPermissions() { return permissions; }
+    public long getMask() { return mask; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,13 @@
+package com.baymotors.models;
+
+/**
+ * Why a supplier's stock level changed.
+ */
+public enum StockMovement {
+    RECEIPT,          // Part added to the catalogue with its opening stock
+    ADJUSTMENT,       // Stock level set directly
+    ORDER,
+    ORDER_CANCELLED,  // Stock put back when a batch order could not be completed
+    RESERVATION,
+    RELEASE           // Reserved stock handed back
+}
@@ -0,0 +1,144 @@
+package com.baymotors.models;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A supplier's stock levels, keyed by interned part ID.
+ *
+ * An open-addressing table maps part IDs to slots, and each slot is one
+ * int in a chunk of an AtomicIntegerArray. Reads and CAS updates touch no
+ * objects besides the chunk, and nothing is boxed. Adding a part writes
+ * one slot table entry; the table is only copied when it doubles.
+ * Chunks are never copied, so a counter keeps its place while other parts
+ * are added and concurrent CAS loops are unaffected.
+ */
+final class StockTable {
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile SlotIndex index = new SlotIndex(16);
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[0];
+    private int size; // guarded by this
+
+    /**
+     * @return The part's slot, or -1 if this supplier does not stock it
+     */
+    int slotOf(int partId) {
+        return partId < 0 ? -1 : index.get(partId);
+    }
+
+    /**
+     * Adds the part with the given quantity, or sets the quantity if it is already stocked.
+     *
+     * @return The previous quantity, 0 for a new part
+     */
+    synchronized int put(int partId, int quantity) {
+        int slot = index.get(partId);
+        if (slot >= 0) {
+            return getAndSet(slot, quantity);
+        }
+        slot = size++;
+        AtomicIntegerArray[] current = chunks;
+        if ((slot >>> CHUNK_SHIFT) == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = new AtomicIntegerArray(CHUNK_SIZE);
+            chunks = current;
+        }
+        current[slot >>> CHUNK_SHIFT].set(slot & CHUNK_MASK, quantity);
+        index = index.with(partId, slot, size);
+        return 0;
+    }
+
+    int get(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT].get(slot & CHUNK_MASK);
+    }
+
+    boolean compareAndSet(int slot, int expected, int updated) {
+        return chunks[slot >>> CHUNK_SHIFT].compareAndSet(slot & CHUNK_MASK, expected, updated);
+    }
+
+    int getAndSet(int slot, int quantity) {
+        return chunks[slot >>> CHUNK_SHIFT].getAndSet(slot & CHUNK_MASK, quantity);
+    }
+
+    int addAndGet(int slot, int delta) {
+        return chunks[slot >>> CHUNK_SHIFT].addAndGet(slot & CHUNK_MASK, delta);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap used by the table, excluding object headers of the
+     * wrapper itself.
+     */
+    synchronized long getSizeInBytes() {
+        long bytes = 16L + 8L * index.capacity();
+        bytes += 16L + 4L * chunks.length;
+        bytes += (long) chunks.length * (16 + 16 + 4L * CHUNK_SIZE);
+        return bytes;
+    }
+
+    // Linear probing over packed (part ID + 1, slot) entries, 0 = empty. Entries
+    // are only ever added, each with one atomic write, so readers need no lock;
+    // when the table fills past half it is rebuilt and the copy published
+    private static final class SlotIndex {
+        private final AtomicLongArray entries;
+        private final int mask;
+
+        SlotIndex(int capacity) {
+            this.entries = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int get(int partId) {
+            int key = partId + 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long entry = entries.get(i);
+                if (entry == 0) {
+                    return -1;
+                }
+                if ((int) (entry >>> 32) == key) {
+                    return (int) entry;
+                }
+            }
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        // Called with the table's lock held
+        SlotIndex with(int partId, int slot, int newSize) {
+            SlotIndex target = this;
+            if (newSize * 2 > capacity()) {
+                target = new SlotIndex(capacity() * 2);
+                for (int i = 0; i < capacity(); i++) {
+                    long entry = entries.get(i);
+                    if (entry != 0) {
+                        target.insert(entry);
+                    }
+                }
+            }
+            target.insert(((long) (partId + 1) << 32) | slot);
+            return target;
+        }
+
+        private void insert(long entry) {
+            int i = mix((int) (entry >>> 32)) & mask;
+            while (entries.get(i) != 0) {
+                i = (i + 1) & mask;
+            }
+            entries.set(i, entry);
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
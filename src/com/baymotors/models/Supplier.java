@@ -1,20 +1,35 @@
 package com.baymotors.models;
 
+import com.baymotors.patterns.observer.InventoryListener;
+
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class Supplier {
+public class Supplier implements Versioned {
     private int id;
     private String name;
-    private String contactPerson;
-    private String email;
-    private String phone;
-    private String address;
-    private Map<String, Integer> partsInventory; // code -> quantity
+    private volatile String contactPerson;
+    private volatile String email;
+    private volatile String phone;
+    private volatile String address;
+    // Counts changes to the contact details; stock levels have their own concurrency control
+    private final AtomicLong version = new AtomicLong();
+    // interned part ID -> quantity; each part has its own counter so orders for
+    // different parts never contend, and orders for the same part race only on one CAS
+    private StockTable partsInventory;
+    // code -> lock, taken by orderAll and by the absolute writes (addPart, updatePartQuantity)
+    // so a batch's rollback never lands on top of a quantity set mid-batch
+    private ConcurrentMap<String, ReentrantLock> batchLocks;
     private List<Part> suppliedParts;
     private List<Manufacturer> associatedManufacturers;
+    private List<InventoryListener> inventoryListeners;
 
     public Supplier(int id, String name, String contactPerson, String email, String phone, String address) {
         this.id = id;
@@ -23,33 +38,176 @@ public class Supplier {
         this.email = email;
         this.phone = phone;
         this.address = address;
-        this.partsInventory = new HashMap<>();
-        this.suppliedParts = new ArrayList<>();
+        this.partsInventory = new StockTable();
+        this.batchLocks = new ConcurrentHashMap<>();
+        this.suppliedParts = new CopyOnWriteArrayList<>();
         this.associatedManufacturers = new ArrayList<>();
+        this.inventoryListeners = new CopyOnWriteArrayList<>();
     }
 
     public void addPart(Part part, int initialQuantity) {
         if (part != null) {
             suppliedParts.add(part);
-            partsInventory.put(part.getCode(), initialQuantity);
+            ReentrantLock lock = batchLock(part.getCode());
+            lock.lock();
+            try {
+                int oldQuantity = partsInventory.put(PartCodes.intern(part.getCode()), initialQuantity);
+                for (InventoryListener listener : inventoryListeners) {
+                    listener.onPartAdded(this, part);
+                }
+                fireStockChanged(part.getCode(), StockMovement.RECEIPT, oldQuantity, initialQuantity);
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
     public boolean updatePartQuantity(String partCode, int quantity) {
-        if (partsInventory.containsKey(partCode)) {
-            partsInventory.put(partCode, quantity);
+        int slot = partsInventory.slotOf(PartCodes.idOf(partCode));
+        if (slot < 0) {
+            return false;
+        }
+        ReentrantLock lock = batchLock(partCode);
+        lock.lock();
+        try {
+            int oldQuantity = partsInventory.getAndSet(slot, quantity);
+            fireStockChanged(partCode, StockMovement.ADJUSTMENT, oldQuantity, quantity);
             return true;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
+    /**
+     * Takes the quantity out of stock if enough is available. Lock-free:
+     * the check and the decrement are one compare-and-set, so concurrent
+     * orders can never take more than is in stock.
+     */
     public boolean order(String partCode, int quantity) {
-        Integer currentQuantity = partsInventory.get(partCode);
-        if (currentQuantity != null && currentQuantity >= quantity) {
-            partsInventory.put(partCode, currentQuantity - quantity);
-            return true;
+        return take(PartCodes.idOf(partCode), quantity, StockMovement.ORDER);
+    }
+
+    /**
+     * Same as order(String, int), for a code already interned with PartCodes.
+     */
+    public boolean order(int partId, int quantity) {
+        return take(partId, quantity, StockMovement.ORDER);
+    }
+
+    /**
+     * Orders several parts at once: either every line is ordered or none is.
+     *
+     * Batches lock the parts they touch in part-code order, so two batches
+     * can never deadlock and never see each other half-applied. Single
+     * orders stay lock-free; if one of them takes stock between the check
+     * and the take, the lines already taken are put back. Absolute writes
+     * take the same locks, so a line's quantity cannot be replaced between
+     * taking it and putting it back.
+     *
+     * @param lines Part code -> quantity
+     * @return Codes of the lines that could not be supplied; empty if the whole batch was ordered
+     */
+    public List<String> orderAll(Map<String, Integer> lines) {
+        int n = lines.size();
+        String[] codes = lines.keySet().toArray(new String[0]);
+        Arrays.sort(codes);
+        int[] quantities = new int[n];
+        int[] slots = new int[n];
+        ReentrantLock[] locks = new ReentrantLock[n];
+        List<String> shortages = new ArrayList<>();
+        int locked = 0;
+        try {
+            for (; locked < n; locked++) {
+                locks[locked] = batchLock(codes[locked]);
+                locks[locked].lock();
+            }
+
+            for (int i = 0; i < n; i++) {
+                Integer quantity = lines.get(codes[i]);
+                quantities[i] = quantity == null ? 0 : quantity;
+                slots[i] = partsInventory.slotOf(PartCodes.idOf(codes[i]));
+                if (quantities[i] <= 0 || slots[i] < 0 || partsInventory.get(slots[i]) < quantities[i]) {
+                    shortages.add(codes[i]);
+                }
+            }
+            if (!shortages.isEmpty()) {
+                return shortages;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int current;
+                do {
+                    current = partsInventory.get(slots[i]);
+                    if (current < quantities[i]) {
+                        for (int j = 0; j < i; j++) {
+                            int restored = partsInventory.addAndGet(slots[j], quantities[j]);
+                            fireStockChanged(codes[j], StockMovement.ORDER_CANCELLED,
+                                    restored - quantities[j], restored);
+                        }
+                        shortages.add(codes[i]);
+                        return shortages;
+                    }
+                } while (!partsInventory.compareAndSet(slots[i], current, current - quantities[i]));
+                fireStockChanged(codes[i], StockMovement.ORDER, current, current - quantities[i]);
+            }
+            return shortages;
+        } finally {
+            while (locked > 0) {
+                locks[--locked].unlock();
+            }
+        }
+    }
+
+    public boolean hasPart(String partCode) {
+        return hasPart(PartCodes.idOf(partCode));
+    }
+
+    public boolean hasPart(int partId) {
+        return partsInventory.slotOf(partId) >= 0;
+    }
+
+    /**
+     * Holds stock for a reservation. Works like order(), but the quantity can
+     * be handed back later with releaseReservation().
+     */
+    public boolean reserve(String partCode, int quantity) {
+        return take(PartCodes.idOf(partCode), quantity, StockMovement.RESERVATION);
+    }
+
+    /**
+     * Returns stock held by a reservation that was released or expired.
+     */
+    public void releaseReservation(String partCode, int quantity) {
+        int slot = partsInventory.slotOf(PartCodes.idOf(partCode));
+        if (slot >= 0 && quantity > 0) {
+            int newQuantity = partsInventory.addAndGet(slot, quantity);
+            fireStockChanged(partCode, StockMovement.RELEASE, newQuantity - quantity, newQuantity);
         }
-        return false;
+    }
+
+    private ReentrantLock batchLock(String partCode) {
+        return batchLocks.computeIfAbsent(partCode, k -> new ReentrantLock());
+    }
+
+    private boolean take(int partId, int quantity, StockMovement movement) {
+        if (quantity <= 0) {
+            return false;
+        }
+        int slot = partsInventory.slotOf(partId);
+        if (slot < 0) {
+            return false;
+        }
+        int current;
+        do {
+            current = partsInventory.get(slot);
+            if (current < quantity) {
+                return false;
+            }
+        } while (!partsInventory.compareAndSet(slot, current, current - quantity));
+        if (!inventoryListeners.isEmpty()) {
+            fireStockChanged(PartCodes.codeOf(partId), movement, current, current - quantity);
+        }
+        return true;
     }
 
     public void addManufacturer(Manufacturer manufacturer) {
@@ -59,8 +217,43 @@ public class Supplier {
         }
     }
 
+    public void addInventoryListener(InventoryListener listener) {
+        if (listener != null && !inventoryListeners.contains(listener)) {
+            inventoryListeners.add(listener);
+        }
+    }
+
+    public void removeInventoryListener(InventoryListener listener) {
+        inventoryListeners.remove(listener);
+    }
+
+    // Called by Part when the price of one of this supplier's parts changes
+    void priceChanged(Part part) {
+        for (InventoryListener listener : inventoryListeners) {
+            listener.onPriceChanged(this, part);
+        }
+    }
+
+    private void fireStockChanged(String partCode, StockMovement movement, int oldQuantity, int newQuantity) {
+        for (InventoryListener listener : inventoryListeners) {
+            listener.onStockChanged(this, partCode, movement, oldQuantity, newQuantity);
+        }
+    }
+
     public int getPartQuantity(String partCode) {
-        return partsInventory.getOrDefault(partCode, 0);
+        return getPartQuantity(PartCodes.idOf(partCode));
+    }
+
+    public int getPartQuantity(int partId) {
+        int slot = partsInventory.slotOf(partId);
+        return slot >= 0 ? partsInventory.get(slot) : 0;
+    }
+
+    /**
+     * @return Approximate heap used by the stock levels
+     */
+    public long getInventorySizeInBytes() {
+        return partsInventory.getSizeInBytes();
     }
 
     // Getters and Setters
@@ -73,8 +266,26 @@ public class Supplier {
     public List<Part> getSuppliedParts() { return new ArrayList<>(suppliedParts); }
     public List<Manufacturer> getAssociatedManufacturers() { return new ArrayList<>(associatedManufacturers); }
 
-    public void setContactPerson(String contactPerson) { this.contactPerson = contactPerson; }
-    public void setEmail(String email) { this.email = email; }
-    public void setPhone(String phone) { this.phone = phone; }
-    public void setAddress(String address) { this.address = address; }
+    @Override
+    public long getVersion() { return version.get(); }
+
+    public void setContactPerson(String contactPerson) {
+        this.contactPerson = contactPerson;
+        version.incrementAndGet();
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        version.incrementAndGet();
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+        version.incrementAndGet();
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+        version.incrementAndGet();
+    }
 }
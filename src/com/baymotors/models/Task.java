@@ -1,6 +1,10 @@
 package com.baymotors.models;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.baymotors.patterns.state.TaskState;
 import com.baymotors.patterns.state.WaitingState;
@@ -10,16 +14,20 @@ import com.baymotors.patterns.factory.NotificationType;
 import com.baymotors.patterns.state.TaskState;
 import com.baymotors.patterns.state.WaitingState;
 import com.baymotors.patterns.state.CompletedState;
+import com.baymotors.patterns.state.InProgressState;
+import com.baymotors.utils.NotificationUtil;
 
-public class Task implements Comparable<Task>{
+public class Task implements Comparable<Task>, Versioned {
     private int id;
     private String description;
     private int priority;
     private Vehicle vehicle;
-    private TaskState state;
+    private volatile TaskState state;
     private LocalDateTime createdDate;
-    private LocalDateTime completedDate;
-    private Mechanic assignedMechanic;
+    private volatile LocalDateTime completedDate;
+    private volatile Mechanic assignedMechanic;
+    private List<PartReservation> reservations;
+    private final AtomicLong version = new AtomicLong();
 
     public Task(int id, String description, int priority, Vehicle vehicle) {
         this.id = id;
@@ -28,26 +36,44 @@ public class Task implements Comparable<Task>{
         this.vehicle = vehicle;
         this.state = new WaitingState();
         this.createdDate = LocalDateTime.now();
+        this.reservations = new CopyOnWriteArrayList<>();
     }
 
     public void setState(TaskState state) {
         this.state = state;
+        // Work has started, so the held parts become real orders
+        if (state instanceof InProgressState) {
+            for (PartReservation reservation : reservations) {
+                reservation.confirm();
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    public void addReservation(PartReservation reservation) {
+        if (reservation != null) {
+            reservations.add(reservation);
+            version.incrementAndGet();
+        }
     }
 
     public void assignMechanic(Mechanic mechanic) {
         this.assignedMechanic = mechanic;
+        version.incrementAndGet();
     }
 
     public void complete() {
         this.completedDate = LocalDateTime.now();
         state.next(this); // Move to completed state
+        version.incrementAndGet();
 
         // Notify vehicle owner
         if (vehicle != null && vehicle.getOwner() != null) {
-            NotificationFactory.createNotification(
+            vehicle.getOwner().serviceCompleted(vehicle, this);
+            NotificationUtil.dispatch(NotificationFactory.createNotification(
                     NotificationType.TASK_COMPLETE,
                     vehicle.getOwner()
-            ).send();
+            ));
         }
     }
 
@@ -66,4 +92,7 @@ public class Task implements Comparable<Task>{
     public LocalDateTime getCreatedDate() { return createdDate; }
     public LocalDateTime getCompletedDate() { return completedDate; }
     public Mechanic getAssignedMechanic() { return assignedMechanic; }
+    @Override
+    public long getVersion() { return version.get(); }
+    public List<PartReservation> getReservations() { return new ArrayList<>(reservations); }
 }
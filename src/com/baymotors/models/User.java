@@ -1,29 +1,72 @@
 package com.baymotors.models;
 
+import com.baymotors.utils.PasswordHasher;
+
 public abstract class User {
     protected int id;
     protected String name;
     protected String email;
-    protected String password;
+    protected String passwordHash;
+    private Role role;
+    private long permissionMask;
 
-    public User(int id, String name, String email, String password) {
+    public User(int id, String name, String email, String password, Role role) {
         this.id = id;
         this.name = name;
         this.email = email;
-        this.password = password;
+        this.passwordHash = PasswordHasher.hash(password);
+        setRole(role);
+    }
+
+    // Role-based permissions: the role's bitset is copied here so a check is one AND
+    public boolean hasPermission(Permission permission) {
+        return permission != null && (permissionMask & permission.bit()) != 0;
     }
 
-    // Abstract method for role-based permissions
-    public abstract boolean hasPermission(String action);
+    /**
+     * String form of {@link #hasPermission(Permission)}. The name is looked
+     * up in a table built once; unknown names are never permitted.
+     */
+    public boolean hasPermission(String action) {
+        return hasPermission(Permission.fromName(action));
+    }
 
+    /**
+     * Verifies a password against the stored salted hash. This is slow by
+     * design; use AuthService sessions rather than calling it per request.
+     */
     public boolean authenticate(String attemptedPassword) {
-        return this.password.equals(attemptedPassword);
+        return PasswordHasher.verify(attemptedPassword, passwordHash);
+    }
+
+    public void setPassword(String password) {
+        this.passwordHash = PasswordHasher.hash(password);
+    }
+
+    /**
+     * Sets a hash produced earlier by PasswordHasher, e.g. for an account
+     * loaded from storage, without hashing again.
+     */
+    public void setPasswordHash(String passwordHash) {
+        if (passwordHash == null || passwordHash.isEmpty()) {
+            throw new IllegalArgumentException("Password hash cannot be empty");
+        }
+        this.passwordHash = passwordHash;
     }
 
     // Getters and Setters
     public int getId() { return id; }
     public String getName() { return name; }
     public String getEmail() { return email; }
+    public Role getRole() { return role; }
+
+    public final void setRole(Role role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null");
+        }
+        this.role = role;
+        this.permissionMask = role.getMask();
+    }
 
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
@@ -2,16 +2,18 @@ package com.baymotors.models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class Vehicle {
+public class Vehicle implements Versioned {
     private int id;
     private String registration;
     private Manufacturer manufacturer;
     private String model;
     private int year;
-    private Customer owner;  // Customer relationship
+    private volatile Customer owner;  // Customer relationship
     private List<Task> taskHistory;
     private List<Part> installedParts;
+    private final AtomicLong version = new AtomicLong();
 
     public Vehicle(int id, String registration, Manufacturer manufacturer,
                    String model, int year) {
@@ -24,29 +26,44 @@ public class Vehicle {
         this.installedParts = new ArrayList<>();
     }
 
-    // Fixed the bi-directional relationship
+    /**
+     * Moves the vehicle to a new owner, taking it off the previous owner's
+     * list first so their listeners see the removal. Null clears the owner.
+     * The customers are updated outside this vehicle's monitor; their own
+     * add and remove stop the calls bouncing back here.
+     */
     public void setOwner(Customer owner) {
-        if (owner != null) {
-            this.owner = owner;
-            if (!owner.getVehicles().contains(this)) {
-                owner.addVehicle(this);
+        Customer previous;
+        synchronized (this) {
+            previous = this.owner;
+            if (previous != owner) {
+                this.owner = owner;
+                version.incrementAndGet();
             }
         }
+        if (previous != null && previous != owner) {
+            previous.removeVehicle(this);
+        }
+        if (owner != null) {
+            owner.addVehicle(this);
+        }
     }
 
     public Customer getOwner() {
         return owner;
     }
 
-    public void addTask(Task task) {
+    public synchronized void addTask(Task task) {
         if (task != null) {
             taskHistory.add(task);
+            version.incrementAndGet();
         }
     }
 
-    public void addPart(Part part) {
+    public synchronized void addPart(Part part) {
         if (part != null) {
             installedParts.add(part);
+            version.incrementAndGet();
         }
     }
 
@@ -56,6 +73,8 @@ public class Vehicle {
     public Manufacturer getManufacturer() { return manufacturer; }
     public String getModel() { return model; }
     public int getYear() { return year; }
-    public List<Task> getTaskHistory() { return new ArrayList<>(taskHistory); }
-    public List<Part> getInstalledParts() { return new ArrayList<>(installedParts); }
+    @Override
+    public long getVersion() { return version.get(); }
+    public synchronized List<Task> getTaskHistory() { return new ArrayList<>(taskHistory); }
+    public synchronized List<Part> getInstalledParts() { return new ArrayList<>(installedParts); }
 }
@@ -0,0 +1,13 @@
+package com.baymotors.models;
+
+/**
+ * A record that counts its changes. A writer remembers the version it
+ * read and DataStore refuses the write if the version has moved on since,
+ * so one user's change cannot silently overwrite another's.
+ */
+public interface Versioned {
+    /**
+     * @return Starts at 0 and goes up by at least one with every change
+     */
+    long getVersion();
+}
@@ -0,0 +1,113 @@
+package com.baymotors.patterns.adapter;
+
+import com.baymotors.models.Part;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a blocking PartSupplierSystem on an executor and adds a timeout per
+ * call, retries with exponential backoff, and a circuit breaker.
+ *
+ * Catalogue reads are retried after any failure. Orders are only retried
+ * after a SupplierUnavailableException, which means the order was never
+ * received; after a timeout the order may still go through, so resending
+ * it could order the parts twice.
+ */
+public class AsyncPartSupplierAdapter implements AsyncPartSupplierSystem {
+    public static final long DEFAULT_TIMEOUT_MILLIS = 2_000;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    private static final long BASE_BACKOFF_MILLIS = 50;
+
+    private final PartSupplierSystem delegate;
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final int maxRetries;
+    private final CircuitBreaker circuitBreaker;
+
+    public AsyncPartSupplierAdapter(PartSupplierSystem delegate, Executor executor) {
+        this(delegate, executor, DEFAULT_TIMEOUT_MILLIS, DEFAULT_MAX_RETRIES, new CircuitBreaker(5, 10_000));
+    }
+
+    public AsyncPartSupplierAdapter(PartSupplierSystem delegate, Executor executor, long timeoutMillis,
+                                    int maxRetries, CircuitBreaker circuitBreaker) {
+        if (delegate == null || executor == null || circuitBreaker == null) {
+            throw new IllegalArgumentException("Supplier system, executor and circuit breaker are required");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Retries cannot be negative");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.maxRetries = maxRetries;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public CompletableFuture<List<Part>> getAvailableParts() {
+        return call(delegate::getAvailableParts, true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> orderPart(String code, int quantity) {
+        return call(() -> delegate.orderPart(code, quantity), false);
+    }
+
+    @Override
+    public CompletableFuture<BatchOrderResult> orderParts(List<OrderLine> lines) {
+        return call(() -> delegate.orderParts(lines), false);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation, boolean idempotent) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, idempotent, 0, result);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<T> operation, boolean idempotent, int attempt, CompletableFuture<T> result) {
+        if (!circuitBreaker.tryAcquire()) {
+            result.completeExceptionally(new SupplierUnavailableException("Supplier circuit is open"));
+            return;
+        }
+        CompletableFuture.supplyAsync(operation, executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                        result.complete(value);
+                        return;
+                    }
+                    Throwable cause = unwrap(error);
+                    circuitBreaker.recordFailure();
+                    boolean retryable = idempotent || cause instanceof SupplierUnavailableException;
+                    if (retryable && attempt < maxRetries) {
+                        long backoff = BASE_BACKOFF_MILLIS << attempt;
+                        CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, executor)
+                                .execute(() -> attempt(operation, idempotent, attempt + 1, result));
+                    } else {
+                        result.completeExceptionally(cause);
+                    }
+                });
+    }
+
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
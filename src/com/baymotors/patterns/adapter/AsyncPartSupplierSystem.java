@@ -0,0 +1,12 @@
+package com.baymotors.patterns.adapter;
+
+import com.baymotors.models.Part;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncPartSupplierSystem {
+    CompletableFuture<List<Part>> getAvailableParts();
+    CompletableFuture<Boolean> orderPart(String code, int quantity);
+    CompletableFuture<BatchOrderResult> orderParts(List<OrderLine> lines);
+}
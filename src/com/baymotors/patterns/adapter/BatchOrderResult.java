@@ -0,0 +1,40 @@
+package com.baymotors.patterns.adapter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an all-or-nothing batch order, with one entry per requested line.
+ */
+public class BatchOrderResult {
+    public enum LineStatus {
+        ORDERED,
+        INSUFFICIENT_STOCK,
+        UNKNOWN_PART,
+        NOT_ORDERED // Line was fine, but another line failed so the batch was not placed
+    }
+
+    private final List<LineResult> lines;
+    private final boolean ordered;
+
+    BatchOrderResult(List<LineResult> lines, boolean ordered) {
+        this.lines = Collections.unmodifiableList(lines);
+        this.ordered = ordered;
+    }
+
+    public boolean isOrdered() { return ordered; }
+    public List<LineResult> getLines() { return lines; }
+
+    public static final class LineResult {
+        private final OrderLine line;
+        private final LineStatus status;
+
+        LineResult(OrderLine line, LineStatus status) {
+            this.line = line;
+            this.status = status;
+        }
+
+        public OrderLine getLine() { return line; }
+        public LineStatus getStatus() { return status; }
+    }
+}
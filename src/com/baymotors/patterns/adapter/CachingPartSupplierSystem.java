@@ -0,0 +1,43 @@
+package com.baymotors.patterns.adapter;
+
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.PartCatalogueCache;
+
+import java.util.List;
+
+/**
+ * Serves a supplier's catalogue from a shared PartCatalogueCache and only
+ * asks the wrapped system when the cached copy is missing or stale.
+ * Orders always go straight through.
+ */
+public class CachingPartSupplierSystem implements PartSupplierSystem {
+    private final PartSupplierSystem delegate;
+    private final PartCatalogueCache cache;
+    private final int supplierId;
+
+    public CachingPartSupplierSystem(Supplier supplier, PartSupplierSystem delegate, PartCatalogueCache cache) {
+        if (supplier == null || delegate == null || cache == null) {
+            throw new IllegalArgumentException("Supplier, supplier system and cache are required");
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+        this.supplierId = supplier.getId();
+        cache.track(supplier);
+    }
+
+    @Override
+    public List<Part> getAvailableParts() {
+        return cache.get(supplierId, delegate::getAvailableParts);
+    }
+
+    @Override
+    public boolean orderPart(String code, int quantity) {
+        return delegate.orderPart(code, quantity);
+    }
+
+    @Override
+    public BatchOrderResult orderParts(List<OrderLine> lines) {
+        return delegate.orderParts(lines);
+    }
+}
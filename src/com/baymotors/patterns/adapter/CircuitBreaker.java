@@ -0,0 +1,68 @@
+package com.baymotors.patterns.adapter;
+
+/**
+ * Stops calls to a supplier that keeps failing. After failureThreshold
+ * failures in a row the circuit opens and calls are rejected without being
+ * sent. Once openMillis has passed a single trial call is let through; if
+ * it succeeds the circuit closes again, otherwise it stays open.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        if (openMillis <= 0) {
+            throw new IllegalArgumentException("Open time must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * @return true if a call may be sent now
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN; // This caller is the trial call
+                    return true;
+                }
+                return false;
+            default:
+                return false; // A trial call is already in flight
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,143 @@
+package com.baymotors.patterns.adapter;
+
+import com.baymotors.models.Part;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two suppliers that stock the same parts, used together.
+ *
+ * Part lookups are hedged: the primary is asked first, and if it has not
+ * answered within hedgeDelayMillis the backup is asked too. Whichever
+ * finds the part first wins. Orders are not hedged, because both suppliers
+ * could accept and the parts would be ordered twice. Instead an order goes
+ * to the backup only when the primary definitely did not place it: it was
+ * out of stock or could not be reached.
+ */
+public class HedgedPartSupplier {
+    private final AsyncPartSupplierSystem primary;
+    private final AsyncPartSupplierSystem backup;
+    private final long hedgeDelayMillis;
+    private final AtomicInteger hedgedLookups;
+
+    public HedgedPartSupplier(AsyncPartSupplierSystem primary, AsyncPartSupplierSystem backup,
+                              long hedgeDelayMillis) {
+        if (primary == null || backup == null) {
+            throw new IllegalArgumentException("Both supplier systems are required");
+        }
+        if (hedgeDelayMillis < 0) {
+            throw new IllegalArgumentException("Hedge delay cannot be negative");
+        }
+        this.primary = primary;
+        this.backup = backup;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+        this.hedgedLookups = new AtomicInteger();
+    }
+
+    /**
+     * @return The part from whichever supplier finds it first; completes with
+     *         null if neither lists it, or exceptionally if both failed
+     */
+    public CompletableFuture<Part> findPart(String code) {
+        HedgedLookup lookup = new HedgedLookup(code);
+        lookup.send(primary);
+        CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS)
+                .execute(lookup::hedge);
+        return lookup.result;
+    }
+
+    public CompletableFuture<Boolean> orderPart(String code, int quantity) {
+        return primary.orderPart(code, quantity).handle((ordered, error) -> {
+            if (error == null && ordered) {
+                return CompletableFuture.completedFuture(true);
+            }
+            if (error != null && !(AsyncPartSupplierAdapter.unwrap(error) instanceof SupplierUnavailableException)) {
+                // The primary may still have placed it
+                return CompletableFuture.<Boolean>failedFuture(AsyncPartSupplierAdapter.unwrap(error));
+            }
+            return backup.orderPart(code, quantity);
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * @return Number of lookups where the backup was also asked
+     */
+    public int getHedgedLookupCount() {
+        return hedgedLookups.get();
+    }
+
+    private final class HedgedLookup {
+        private final String code;
+        private final CompletableFuture<Part> result = new CompletableFuture<>();
+        private boolean backupSent;
+        private int answered;
+        private int failed;
+        private Throwable lastError;
+
+        HedgedLookup(String code) {
+            this.code = code;
+        }
+
+        void send(AsyncPartSupplierSystem system) {
+            system.getAvailableParts().whenComplete((parts, error) -> onAnswer(find(parts), error));
+        }
+
+        // Timer fired: ask the backup as well if the primary is still thinking
+        void hedge() {
+            if (!result.isDone() && markBackupSent()) {
+                hedgedLookups.incrementAndGet();
+                send(backup);
+            }
+        }
+
+        private synchronized boolean markBackupSent() {
+            if (backupSent) {
+                return false;
+            }
+            backupSent = true;
+            return true;
+        }
+
+        private void onAnswer(Part part, Throwable error) {
+            boolean sendBackup;
+            synchronized (this) {
+                answered++;
+                if (part != null) {
+                    result.complete(part);
+                    return;
+                }
+                if (error != null) {
+                    failed++;
+                    lastError = AsyncPartSupplierAdapter.unwrap(error);
+                }
+                sendBackup = !backupSent;
+                backupSent = true;
+                if (!sendBackup && answered == 2) {
+                    if (failed == 2) {
+                        result.completeExceptionally(lastError);
+                    } else {
+                        result.complete(null);
+                    }
+                }
+            }
+            if (sendBackup) {
+                send(backup); // Primary came back empty-handed before the hedge fired
+            }
+        }
+
+        private Part find(List<Part> parts) {
+            if (parts == null) {
+                return null;
+            }
+            for (Part part : parts) {
+                if (part.getCode().equals(code)) {
+                    return part;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.baymotors.patterns.adapter;
+
+public class OrderLine {
+    private final String partCode;
+    private final int quantity;
+
+    public OrderLine(String partCode, int quantity) {
+        if (partCode == null || partCode.isEmpty()) {
+            throw new IllegalArgumentException("Part code cannot be empty");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        this.partCode = partCode;
+        this.quantity = quantity;
+    }
+
+    public String getPartCode() { return partCode; }
+    public int getQuantity() { return quantity; }
+}
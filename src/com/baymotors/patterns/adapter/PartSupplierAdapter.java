@@ -3,7 +3,12 @@ package com.baymotors.patterns.adapter;
 import com.baymotors.models.Part;
 import com.baymotors.models.Supplier;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class PartSupplierAdapter implements PartSupplierSystem {
     private Supplier supplier;
@@ -21,4 +26,34 @@ public class PartSupplierAdapter implements PartSupplierSystem {
     public boolean orderPart(String code, int quantity) {
         return supplier.order(code, quantity);
     }
+
+    @Override
+    public BatchOrderResult orderParts(List<OrderLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one line");
+        }
+        // Repeated codes are ordered as one line for the combined quantity
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            quantities.merge(line.getPartCode(), line.getQuantity(), Integer::sum);
+        }
+
+        Set<String> shortages = new HashSet<>(supplier.orderAll(quantities));
+        boolean ordered = shortages.isEmpty();
+        List<BatchOrderResult.LineResult> results = new ArrayList<>(lines.size());
+        for (OrderLine line : lines) {
+            BatchOrderResult.LineStatus status;
+            if (ordered) {
+                status = BatchOrderResult.LineStatus.ORDERED;
+            } else if (!shortages.contains(line.getPartCode())) {
+                status = BatchOrderResult.LineStatus.NOT_ORDERED;
+            } else if (supplier.hasPart(line.getPartCode())) {
+                status = BatchOrderResult.LineStatus.INSUFFICIENT_STOCK;
+            } else {
+                status = BatchOrderResult.LineStatus.UNKNOWN_PART;
+            }
+            results.add(new BatchOrderResult.LineResult(line, status));
+        }
+        return new BatchOrderResult(results, ordered);
+    }
 }
@@ -7,4 +7,9 @@ import java.util.List;
 public interface PartSupplierSystem {
     List<Part> getAvailableParts();
     boolean orderPart(String code, int quantity);
+
+    /**
+     * Orders every line or none of them.
+     */
+    BatchOrderResult orderParts(List<OrderLine> lines);
 }
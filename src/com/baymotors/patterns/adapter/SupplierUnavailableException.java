@@ -0,0 +1,11 @@
+package com.baymotors.patterns.adapter;
+
+/**
+ * Thrown when a supplier system could not be reached, so the request is
+ * known not to have been processed and is safe to send again.
+ */
+public class SupplierUnavailableException extends RuntimeException {
+    public SupplierUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,21 +1,57 @@
 package com.baymotors.patterns.factory;
 
 import com.baymotors.models.Customer;
+import com.baymotors.utils.NotificationMetrics;
 
 public abstract class BaseNotification implements Notification {
     protected Customer customer;
     protected String message;
+    private final MessageTemplate template;
 
     public BaseNotification(Customer customer) {
+        this(customer, null);
+    }
+
+    public BaseNotification(Customer customer, MessageTemplate template) {
         this.customer = customer;
+        this.template = template;
     }
 
     @Override
     public boolean send() {
+        long start = System.nanoTime();
+        try {
+            boolean sent = deliver();
+            NotificationMetrics.getInstance().record(getType(),
+                    sent ? NotificationMetrics.Outcome.SENT : NotificationMetrics.Outcome.FAILED,
+                    System.nanoTime() - start);
+            return sent;
+        } catch (RuntimeException e) {
+            NotificationMetrics.getInstance().record(getType(),
+                    NotificationMetrics.Outcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    protected boolean deliver() {
         if (customer != null && customer.getEmail() != null) {
             System.out.println("Sending to " + customer.getEmail() + ": " + getMessage());
             return true;
         }
         return false;
     }
+
+    // Rendered on first use from the shared template
+    @Override
+    public String getMessage() {
+        if (message == null && template != null) {
+            message = template.render(customer);
+        }
+        return message;
+    }
+
+    @Override
+    public Customer getCustomer() {
+        return customer;
+    }
 }
@@ -0,0 +1,33 @@
+package com.baymotors.patterns.factory;
+
+import com.baymotors.models.Customer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several notifications for the same customer merged into one message.
+ * Built by the notification coalescer rather than the factory.
+ */
+public class DigestNotification extends BaseNotification{
+    private final List<String> messages;
+
+    public DigestNotification(Customer customer, List<String> messages) {
+        super(customer);
+        this.messages = new ArrayList<>(messages);
+        StringBuilder digest = new StringBuilder("You have " + messages.size() + " updates:");
+        for (int i = 0; i < messages.size(); i++) {
+            digest.append(' ').append(i + 1).append(") ").append(messages.get(i));
+        }
+        this.message = digest.toString();
+    }
+
+    @Override
+    public NotificationType getType() {
+        return NotificationType.DIGEST;
+    }
+
+    public List<String> getMessages() {
+        return new ArrayList<>(messages);
+    }
+}
@@ -0,0 +1,105 @@
+package com.baymotors.patterns.factory;
+
+import com.baymotors.models.Customer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message text with per-customer placeholders such as {name}.
+ *
+ * The pattern is split into literal segments and placeholders once, when
+ * the template is compiled. Templates are immutable and shared by every
+ * notification of a type, so a send only pays for one exactly-sized
+ * StringBuilder holding the final message.
+ */
+public final class MessageTemplate {
+    private enum Placeholder {
+        NAME("{name}"),
+        EMAIL("{email}");
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+    }
+
+    private final String pattern;
+    private final String[] literals;          // one more than placeholders
+    private final Placeholder[] placeholders;
+    private final int literalLength;
+
+    private MessageTemplate(String pattern, String[] literals, Placeholder[] placeholders) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Template pattern cannot be null");
+        }
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            Placeholder match = null;
+            if (pattern.charAt(i) == '{') {
+                for (Placeholder placeholder : Placeholder.values()) {
+                    if (pattern.startsWith(placeholder.token, i)) {
+                        match = placeholder;
+                        break;
+                    }
+                }
+            }
+            if (match == null) {
+                i++;
+                continue;
+            }
+            literals.add(pattern.substring(start, i));
+            placeholders.add(match);
+            i += match.token.length();
+            start = i;
+        }
+        literals.add(pattern.substring(start));
+        return new MessageTemplate(pattern,
+                literals.toArray(new String[0]),
+                placeholders.toArray(new Placeholder[0]));
+    }
+
+    public String render(Customer customer) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+        String[] values = new String[placeholders.length];
+        int length = literalLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            values[i] = valueOf(placeholders[i], customer);
+            length += values[i].length();
+        }
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            message.append(literals[i]).append(values[i]);
+        }
+        return message.append(literals[placeholders.length]).toString();
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    private static String valueOf(Placeholder placeholder, Customer customer) {
+        String value = null;
+        if (customer != null) {
+            value = placeholder == Placeholder.NAME ? customer.getName() : customer.getEmail();
+        }
+        return value != null ? value : "";
+    }
+}
@@ -1,6 +1,10 @@
 package com.baymotors.patterns.factory;
 
+import com.baymotors.models.Customer;
+
 public interface Notification {
     boolean send();
     String getMessage();
+    Customer getCustomer();
+    NotificationType getType();
 }
@@ -20,6 +20,10 @@ public class NotificationFactory {
                 return new OfferNotification(customer);
             case REGISTRATION_BENEFIT:
                 return new RegistrationBenefitNotification(customer);
+            case SERVICE_REMINDER:
+                return new ServiceReminderNotification(customer);
+            case DIGEST:
+                throw new IllegalArgumentException("Digest notifications are built by the coalescer");
             default:
                 throw new IllegalArgumentException("Unknown notification type");
         }
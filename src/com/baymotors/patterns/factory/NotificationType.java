@@ -3,5 +3,7 @@ package com.baymotors.patterns.factory;
 public enum NotificationType {
     TASK_COMPLETE,
     OFFER,
-    REGISTRATION_BENEFIT
+    REGISTRATION_BENEFIT,
+    SERVICE_REMINDER,
+    DIGEST
 }
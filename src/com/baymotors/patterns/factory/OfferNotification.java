@@ -3,13 +3,15 @@ package com.baymotors.patterns.factory;
 import com.baymotors.models.Customer;
 
 public class OfferNotification extends BaseNotification{
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile(
+            "Special offer for our valued customer {name}: 10% off on your next service!");
+
     public OfferNotification(Customer customer) {
-        super(customer);
-        this.message = "Special offer for our valued customer: 10% off on your next service!";
+        super(customer, TEMPLATE);
     }
 
     @Override
-    public String getMessage() {
-        return this.message;
+    public NotificationType getType() {
+        return NotificationType.OFFER;
     }
 }
@@ -3,13 +3,15 @@ package com.baymotors.patterns.factory;
 import com.baymotors.models.Customer;
 
 public class RegistrationBenefitNotification extends BaseNotification{
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile(
+            "Hi {name}, register with us to receive exclusive benefits: Priority booking, special discounts, and more!");
+
     public RegistrationBenefitNotification(Customer customer) {
-        super(customer);
-        this.message = "Register with us to receive exclusive benefits: Priority booking, special discounts, and more!";
+        super(customer, TEMPLATE);
     }
 
     @Override
-    public String getMessage() {
-        return this.message;
+    public NotificationType getType() {
+        return NotificationType.REGISTRATION_BENEFIT;
     }
 }
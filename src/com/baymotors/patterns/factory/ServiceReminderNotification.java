@@ -0,0 +1,17 @@
+package com.baymotors.patterns.factory;
+
+import com.baymotors.models.Customer;
+
+public class ServiceReminderNotification extends BaseNotification{
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile(
+            "Hi {name}, your vehicle is due for its regular service. Book now to keep it running smoothly!");
+
+    public ServiceReminderNotification(Customer customer) {
+        super(customer, TEMPLATE);
+    }
+
+    @Override
+    public NotificationType getType() {
+        return NotificationType.SERVICE_REMINDER;
+    }
+}
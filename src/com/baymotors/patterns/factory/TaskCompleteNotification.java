@@ -3,13 +3,15 @@ package com.baymotors.patterns.factory;
 import com.baymotors.models.Customer;
 
 public class TaskCompleteNotification extends BaseNotification{
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile(
+            "Hi {name}, your vehicle is ready for pickup!");
+
     public TaskCompleteNotification(Customer customer) {
-        super(customer);
-        this.message = "Your vehicle is ready for pickup!";
+        super(customer, TEMPLATE);
     }
 
     @Override
-    public String getMessage() {
-        return this.message;
+    public NotificationType getType() {
+        return NotificationType.TASK_COMPLETE;
     }
 }
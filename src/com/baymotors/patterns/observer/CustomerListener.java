@@ -0,0 +1,18 @@
+package com.baymotors.patterns.observer;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+
+/**
+ * Structured customer events for indexes that need more than a message string.
+ */
+public interface CustomerListener {
+    default void onRegistered(Customer customer) {}
+
+    default void onVehicleAdded(Customer customer, Vehicle vehicle) {}
+
+    default void onVehicleRemoved(Customer customer, Vehicle vehicle) {}
+
+    default void onServiceCompleted(Customer customer, Vehicle vehicle, Task task) {}
+}
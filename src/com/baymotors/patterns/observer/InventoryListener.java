@@ -0,0 +1,26 @@
+package com.baymotors.patterns.observer;
+
+import com.baymotors.models.Part;
+import com.baymotors.models.StockMovement;
+import com.baymotors.models.Supplier;
+
+/**
+ * Receives every change to a supplier's catalogue and stock levels.
+ * Callbacks run on the thread that made the change.
+ */
+public interface InventoryListener {
+    default void onPartAdded(Supplier supplier, Part part) {}
+
+    default void onPriceChanged(Supplier supplier, Part part) {}
+
+    default void onStockChanged(Supplier supplier, String partCode, int oldQuantity, int newQuantity) {}
+
+    /**
+     * Same as onStockChanged above, with the reason for the change. By
+     * default it forwards to the version without the reason.
+     */
+    default void onStockChanged(Supplier supplier, String partCode, StockMovement movement,
+                                int oldQuantity, int newQuantity) {
+        onStockChanged(supplier, partCode, oldQuantity, newQuantity);
+    }
+}
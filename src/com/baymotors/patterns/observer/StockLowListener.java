@@ -0,0 +1,10 @@
+package com.baymotors.patterns.observer;
+
+import com.baymotors.models.Supplier;
+
+/**
+ * Notified when a supplier's stock of a part falls to or below its reorder point.
+ */
+public interface StockLowListener {
+    void onStockLow(Supplier supplier, String partCode, int quantity, int reorderPoint);
+}
@@ -0,0 +1,96 @@
+package com.baymotors.utils;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.models.User;
+
+import java.util.function.Function;
+
+/**
+ * Password login in front of a session cache.
+ *
+ * A login verifies the password hash once and hands back a token; every
+ * later request presents the token and is checked with a map lookup.
+ * Failed attempts are throttled both per email and per source, so neither
+ * guessing one account's password nor spraying many accounts from one
+ * front-end gets more than a handful of tries per window.
+ */
+public class AuthService {
+    public static final long DEFAULT_SESSION_TTL_MILLIS = 8L * 60 * 60 * 1000;
+    public static final int DEFAULT_MAX_FAILURES_PER_EMAIL = 5;
+    public static final int DEFAULT_MAX_FAILURES_PER_SOURCE = 50;
+    public static final long DEFAULT_THROTTLE_WINDOW_MILLIS = 15L * 60 * 1000;
+
+    // Verified when the email is unknown so both failures take the same time
+    private static final String DUMMY_HASH = PasswordHasher.hash("not-a-real-password");
+
+    private final Function<String, User> userLookup;
+    private final SessionManager sessions;
+    private final LoginThrottle emailThrottle;
+    private final LoginThrottle sourceThrottle;
+
+    public AuthService(Function<String, User> userLookup) {
+        this(userLookup,
+                new SessionManager(DEFAULT_SESSION_TTL_MILLIS),
+                new LoginThrottle(DEFAULT_MAX_FAILURES_PER_EMAIL, DEFAULT_THROTTLE_WINDOW_MILLIS),
+                new LoginThrottle(DEFAULT_MAX_FAILURES_PER_SOURCE, DEFAULT_THROTTLE_WINDOW_MILLIS));
+    }
+
+    public AuthService(Function<String, User> userLookup, SessionManager sessions,
+                       LoginThrottle emailThrottle, LoginThrottle sourceThrottle) {
+        this.userLookup = userLookup;
+        this.sessions = sessions;
+        this.emailThrottle = emailThrottle;
+        this.sourceThrottle = sourceThrottle;
+    }
+
+    /**
+     * Checks the credentials and starts a session.
+     *
+     * @param source Where the attempt came from, e.g. "console" or a client address
+     * @return The session token
+     * @throws AuthException if the credentials are wrong or the email or source is throttled
+     */
+    public String login(String email, String password, String source) throws AuthException {
+        if (email == null || source == null) {
+            throw new AuthException("Invalid credentials");
+        }
+        if (emailThrottle.isBlocked(email) || sourceThrottle.isBlocked(source)) {
+            throw new AuthException("Too many failed login attempts, try again later");
+        }
+        User user = userLookup.apply(email);
+        boolean valid = false;
+        if (user != null) {
+            valid = user.authenticate(password);
+        } else {
+            PasswordHasher.verify(password, DUMMY_HASH);
+        }
+        if (!valid) {
+            emailThrottle.recordFailure(email);
+            sourceThrottle.recordFailure(source);
+            throw new AuthException("Invalid credentials");
+        }
+        emailThrottle.reset(email);
+        sessions.purgeExpired();
+        return sessions.create(user);
+    }
+
+    /**
+     * @return The user the token belongs to
+     * @throws AuthException if the session is unknown or has expired
+     */
+    public User authenticate(String token) throws AuthException {
+        User user = sessions.validate(token);
+        if (user == null) {
+            throw new AuthException("Session expired, please log in again");
+        }
+        return user;
+    }
+
+    public void logout(String token) {
+        sessions.invalidate(token);
+    }
+
+    public SessionManager getSessions() {
+        return sessions;
+    }
+}
@@ -0,0 +1,179 @@
+package com.baymotors.utils;
+
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.models.Customer;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Holds one DataStore per branch and directs work to the right one.
+ *
+ * Operations on a single branch go straight to its store via branch(),
+ * so branches never share locks, ID counters or indexes. Queries that
+ * span the business run against every branch at once on virtual threads
+ * and the results are merged, so they take as long as the slowest branch
+ * rather than the sum of all of them.
+ */
+public class BranchRouter implements Closeable {
+    private final Map<String, DataStore> branches;
+    private final ExecutorService executor;
+
+    public BranchRouter() {
+        this.branches = new ConcurrentSkipListMap<>();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Creates an empty store for a new branch.
+     *
+     * @throws IllegalArgumentException if the branch already exists
+     */
+    public DataStore addBranch(String branchId) {
+        DataStore store = DataStore.createBranch(branchId);
+        addBranch(store);
+        return store;
+    }
+
+    /**
+     * Adds an existing store, such as DataStore.getInstance(), as a branch.
+     *
+     * @throws IllegalArgumentException if the branch already exists
+     */
+    public void addBranch(DataStore store) {
+        if (branches.putIfAbsent(store.getBranchId(), store) != null) {
+            throw new IllegalArgumentException("Branch already exists: " + store.getBranchId());
+        }
+    }
+
+    public DataStore removeBranch(String branchId) {
+        return branches.remove(branchId);
+    }
+
+    /**
+     * @return The store for the branch
+     * @throws BayMotorsException if there is no such branch
+     */
+    public DataStore branch(String branchId) throws BayMotorsException {
+        DataStore store = branchId == null ? null : branches.get(branchId);
+        if (store == null) {
+            throw BayMotorsException.expected("Unknown branch: " + branchId,
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+        return store;
+    }
+
+    public Set<String> getBranchIds() {
+        return Collections.unmodifiableSet(branches.keySet());
+    }
+
+    public int getBranchCount() {
+        return branches.size();
+    }
+
+    // ===== Cross-branch queries =====
+
+    /**
+     * Runs a query against every branch in parallel.
+     *
+     * @return Branch ID -> result, in branch ID order; branches that return null are left out
+     */
+    public <R> Map<String, R> fanOut(Function<DataStore, R> query) {
+        List<String> ids = new ArrayList<>();
+        List<CompletableFuture<R>> results = new ArrayList<>();
+        for (DataStore store : branches.values()) {
+            ids.add(store.getBranchId());
+            results.add(CompletableFuture.supplyAsync(() -> query.apply(store), executor));
+        }
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+
+        Map<String, R> merged = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            R result = results.get(i).join();
+            if (result != null) {
+                merged.put(ids.get(i), result);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return Branch ID -> that branch's customer with the email, for every branch that has one
+     */
+    public Map<String, Customer> findCustomersByEmail(String email) {
+        return fanOut(store -> store.getCustomerByEmail(email));
+    }
+
+    /**
+     * @return The cheapest supplier at any branch holding at least minQuantity of the part, or null if none
+     */
+    public BranchOffer findCheapest(String partCode, int minQuantity) {
+        BranchOffer cheapest = null;
+        for (Map.Entry<String, PartSourcingIndex.SupplierOffer> entry
+                : fanOut(store -> store.getSourcingIndex().findCheapest(partCode, minQuantity)).entrySet()) {
+            if (cheapest == null || entry.getValue().getPrice() < cheapest.getOffer().getPrice()) {
+                cheapest = new BranchOffer(entry.getKey(), entry.getValue());
+            }
+        }
+        return cheapest;
+    }
+
+    /**
+     * @return Every supplier listing the part at any branch, cheapest first
+     */
+    public List<BranchOffer> getOffers(String partCode) {
+        List<BranchOffer> offers = new ArrayList<>();
+        for (Map.Entry<String, List<PartSourcingIndex.SupplierOffer>> entry
+                : fanOut(store -> store.getSourcingIndex().getOffers(partCode)).entrySet()) {
+            for (PartSourcingIndex.SupplierOffer offer : entry.getValue()) {
+                offers.add(new BranchOffer(entry.getKey(), offer));
+            }
+        }
+        // Each branch's list is already sorted, and the sort is stable, so ties keep branch order
+        offers.sort(Comparator.comparingDouble(offer -> offer.getOffer().getPrice()));
+        return offers;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // ===== Result types =====
+
+    public static final class BranchOffer {
+        private final String branchId;
+        private final PartSourcingIndex.SupplierOffer offer;
+
+        BranchOffer(String branchId, PartSourcingIndex.SupplierOffer offer) {
+            this.branchId = branchId;
+            this.offer = offer;
+        }
+
+        public String getBranchId() { return branchId; }
+        public PartSourcingIndex.SupplierOffer getOffer() { return offer; }
+    }
+}
@@ -0,0 +1,393 @@
+package com.baymotors.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, laid out like a Roaring bitmap.
+ *
+ * Values are split by their high 16 bits into chunks. A chunk holding at
+ * most 4096 values is a sorted char array; a fuller chunk switches to a
+ * plain 65536-bit bitmap. Sparse sets (e.g. owners of a rare make) stay
+ * small while dense ones (e.g. all registered customers) cost at most one
+ * bit per ID.
+ */
+public class CompressedBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Object[] containers; // char[] (sorted, length == cardinality) or long[1024]
+    private int[] cardinalities;
+    private int chunkCount;
+
+    public CompressedBitmap() {
+        this.keys = new char[4];
+        this.containers = new Object[4];
+        this.cardinalities = new int[4];
+    }
+
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = findChunk(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[] { low }, 1);
+            return;
+        }
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) == 0) {
+                words[low >>> 6] |= mask;
+                cardinalities[index]++;
+            }
+            return;
+        }
+        char[] values = (char[]) container;
+        int pos = Arrays.binarySearch(values, low);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (values.length == ARRAY_LIMIT) {
+            long[] words = toWords(values);
+            words[low >>> 6] |= 1L << low;
+            containers[index] = words;
+        } else {
+            char[] grown = new char[values.length + 1];
+            System.arraycopy(values, 0, grown, 0, pos);
+            grown[pos] = low;
+            System.arraycopy(values, pos, grown, pos + 1, values.length - pos);
+            containers[index] = grown;
+        }
+        cardinalities[index]++;
+    }
+
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int index = findChunk((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) == 0) {
+                return;
+            }
+            words[low >>> 6] &= ~mask;
+            cardinalities[index]--;
+            if (cardinalities[index] <= ARRAY_LIMIT) {
+                containers[index] = toArray(words, cardinalities[index]);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int pos = Arrays.binarySearch(values, low);
+            if (pos < 0) {
+                return;
+            }
+            char[] shrunk = new char[values.length - 1];
+            System.arraycopy(values, 0, shrunk, 0, pos);
+            System.arraycopy(values, pos + 1, shrunk, pos, values.length - pos - 1);
+            containers[index] = shrunk;
+            cardinalities[index]--;
+        }
+        if (cardinalities[index] == 0) {
+            removeChunk(index);
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findChunk((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, low) >= 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Visits every value in ascending order without building a collection.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof long[]) {
+                long[] words = (long[]) container;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (char low : (char[]) container) {
+                    action.accept(high | low);
+                }
+            }
+        }
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(keys[i], combine(containers[i], other.containers[j], Op.AND));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j >= other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], copy(containers[i]));
+                i++;
+            } else if (i >= chunkCount || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], copy(other.containers[j]));
+                j++;
+            } else {
+                result.appendChunk(keys[i], combine(containers[i], other.containers[j], Op.OR));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.chunkCount && other.keys[j] == keys[i]) {
+                result.appendChunk(keys[i], combine(containers[i], other.containers[j], Op.AND_NOT));
+            } else {
+                result.appendChunk(keys[i], copy(containers[i]));
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0; i < chunkCount; i++) {
+            result.insertChunk(i, keys[i], copy(containers[i]), cardinalities[i]);
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, chunkCount, null);
+        chunkCount = 0;
+    }
+
+    /**
+     * Approximate heap footprint of the containers, for reporting.
+     */
+    public long getSizeInBytes() {
+        long bytes = 16L + chunkCount * 10L;
+        for (int i = 0; i < chunkCount; i++) {
+            Object container = containers[i];
+            bytes += 16 + (container instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) container).length * 2L);
+        }
+        return bytes;
+    }
+
+    // ===== Chunk bookkeeping =====
+
+    private enum Op { AND, OR, AND_NOT }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must be non-negative");
+        }
+    }
+
+    private int findChunk(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int index, char key, Object container, int cardinality) {
+        if (chunkCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(containers, index, containers, index + 1, chunkCount - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, chunkCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = cardinality;
+        chunkCount++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunkCount - index - 1);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, chunkCount - index - 1);
+        chunkCount--;
+        containers[chunkCount] = null;
+    }
+
+    // Chunks produced by set operations arrive in key order, so they can be appended
+    private void appendChunk(char key, Object container) {
+        int cardinality = container instanceof long[]
+                ? bitCount((long[]) container)
+                : ((char[]) container).length;
+        if (cardinality == 0) {
+            return;
+        }
+        if (container instanceof long[] && cardinality <= ARRAY_LIMIT) {
+            container = toArray((long[]) container, cardinality);
+        }
+        insertChunk(chunkCount, key, container, cardinality);
+    }
+
+    private static Object copy(Object container) {
+        return container instanceof long[] ? ((long[]) container).clone() : ((char[]) container).clone();
+    }
+
+    private static Object combine(Object left, Object right, Op op) {
+        if (left instanceof char[] && right instanceof char[]) {
+            return combineArrays((char[]) left, (char[]) right, op);
+        }
+        long[] a = left instanceof long[] ? (long[]) left : toWords((char[]) left);
+        long[] b = right instanceof long[] ? (long[]) right : toWords((char[]) right);
+        long[] out = new long[BITMAP_WORDS];
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            switch (op) {
+                case AND:
+                    out[w] = a[w] & b[w];
+                    break;
+                case OR:
+                    out[w] = a[w] | b[w];
+                    break;
+                default:
+                    out[w] = a[w] & ~b[w];
+            }
+        }
+        return out;
+    }
+
+    private static Object combineArrays(char[] a, char[] b, Op op) {
+        char[] out = new char[op == Op.OR ? a.length + b.length : a.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                if (op != Op.AND) {
+                    out[n++] = a[i];
+                }
+                i++;
+            } else if (a[i] > b[j]) {
+                if (op == Op.OR) {
+                    out[n++] = b[j];
+                }
+                j++;
+            } else {
+                if (op != Op.AND_NOT) {
+                    out[n++] = a[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        if (op != Op.AND) {
+            while (i < a.length) {
+                out[n++] = a[i++];
+            }
+        }
+        if (op == Op.OR) {
+            while (j < b.length) {
+                out[n++] = b[j++];
+            }
+        }
+        if (n > ARRAY_LIMIT) {
+            return toWords(Arrays.copyOf(out, n));
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static long[] toWords(char[] values) {
+        long[] words = new long[BITMAP_WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int cardinality) {
+        char[] values = new char[cardinality];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
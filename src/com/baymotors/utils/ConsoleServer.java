@@ -0,0 +1,111 @@
+package com.baymotors.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Line-based TCP server for the console menus. Each connection gets its
+ * own MenuSystem, with its own streams and logged-in user, running on a
+ * virtual thread; all of them share the one DataStore.
+ */
+public class ConsoleServer implements Closeable {
+    private static final int BACKLOG = 512;
+    private static final int OUTPUT_BUFFER_BYTES = 8192;
+
+    private final DataStore dataStore;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final Set<Socket> connections;
+    private final AtomicInteger activeSessions;
+    private final AtomicInteger completedSessions;
+    private Thread acceptor;
+
+    public ConsoleServer(InetSocketAddress address) throws IOException {
+        this(DataStore.getInstance(), address);
+    }
+
+    public ConsoleServer(DataStore dataStore, InetSocketAddress address) throws IOException {
+        this.dataStore = dataStore;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address, BACKLOG);
+        this.sessions = Executors.newVirtualThreadPerTaskExecutor();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.activeSessions = new AtomicInteger();
+        this.completedSessions = new AtomicInteger();
+    }
+
+    public synchronized void start() {
+        if (acceptor != null) {
+            return;
+        }
+        // A platform thread, so the server keeps the process alive
+        acceptor = new Thread(this::acceptLoop, "console-server-acceptor");
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getActiveSessionCount() {
+        return activeSessions.get();
+    }
+
+    public int getCompletedSessionCount() {
+        return completedSessions.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                sessions.submit(() -> runSession(socket));
+            } catch (IOException e) {
+                // Closed while waiting for a connection
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            // Output is flushed once per prompt rather than once per line
+            PrintStream out = new PrintStream(
+                    new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_BYTES),
+                    false, StandardCharsets.UTF_8);
+            String source = socket.getInetAddress().getHostAddress();
+            new MenuSystem(dataStore, socket.getInputStream(), out, source).start();
+        } catch (IOException e) {
+            // Connection dropped; the session is over either way
+        } finally {
+            connections.remove(socket);
+            activeSessions.decrementAndGet();
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting connections and disconnects every open session.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+        sessions.shutdown();
+    }
+}
@@ -0,0 +1,214 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+import com.baymotors.patterns.observer.CustomerListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compressed bitmap indexes over customer IDs for building offer segments.
+ *
+ * Each attribute keeps one bitmap per value: registered customers, owners
+ * per vehicle make, and customers grouped by the month of their last
+ * service. A segment such as "registered AND owns a Toyota AND last service
+ * before 1 March" is just bitmap ANDs. The index listens to tracked customers,
+ * so it stays current as they register, gain vehicles and get serviced.
+ */
+public class CustomerSegmentIndex implements CustomerListener {
+    private final CompressedBitmap tracked;
+    private final CompressedBitmap registered;
+    private final CompressedBitmap serviced;
+    private final Map<String, CompressedBitmap> ownersByMake;
+    private final TreeMap<Integer, CompressedBitmap> lastServiceByMonth; // epoch month -> customers
+    private int[] lastServiceDay; // customer ID -> epoch day + 1, 0 = never serviced
+
+    public CustomerSegmentIndex() {
+        this.tracked = new CompressedBitmap();
+        this.registered = new CompressedBitmap();
+        this.serviced = new CompressedBitmap();
+        this.ownersByMake = new HashMap<>();
+        this.lastServiceByMonth = new TreeMap<>();
+        this.lastServiceDay = new int[64];
+    }
+
+    /**
+     * Indexes a customer's current state and subscribes to its future changes.
+     */
+    public synchronized void track(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+        customer.addListener(this);
+        tracked.add(customer.getId());
+        if (customer.isRegistered()) {
+            registered.add(customer.getId());
+        }
+        for (Vehicle vehicle : customer.getVehicles()) {
+            onVehicleAdded(customer, vehicle);
+            for (Task task : vehicle.getTaskHistory()) {
+                if (task.getCompletedDate() != null) {
+                    recordService(customer.getId(), task.getCompletedDate().toLocalDate());
+                }
+            }
+        }
+    }
+
+    public synchronized void untrack(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+        customer.removeListener(this);
+        int id = customer.getId();
+        tracked.remove(id);
+        registered.remove(id);
+        for (CompressedBitmap owners : ownersByMake.values()) {
+            owners.remove(id);
+        }
+        clearService(id);
+    }
+
+    public synchronized void clear() {
+        tracked.clear();
+        registered.clear();
+        serviced.clear();
+        ownersByMake.clear();
+        lastServiceByMonth.clear();
+        Arrays.fill(lastServiceDay, 0);
+    }
+
+    // ===== Listener callbacks =====
+
+    @Override
+    public synchronized void onRegistered(Customer customer) {
+        registered.add(customer.getId());
+    }
+
+    @Override
+    public synchronized void onVehicleAdded(Customer customer, Vehicle vehicle) {
+        String make = makeOf(vehicle);
+        if (make != null) {
+            ownersByMake.computeIfAbsent(make, k -> new CompressedBitmap()).add(customer.getId());
+        }
+    }
+
+    @Override
+    public synchronized void onVehicleRemoved(Customer customer, Vehicle vehicle) {
+        String make = makeOf(vehicle);
+        if (make == null || !ownersByMake.containsKey(make)) {
+            return;
+        }
+        // Only drop the customer if no other vehicle of theirs has the same make
+        for (Vehicle other : customer.getVehicles()) {
+            if (make.equals(makeOf(other))) {
+                return;
+            }
+        }
+        ownersByMake.get(make).remove(customer.getId());
+    }
+
+    @Override
+    public synchronized void onServiceCompleted(Customer customer, Vehicle vehicle, Task task) {
+        LocalDateTime completed = task.getCompletedDate();
+        recordService(customer.getId(), completed != null ? completed.toLocalDate() : LocalDate.now());
+    }
+
+    // ===== Segment predicates =====
+    // Each returns a new bitmap, so results can be combined freely with and/or/andNot.
+
+    public synchronized CompressedBitmap all() {
+        return tracked.copy();
+    }
+
+    public synchronized CompressedBitmap registered() {
+        return registered.copy();
+    }
+
+    public synchronized CompressedBitmap ownersOf(String make) {
+        CompressedBitmap owners = make == null ? null : ownersByMake.get(make.toLowerCase());
+        return owners == null ? new CompressedBitmap() : owners.copy();
+    }
+
+    /**
+     * Customers whose most recent service was strictly before the given date.
+     * Customers who have never been serviced are not included.
+     */
+    public synchronized CompressedBitmap lastServicedBefore(LocalDate date) {
+        int cutoffDay = (int) date.toEpochDay();
+        int cutoffMonth = epochMonth(date);
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap month : lastServiceByMonth.headMap(cutoffMonth).values()) {
+            result = result.or(month);
+        }
+        // The cutoff month itself is only partly before the date
+        CompressedBitmap boundary = lastServiceByMonth.get(cutoffMonth);
+        if (boundary != null) {
+            CompressedBitmap partial = new CompressedBitmap();
+            boundary.forEach(id -> {
+                if (lastServiceDay[id] - 1 < cutoffDay) {
+                    partial.add(id);
+                }
+            });
+            result = result.or(partial);
+        }
+        return result;
+    }
+
+    public synchronized CompressedBitmap neverServiced() {
+        return tracked.andNot(serviced);
+    }
+
+    // ===== Internal helpers =====
+
+    private void recordService(int customerId, LocalDate date) {
+        int day = (int) date.toEpochDay();
+        ensureCapacity(customerId);
+        int previous = lastServiceDay[customerId] - 1;
+        if (lastServiceDay[customerId] != 0 && previous >= day) {
+            return; // An older job completing late does not move the last service back
+        }
+        clearService(customerId);
+        lastServiceDay[customerId] = day + 1;
+        lastServiceByMonth.computeIfAbsent(epochMonth(date), k -> new CompressedBitmap()).add(customerId);
+        serviced.add(customerId);
+    }
+
+    private void clearService(int customerId) {
+        if (customerId >= lastServiceDay.length || lastServiceDay[customerId] == 0) {
+            return;
+        }
+        int month = epochMonth(LocalDate.ofEpochDay(lastServiceDay[customerId] - 1));
+        CompressedBitmap bucket = lastServiceByMonth.get(month);
+        if (bucket != null) {
+            bucket.remove(customerId);
+            if (bucket.isEmpty()) {
+                lastServiceByMonth.remove(month);
+            }
+        }
+        lastServiceDay[customerId] = 0;
+        serviced.remove(customerId);
+    }
+
+    private void ensureCapacity(int customerId) {
+        if (customerId >= lastServiceDay.length) {
+            lastServiceDay = Arrays.copyOf(lastServiceDay, Math.max(customerId + 1, lastServiceDay.length * 2));
+        }
+    }
+
+    private static int epochMonth(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static String makeOf(Vehicle vehicle) {
+        if (vehicle == null || vehicle.getManufacturer() == null) {
+            return null;
+        }
+        return vehicle.getManufacturer().getName().toLowerCase();
+    }
+}
@@ -1,48 +1,198 @@
 package com.baymotors.utils;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.exceptions.ConflictException;
 import com.baymotors.models.*;
 
+/**
+ * In-memory store shared by every front-end. The maps are concurrent and
+ * IDs come from atomic counters, so the console, script runner and HTTP
+ * API can read and add records from many threads at once.
+ *
+ * getInstance() is the store for a single garage. Each branch of a
+ * multi-branch business gets its own store from createBranch(), with its
+ * own ID counters and indexes; BranchRouter holds the branches.
+ */
 public class DataStore {
+    public static final String DEFAULT_BRANCH = "main";
+    /** Pass as the expected version to update a record whatever its version */
+    public static final long ANY_VERSION = -1;
+    // Notifications to one customer within this window go out as one digest
+    private static final long NOTIFICATION_WINDOW_MILLIS = 5L * 60 * 1000;
+    private static final String SCHEDULED_NOTIFICATIONS_FILE = "scheduled-notifications.bin";
+    private static final String INVENTORY_LEDGER_FILE = "inventory.ledger";
+
+    /**
+     * A change to one record, made by calling its mutators.
+     */
+    public interface Update<T> {
+        void apply(T record) throws BayMotorsException;
+    }
+
     private static DataStore instance;
 
+    private final String branchId;
     private Map<Integer, User> users;
+    private Map<String, User> usersByEmail;
     private Map<Integer, Customer> customers;
+    private Map<String, Customer> customersByEmail;
     private Map<Integer, Vehicle> vehicles;
     private Map<Integer, Task> tasks;
     private Map<Integer, Manufacturer> manufacturers;
     private Map<Integer, Supplier> suppliers;
     private Map<Integer, Part> parts;
 
-    private int nextUserId = 1;
-    private int nextCustomerId = 1;
-    private int nextVehicleId = 1;
-    private int nextTaskId = 1;
-    private int nextManufacturerId = 1;
-    private int nextSupplierId = 1;
-    private int nextPartId = 1;
+    private CustomerSegmentIndex segmentIndex;
+    private ServiceReminderIndex reminderIndex;
+    private PartSourcingIndex sourcingIndex;
+    private PartReservationManager reservationManager;
+    private NotificationCoalescer notificationCoalescer;
+    private volatile NotificationScheduler notificationScheduler;
+    private volatile InventoryLedger inventoryLedger;
+    private LowStockDetector lowStockDetector;
+    private SearchIndex<Part> partSearchIndex;
+    private SearchIndex<Customer> customerSearchIndex;
+    private SearchIndex<Vehicle> vehicleSearchIndex;
+    private SearchIndex<Supplier> supplierSearchIndex;
+    private AuthService authService;
+
+    // Row order for the tables shown in paged lists
+    private final RowIndex customerRows = new RowIndex();
+    private final RowIndex vehicleRows = new RowIndex();
+    private final RowIndex taskRows = new RowIndex();
+    private final RowIndex partRows = new RowIndex();
+    private final RowIndex supplierRows = new RowIndex();
+
+    private final AtomicInteger nextUserId = new AtomicInteger(1);
+    private final AtomicInteger nextCustomerId = new AtomicInteger(1);
+    private final AtomicInteger nextVehicleId = new AtomicInteger(1);
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private final AtomicInteger nextManufacturerId = new AtomicInteger(1);
+    private final AtomicInteger nextSupplierId = new AtomicInteger(1);
+    private final AtomicInteger nextPartId = new AtomicInteger(1);
 
     private DataStore() {
-        users = new HashMap<>();
-        customers = new HashMap<>();
-        vehicles = new HashMap<>();
-        tasks = new HashMap<>();
-        manufacturers = new HashMap<>();
-        suppliers = new HashMap<>();
-        parts = new HashMap<>();
+        this(DEFAULT_BRANCH);
         initializeDefaultData();
     }
 
-    public static DataStore getInstance() {
+    private DataStore(String branchId) {
+        this.branchId = branchId;
+        users = new ConcurrentHashMap<>();
+        usersByEmail = new ConcurrentHashMap<>();
+        customers = new ConcurrentHashMap<>();
+        customersByEmail = new ConcurrentHashMap<>();
+        vehicles = new ConcurrentHashMap<>();
+        tasks = new ConcurrentHashMap<>();
+        manufacturers = new ConcurrentHashMap<>();
+        suppliers = new ConcurrentHashMap<>();
+        parts = new ConcurrentHashMap<>();
+        segmentIndex = new CustomerSegmentIndex();
+        reminderIndex = new ServiceReminderIndex();
+        sourcingIndex = new PartSourcingIndex();
+        reservationManager = new PartReservationManager(1_000);
+        notificationCoalescer = new NotificationCoalescer(NOTIFICATION_WINDOW_MILLIS, NotificationUtil::deliver);
+        notificationScheduler = new NotificationScheduler();
+        lowStockDetector = new LowStockDetector();
+        partSearchIndex = new SearchIndex<>(Part::getId, part -> Arrays.asList(
+                part.getName(),
+                part.getCode(),
+                part.getManufacturer() != null ? part.getManufacturer().getName() : null
+        ));
+        // Phone numbers and plates are also indexed without spaces so "AB12C" finds "AB12 CDE"
+        customerSearchIndex = new SearchIndex<>(Customer::getId, customer -> Arrays.asList(
+                customer.getName(),
+                customer.getEmail(),
+                customer.getPhone(),
+                compact(customer.getPhone())
+        ));
+        vehicleSearchIndex = new SearchIndex<>(Vehicle::getId, vehicle -> Arrays.asList(
+                vehicle.getRegistration(),
+                compact(vehicle.getRegistration()),
+                vehicle.getManufacturer() != null ? vehicle.getManufacturer().getName() : null,
+                vehicle.getModel()
+        ));
+        supplierSearchIndex = new SearchIndex<>(Supplier::getId, supplier -> Arrays.asList(
+                supplier.getName(),
+                supplier.getContactPerson(),
+                supplier.getEmail(),
+                supplier.getPhone(),
+                compact(supplier.getPhone())
+        ));
+        authService = new AuthService(this::getUserByEmail);
+        // Abandoned sessions are purged in the background, not only when someone logs in
+        reservationManager.addTickTask(authService.getSessions()::purgeExpired);
+    }
+
+    public static synchronized DataStore getInstance() {
         if (instance == null) {
             instance = new DataStore();
         }
         return instance;
     }
 
+    /**
+     * Creates an empty store for one branch, separate from getInstance()
+     * and from every other branch.
+     */
+    public static DataStore createBranch(String branchId) {
+        if (branchId == null || branchId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Branch ID cannot be empty");
+        }
+        return new DataStore(branchId);
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    /**
+     * Moves the state that must outlive the process onto disk under the
+     * directory: the scheduled notifications, and an inventory ledger that
+     * records every stock movement of every supplier from now on. Until
+     * this is called scheduled notifications are held in memory only and
+     * stock movements are not recorded. Call it at startup, before anything
+     * is scheduled.
+     */
+    public synchronized void openStorage(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        notificationScheduler = new NotificationScheduler(directory.resolve(SCHEDULED_NOTIFICATIONS_FILE));
+        InventoryLedger ledger = new InventoryLedger(directory.resolve(INVENTORY_LEDGER_FILE));
+        for (Supplier supplier : suppliers.values()) {
+            ledger.track(supplier);
+        }
+        inventoryLedger = ledger;
+    }
+
+    /**
+     * Saves and closes everything openStorage opened.
+     */
+    public synchronized void closeStorage() throws IOException {
+        NotificationScheduler scheduler = notificationScheduler;
+        scheduler.stop();
+        if (scheduler.isFileBacked()) {
+            scheduler.save();
+        }
+        scheduler.close();
+        InventoryLedger ledger = inventoryLedger;
+        if (ledger != null) {
+            for (Supplier supplier : suppliers.values()) {
+                ledger.untrack(supplier);
+            }
+            inventoryLedger = null;
+            ledger.close(); // Writes the last batch
+        }
+    }
+
     private void initializeDefaultData() {
         try {
             // Create default manager
@@ -165,25 +315,42 @@ public class DataStore {
     // Add methods
     public void addUser(User user) {
         if (user != null) {
-            users.put(user.getId(), user);
+            User previous = users.put(user.getId(), user);
+            if (previous != null) {
+                usersByEmail.remove(previous.getEmail(), previous);
+            }
+            usersByEmail.put(user.getEmail(), user);
         }
     }
 
     public void addCustomer(Customer customer) {
         if (customer != null) {
-            customers.put(customer.getId(), customer);
+            Customer previous = customers.put(customer.getId(), customer);
+            if (previous != null && previous.getEmail() != null) {
+                customersByEmail.remove(previous.getEmail(), previous);
+            }
+            if (customer.getEmail() != null) {
+                customersByEmail.put(customer.getEmail(), customer);
+            }
+            customerRows.add(customer.getId());
+            customerSearchIndex.add(customer);
+            segmentIndex.track(customer);
+            reminderIndex.track(customer);
         }
     }
 
     public void addVehicle(Vehicle vehicle) {
         if (vehicle != null) {
             vehicles.put(vehicle.getId(), vehicle);
+            vehicleRows.add(vehicle.getId());
+            vehicleSearchIndex.add(vehicle);
         }
     }
 
     public void addTask(Task task) {
         if (task != null) {
             tasks.put(task.getId(), task);
+            taskRows.add(task.getId());
         }
     }
 
@@ -196,12 +363,22 @@ public class DataStore {
     public void addSupplier(Supplier supplier) {
         if (supplier != null) {
             suppliers.put(supplier.getId(), supplier);
+            supplierRows.add(supplier.getId());
+            supplierSearchIndex.add(supplier);
+            sourcingIndex.track(supplier);
+            lowStockDetector.track(supplier);
+            InventoryLedger ledger = inventoryLedger;
+            if (ledger != null) {
+                ledger.track(supplier);
+            }
         }
     }
 
     public void addPart(Part part) {
         if (part != null) {
             parts.put(part.getId(), part);
+            partRows.add(part.getId());
+            partSearchIndex.add(part);
         }
     }
 
@@ -236,10 +413,11 @@ public class DataStore {
 
     // Get by other fields methods
     public User getUserByEmail(String email) {
-        return users.values().stream()
-                .filter(u -> u.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+        return email == null ? null : usersByEmail.get(email);
+    }
+
+    public Customer getCustomerByEmail(String email) {
+        return email == null ? null : customersByEmail.get(email);
     }
 
     public Manufacturer getManufacturerByName(String name) {
@@ -285,30 +463,210 @@ public class DataStore {
         return new ArrayList<>(parts.values());
     }
 
+    // Paged access in ID order; only the requested rows are looked up
+    public List<Customer> getCustomers(int offset, int limit) {
+        return page(customerRows, customers, offset, limit);
+    }
+
+    public List<Vehicle> getVehicles(int offset, int limit) {
+        return page(vehicleRows, vehicles, offset, limit);
+    }
+
+    public List<Task> getTasks(int offset, int limit) {
+        return page(taskRows, tasks, offset, limit);
+    }
+
+    public List<Part> getParts(int offset, int limit) {
+        return page(partRows, parts, offset, limit);
+    }
+
+    public List<Supplier> getSuppliers(int offset, int limit) {
+        return page(supplierRows, suppliers, offset, limit);
+    }
+
+    public int getCustomerCount() { return customerRows.size(); }
+    public int getVehicleCount() { return vehicleRows.size(); }
+    public int getTaskCount() { return taskRows.size(); }
+    public int getPartCount() { return partRows.size(); }
+    public int getSupplierCount() { return supplierRows.size(); }
+
+    private static <T> List<T> page(RowIndex rows, Map<Integer, T> table, int offset, int limit) {
+        int[] ids = rows.select(offset, limit);
+        List<T> page = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T row = table.get(id);
+            if (row != null) {
+                page.add(row);
+            }
+        }
+        return page;
+    }
+
+    public CustomerSegmentIndex getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public ServiceReminderIndex getReminderIndex() {
+        return reminderIndex;
+    }
+
+    public PartSourcingIndex getSourcingIndex() {
+        return sourcingIndex;
+    }
+
+    public PartReservationManager getReservationManager() {
+        return reservationManager;
+    }
+
+    public NotificationCoalescer getNotificationCoalescer() {
+        return notificationCoalescer;
+    }
+
+    public NotificationScheduler getNotificationScheduler() {
+        return notificationScheduler;
+    }
+
+    /**
+     * @return The inventory ledger, or null if storage has not been opened
+     */
+    public InventoryLedger getInventoryLedger() {
+        return inventoryLedger;
+    }
+
+    public LowStockDetector getLowStockDetector() {
+        return lowStockDetector;
+    }
+
+    public SearchIndex<Part> getPartSearchIndex() {
+        return partSearchIndex;
+    }
+
+    public SearchIndex<Customer> getCustomerSearchIndex() {
+        return customerSearchIndex;
+    }
+
+    public SearchIndex<Vehicle> getVehicleSearchIndex() {
+        return vehicleSearchIndex;
+    }
+
+    public SearchIndex<Supplier> getSupplierSearchIndex() {
+        return supplierSearchIndex;
+    }
+
+    private static String compact(String text) {
+        return text == null ? null : text.replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    public AuthService getAuthService() {
+        return authService;
+    }
+
     // ID generators
-    public int getNextUserId() { return nextUserId++; }
-    public int getNextCustomerId() { return nextCustomerId++; }
-    public int getNextVehicleId() { return nextVehicleId++; }
-    public int getNextTaskId() { return nextTaskId++; }
-    public int getNextManufacturerId() { return nextManufacturerId++; }
-    public int getNextSupplierId() { return nextSupplierId++; }
-    public int getNextPartId() { return nextPartId++; }
+    public int getNextUserId() { return nextUserId.getAndIncrement(); }
+    public int getNextCustomerId() { return nextCustomerId.getAndIncrement(); }
+    public int getNextVehicleId() { return nextVehicleId.getAndIncrement(); }
+    public int getNextTaskId() { return nextTaskId.getAndIncrement(); }
+    public int getNextManufacturerId() { return nextManufacturerId.getAndIncrement(); }
+    public int getNextSupplierId() { return nextSupplierId.getAndIncrement(); }
+    public int getNextPartId() { return nextPartId.getAndIncrement(); }
+
+    // Versioned update methods
+
+    /**
+     * Applies a change to a task if it is still at the expected version.
+     *
+     * @return The task's new version
+     * @throws ConflictException if the task has changed since that version was read
+     */
+    public long updateTask(int id, long expectedVersion, Update<Task> change) throws BayMotorsException {
+        Task task = tasks.get(id);
+        if (task == null) {
+            throw BayMotorsException.expected("Task not found: " + id, BayMotorsException.ErrorCode.TASK_NOT_FOUND);
+        }
+        return compareAndUpdate(task, expectedVersion, change);
+    }
+
+    public long updateVehicle(int id, long expectedVersion, Update<Vehicle> change) throws BayMotorsException {
+        Vehicle vehicle = vehicles.get(id);
+        if (vehicle == null) {
+            throw BayMotorsException.expected("Vehicle not found: " + id, BayMotorsException.ErrorCode.VEHICLE_NOT_FOUND);
+        }
+        long version = compareAndUpdate(vehicle, expectedVersion, change);
+        vehicleSearchIndex.add(vehicle);
+        return version;
+    }
+
+    public long updateCustomer(int id, long expectedVersion, Update<Customer> change) throws BayMotorsException {
+        Customer customer = customers.get(id);
+        if (customer == null) {
+            throw BayMotorsException.expected("Customer not found: " + id, BayMotorsException.ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+        long version = compareAndUpdate(customer, expectedVersion, change);
+        customerSearchIndex.add(customer);
+        return version;
+    }
+
+    public long updateSupplier(int id, long expectedVersion, Update<Supplier> change) throws BayMotorsException {
+        Supplier supplier = suppliers.get(id);
+        if (supplier == null) {
+            throw BayMotorsException.expected("Supplier not found: " + id, BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+        long version = compareAndUpdate(supplier, expectedVersion, change);
+        supplierSearchIndex.add(supplier);
+        return version;
+    }
+
+    /**
+     * Checks the version and applies the change as one step. Writers to the
+     * same record take turns on its monitor; readers never lock and see the
+     * version move on once the change is made.
+     *
+     * @param expectedVersion The version the writer read, or ANY_VERSION
+     * @return The record's new version
+     * @throws ConflictException if the record has changed since that version was read
+     */
+    public static <T extends Versioned> long compareAndUpdate(T record, long expectedVersion, Update<T> change)
+            throws BayMotorsException {
+        synchronized (record) {
+            long current = record.getVersion();
+            if (expectedVersion != ANY_VERSION && current != expectedVersion) {
+                throw new ConflictException(record.getClass().getSimpleName()
+                        + " was changed by someone else, please reload it and try again",
+                        expectedVersion, current);
+            }
+            change.apply(record);
+            return record.getVersion();
+        }
+    }
 
     // Remove methods (if needed)
     public void removeUser(int id) {
-        users.remove(id);
+        User user = users.remove(id);
+        if (user != null) {
+            usersByEmail.remove(user.getEmail(), user);
+        }
     }
 
     public void removeCustomer(int id) {
-        customers.remove(id);
+        Customer customer = customers.remove(id);
+        if (customer != null && customer.getEmail() != null) {
+            customersByEmail.remove(customer.getEmail(), customer);
+        }
+        customerRows.remove(id);
+        customerSearchIndex.remove(id);
+        segmentIndex.untrack(customer);
+        reminderIndex.untrack(customer);
     }
 
     public void removeVehicle(int id) {
         vehicles.remove(id);
+        vehicleRows.remove(id);
+        vehicleSearchIndex.remove(id);
     }
 
     public void removeTask(int id) {
         tasks.remove(id);
+        taskRows.remove(id);
     }
 
     public void removeManufacturer(int id) {
@@ -316,32 +674,57 @@ public class DataStore {
     }
 
     public void removeSupplier(int id) {
-        suppliers.remove(id);
+        Supplier supplier = suppliers.remove(id);
+        supplierRows.remove(id);
+        supplierSearchIndex.remove(id);
+        sourcingIndex.untrack(supplier);
+        lowStockDetector.untrack(supplier);
+        InventoryLedger ledger = inventoryLedger;
+        if (ledger != null) {
+            ledger.untrack(supplier);
+        }
     }
 
     public void removePart(int id) {
         parts.remove(id);
+        partRows.remove(id);
+        partSearchIndex.remove(id);
     }
 
     // Clear methods (for testing)
     public void clearAll() {
         users.clear();
+        usersByEmail.clear();
         customers.clear();
+        customersByEmail.clear();
         vehicles.clear();
         tasks.clear();
         manufacturers.clear();
         suppliers.clear();
         parts.clear();
+        segmentIndex.clear();
+        reminderIndex.clear();
+        sourcingIndex.clear();
+        lowStockDetector.clear();
+        partSearchIndex.clear();
+        customerRows.clear();
+        vehicleRows.clear();
+        taskRows.clear();
+        partRows.clear();
+        supplierRows.clear();
+        customerSearchIndex.clear();
+        vehicleSearchIndex.clear();
+        supplierSearchIndex.clear();
         resetIds();
     }
 
     private void resetIds() {
-        nextUserId = 1;
-        nextCustomerId = 1;
-        nextVehicleId = 1;
-        nextTaskId = 1;
-        nextManufacturerId = 1;
-        nextSupplierId = 1;
-        nextPartId = 1;
+        nextUserId.set(1);
+        nextCustomerId.set(1);
+        nextVehicleId.set(1);
+        nextTaskId.set(1);
+        nextManufacturerId.set(1);
+        nextSupplierId.set(1);
+        nextPartId.set(1);
     }
 }
@@ -0,0 +1,191 @@
+package com.baymotors.utils;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.exceptions.TaskException;
+import com.baymotors.models.*;
+import com.baymotors.patterns.factory.NotificationFactory;
+import com.baymotors.patterns.factory.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * The garage's day-to-day operations, independent of how they are driven.
+ *
+ * The console menus, the script runner and any other front-end call these
+ * methods, so permission checks and validation live in one place and none
+ * of them print anything.
+ */
+public class GarageService {
+    private final DataStore dataStore;
+
+    public GarageService(DataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    public Task createTask(User actor, int vehicleId, String description, int priority) throws BayMotorsException {
+        Vehicle vehicle = dataStore.getVehicle(vehicleId);
+        if (vehicle == null) {
+            throw BayMotorsException.expected("Vehicle not found: " + vehicleId,
+                    BayMotorsException.ErrorCode.VEHICLE_NOT_FOUND);
+        }
+        return createTask(actor, vehicle, description, priority);
+    }
+
+    public Task createTask(User actor, Vehicle vehicle, String description, int priority) throws BayMotorsException {
+        requirePermission(actor, Permission.TASK_CREATE);
+        if (description == null || description.trim().isEmpty()) {
+            throw BayMotorsException.expected("Invalid task data: description cannot be empty",
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+        if (priority < 1 || priority > 3) {
+            throw BayMotorsException.expected("Invalid task data: priority must be 1, 2 or 3",
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+        Task task = new Task(dataStore.getNextTaskId(), description, priority, vehicle);
+        dataStore.addTask(task);
+        vehicle.addTask(task);
+        return task;
+    }
+
+    public Task allocateTask(User actor, int taskId, int mechanicId) throws BayMotorsException {
+        return allocateTask(actor, taskId, mechanicId, DataStore.ANY_VERSION);
+    }
+
+    /**
+     * @param expectedVersion The task version the caller last saw, or DataStore.ANY_VERSION
+     */
+    public Task allocateTask(User actor, int taskId, int mechanicId, long expectedVersion) throws BayMotorsException {
+        Task task = findTask(taskId);
+        User user = dataStore.getUser(mechanicId);
+        if (!(user instanceof Mechanic)) {
+            throw BayMotorsException.expected("Mechanic not found: " + mechanicId,
+                    BayMotorsException.ErrorCode.MECHANIC_UNAVAILABLE);
+        }
+        allocateTask(actor, task, (Mechanic) user, expectedVersion);
+        return task;
+    }
+
+    public void allocateTask(User actor, Task task, Mechanic mechanic) throws BayMotorsException {
+        allocateTask(actor, task, mechanic, DataStore.ANY_VERSION);
+    }
+
+    /**
+     * Assigns a task to one of the acting manager's team.
+     *
+     * @param expectedVersion The task version the caller last saw, or DataStore.ANY_VERSION
+     * @throws com.baymotors.exceptions.ConflictException if the task has changed since then
+     */
+    public void allocateTask(User actor, Task task, Mechanic mechanic, long expectedVersion) throws BayMotorsException {
+        requirePermission(actor, Permission.TASK_ALLOCATE);
+        if (!(actor instanceof Manager)) {
+            throw AuthException.permissionDenied("Only managers can allocate tasks");
+        }
+        // Checked and changed as one update so two front-ends cannot both allocate it
+        DataStore.compareAndUpdate(task, expectedVersion, t -> {
+            if (t.getAssignedMechanic() != null) {
+                throw BayMotorsException.expected("Failed to allocate task: task is already allocated",
+                        BayMotorsException.ErrorCode.TASK_ERROR);
+            }
+            try {
+                ((Manager) actor).allocateTask(t, mechanic);
+                t.assignMechanic(mechanic);
+            } catch (TaskException e) {
+                throw BayMotorsException.expected("Failed to allocate task: " + e.getMessage(),
+                        BayMotorsException.ErrorCode.TASK_ERROR);
+            }
+        });
+    }
+
+    public Task completeTask(User actor, int taskId) throws BayMotorsException {
+        return completeTask(actor, taskId, DataStore.ANY_VERSION);
+    }
+
+    /**
+     * @param expectedVersion The task version the caller last saw, or DataStore.ANY_VERSION
+     */
+    public Task completeTask(User actor, int taskId, long expectedVersion) throws BayMotorsException {
+        Task task = findTask(taskId);
+        completeTask(actor, task, expectedVersion);
+        return task;
+    }
+
+    public void completeTask(User actor, Task task) throws BayMotorsException {
+        completeTask(actor, task, DataStore.ANY_VERSION);
+    }
+
+    /**
+     * Completes a task and notifies the vehicle's owner. Mechanics may only
+     * complete tasks allocated to them.
+     *
+     * @param expectedVersion The task version the caller last saw, or DataStore.ANY_VERSION
+     * @throws com.baymotors.exceptions.ConflictException if the task has changed since then
+     */
+    public void completeTask(User actor, Task task, long expectedVersion) throws BayMotorsException {
+        requirePermission(actor, Permission.TASK_COMPLETE);
+        DataStore.compareAndUpdate(task, expectedVersion, t -> {
+            if (actor instanceof Mechanic && t.getAssignedMechanic() != actor) {
+                throw BayMotorsException.expected("Failed to complete task: task is not allocated to you",
+                        BayMotorsException.ErrorCode.TASK_ERROR);
+            }
+            if (t.getCompletedDate() != null) {
+                throw BayMotorsException.expected("Failed to complete task: task is already completed",
+                        BayMotorsException.ErrorCode.TASK_ERROR);
+            }
+            try {
+                t.complete();
+            } catch (RuntimeException e) {
+                throw new BayMotorsException("Failed to complete task: " + e.getMessage(),
+                        BayMotorsException.ErrorCode.TASK_ERROR, e);
+            }
+        });
+    }
+
+    /**
+     * @return false if the notification was sent straight away and delivery failed
+     */
+    public boolean notifyCustomer(User actor, int customerId, NotificationType type) throws BayMotorsException {
+        requirePermission(actor, Permission.SEND_NOTIFICATIONS);
+        Customer customer = dataStore.getCustomer(customerId);
+        if (customer == null) {
+            throw BayMotorsException.expected("Customer not found: " + customerId,
+                    BayMotorsException.ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+        return NotificationUtil.dispatch(NotificationFactory.createNotification(type, customer));
+    }
+
+    /**
+     * Queues an offer to go out to the customer at the given time.
+     */
+    public void scheduleOffer(User actor, int customerId, LocalDateTime sendAt) throws BayMotorsException {
+        requirePermission(actor, Permission.SEND_NOTIFICATIONS);
+        Customer customer = dataStore.getCustomer(customerId);
+        if (customer == null) {
+            throw BayMotorsException.expected("Customer not found: " + customerId,
+                    BayMotorsException.ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+        if (sendAt == null || !sendAt.isAfter(LocalDateTime.now())) {
+            throw BayMotorsException.expected("Send time must be in the future",
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+        dataStore.getNotificationScheduler().schedule(NotificationType.OFFER, customer, sendAt);
+    }
+
+    private Task findTask(int taskId) throws BayMotorsException {
+        Task task = dataStore.getTask(taskId);
+        if (task == null) {
+            throw BayMotorsException.expected("Task not found: " + taskId,
+                    BayMotorsException.ErrorCode.TASK_NOT_FOUND);
+        }
+        return task;
+    }
+
+    private static void requirePermission(User actor, Permission permission) throws AuthException {
+        if (actor == null) {
+            throw new AuthException("Not logged in");
+        }
+        if (!actor.hasPermission(permission)) {
+            throw AuthException.permissionDenied("Permission denied: " + permission);
+        }
+    }
+}
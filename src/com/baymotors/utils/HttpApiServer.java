@@ -0,0 +1,407 @@
+package com.baymotors.utils;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.models.Customer;
+import com.baymotors.models.Task;
+import com.baymotors.models.User;
+import com.baymotors.models.Vehicle;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON over HTTP on the JDK's built-in server, one virtual thread per
+ * request. Operations go through GarageService, the same as the console.
+ *
+ *   POST /login                  {"email", "password"} -> {"token"}
+ *   POST /logout
+ *   GET  /customers, /customers/{id}
+ *   GET  /vehicles, /vehicles/{id}
+ *   GET  /tasks, /tasks/{id}
+ *   POST /tasks                  {"vehicleId", "description", "priority"}
+ *   POST /tasks/{id}/allocate    {"mechanicId", "version"}
+ *   POST /tasks/{id}/complete    {"version"}
+ *
+ * Records carry a "version". If a write sends the version it last read
+ * and the record has changed since, the write is refused with 409; a
+ * write without a version always applies.
+ *
+ * Everything except login needs an "Authorization: Bearer &lt;token&gt;"
+ * header; without a valid session the answer is 401, and 403 if the user
+ * lacks the permission. A wrong method gets 405 with an Allow header.
+ * List responses are read from the store a page at a time and streamed
+ * with chunked encoding rather than built in memory.
+ */
+public class HttpApiServer {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int STREAM_BUFFER_CHARS = 8192;
+    // Rows fetched from the store per step while streaming a list
+    private static final int LIST_PAGE_SIZE = 500;
+    /**
+     * JDK server setting that turns off Nagle's algorithm. Headers and body
+     * go out as separate writes; with Nagle's algorithm on, the body waits
+     * for the client's delayed ACK and every request takes ~40 ms. It is
+     * JVM-wide and read once, so the launcher sets it before the first server
+     * is created.
+     */
+    public static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final DataStore dataStore;
+    private final GarageService garage;
+    private final AuthService authService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public HttpApiServer(DataStore dataStore, InetSocketAddress address) throws IOException {
+        this.dataStore = dataStore;
+        this.garage = new GarageService(dataStore);
+        this.authService = dataStore.getAuthService();
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/login", exchange -> dispatch(exchange, this::handleLogin));
+        server.createContext("/logout", exchange -> dispatch(exchange, this::handleLogout));
+        server.createContext("/customers", exchange -> dispatch(exchange, this::handleCustomers));
+        server.createContext("/vehicles", exchange -> dispatch(exchange, this::handleVehicles));
+        server.createContext("/tasks", exchange -> dispatch(exchange, this::handleTasks));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange, String[] path) throws BayMotorsException, IOException;
+    }
+
+    private void dispatch(HttpExchange exchange, Handler handler) {
+        try (exchange) {
+            try {
+                String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+                handler.handle(exchange, path);
+            } catch (BayMotorsException e) {
+                sendError(exchange, statusFor(e.getErrorCode()), e.getMessage());
+            } catch (MethodNotAllowedException e) {
+                exchange.getResponseHeaders().set("Allow", e.allowed);
+                sendError(exchange, 405, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, "Unexpected error: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            // Client went away; nothing left to tell it
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange, String[] path) throws BayMotorsException, IOException {
+        requireMethod(exchange, "POST");
+        Map<String, String> body = readBody(exchange);
+        String source = exchange.getRemoteAddress().getAddress().getHostAddress();
+        String token = authService.login(body.get("email"), body.get("password"), source);
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).beginObject().name("token").value(token).endObject();
+        send(exchange, 200, out.toString());
+    }
+
+    private void handleLogout(HttpExchange exchange, String[] path) throws BayMotorsException, IOException {
+        requireMethod(exchange, "POST");
+        authService.logout(bearerToken(exchange));
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void handleCustomers(HttpExchange exchange, String[] path) throws BayMotorsException, IOException {
+        authenticate(exchange);
+        requireMethod(exchange, "GET");
+        if (path.length == 1) {
+            streamList(exchange, dataStore::getCustomers, HttpApiServer::writeCustomer);
+            return;
+        }
+        Customer customer = dataStore.getCustomer(parseId(path[1]));
+        if (customer == null) {
+            throw BayMotorsException.expected("Customer not found", BayMotorsException.ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+        sendOne(exchange, 200, customer, HttpApiServer::writeCustomer);
+    }
+
+    private void handleVehicles(HttpExchange exchange, String[] path) throws BayMotorsException, IOException {
+        authenticate(exchange);
+        requireMethod(exchange, "GET");
+        if (path.length == 1) {
+            streamList(exchange, dataStore::getVehicles, HttpApiServer::writeVehicle);
+            return;
+        }
+        Vehicle vehicle = dataStore.getVehicle(parseId(path[1]));
+        if (vehicle == null) {
+            throw BayMotorsException.expected("Vehicle not found", BayMotorsException.ErrorCode.VEHICLE_NOT_FOUND);
+        }
+        sendOne(exchange, 200, vehicle, HttpApiServer::writeVehicle);
+    }
+
+    private void handleTasks(HttpExchange exchange, String[] path) throws BayMotorsException, IOException {
+        User user = authenticate(exchange);
+        String method = exchange.getRequestMethod();
+        if (path.length == 1) {
+            requireMethod(exchange, "GET", "POST");
+            if (method.equals("GET")) {
+                streamList(exchange, dataStore::getTasks, HttpApiServer::writeTask);
+                return;
+            }
+            Map<String, String> body = readBody(exchange);
+            Task task = garage.createTask(user, parseId(body.get("vehicleId")),
+                    body.get("description"), parseInt(body.get("priority"), "priority"));
+            sendOne(exchange, 201, task, HttpApiServer::writeTask);
+            return;
+        }
+        int taskId = parseId(path[1]);
+        if (path.length == 2) {
+            requireMethod(exchange, "GET");
+            Task task = dataStore.getTask(taskId);
+            if (task == null) {
+                sendError(exchange, 404, "Task not found");
+                return;
+            }
+            sendOne(exchange, 200, task, HttpApiServer::writeTask);
+            return;
+        }
+        requireMethod(exchange, "POST");
+        Task task;
+        switch (path[2]) {
+            case "allocate":
+                Map<String, String> body = readBody(exchange);
+                task = garage.allocateTask(user, taskId, parseInt(body.get("mechanicId"), "mechanicId"),
+                        parseVersion(body.get("version")));
+                break;
+            case "complete":
+                task = garage.completeTask(user, taskId, parseVersion(readBody(exchange).get("version")));
+                break;
+            default:
+                sendError(exchange, 404, "Unknown action: " + path[2]);
+                return;
+        }
+        sendOne(exchange, 200, task, HttpApiServer::writeTask);
+    }
+
+    // ===== JSON representations =====
+
+    private interface PageSource<T> {
+        List<T> page(int offset, int limit);
+    }
+
+    private interface Renderer<T> {
+        void write(JsonWriter json, T item) throws IOException;
+    }
+
+    private static void writeCustomer(JsonWriter json, Customer customer) throws IOException {
+        json.beginObject()
+                .name("id").value(customer.getId())
+                .name("name").value(customer.getName())
+                .name("email").value(customer.getEmail())
+                .name("phone").value(customer.getPhone())
+                .name("registered").value(customer.isRegistered())
+                .name("version").value(customer.getVersion())
+                .name("vehicleIds").beginArray();
+        for (Vehicle vehicle : customer.getVehicles()) {
+            json.value(vehicle.getId());
+        }
+        json.endArray().endObject();
+    }
+
+    private static void writeVehicle(JsonWriter json, Vehicle vehicle) throws IOException {
+        json.beginObject()
+                .name("id").value(vehicle.getId())
+                .name("registration").value(vehicle.getRegistration())
+                .name("make").value(vehicle.getManufacturer() != null ? vehicle.getManufacturer().getName() : null)
+                .name("model").value(vehicle.getModel())
+                .name("year").value(vehicle.getYear())
+                .name("version").value(vehicle.getVersion())
+                .name("ownerId");
+        if (vehicle.getOwner() != null) {
+            json.value(vehicle.getOwner().getId());
+        } else {
+            json.nullValue();
+        }
+        json.endObject();
+    }
+
+    private static void writeTask(JsonWriter json, Task task) throws IOException {
+        json.beginObject()
+                .name("id").value(task.getId())
+                .name("description").value(task.getDescription())
+                .name("priority").value(task.getPriority())
+                .name("status").value(task.getState().getStatus())
+                .name("version").value(task.getVersion())
+                .name("vehicleId");
+        if (task.getVehicle() != null) {
+            json.value(task.getVehicle().getId());
+        } else {
+            json.nullValue();
+        }
+        json.name("mechanicId");
+        if (task.getAssignedMechanic() != null) {
+            json.value(task.getAssignedMechanic().getId());
+        } else {
+            json.nullValue();
+        }
+        json.name("created").value(String.valueOf(task.getCreatedDate()))
+                .name("completed").value(task.getCompletedDate() != null ? task.getCompletedDate().toString() : null)
+                .endObject();
+    }
+
+    // ===== Request and response helpers =====
+
+    private User authenticate(HttpExchange exchange) throws AuthException {
+        return authService.authenticate(bearerToken(exchange));
+    }
+
+    private static String bearerToken(HttpExchange exchange) throws AuthException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new AuthException("Missing bearer token");
+        }
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    /**
+     * Thrown by requireMethod and answered with 405 and an Allow header.
+     */
+    private static class MethodNotAllowedException extends RuntimeException {
+        private final String allowed;
+
+        MethodNotAllowedException(String method, String allowed) {
+            super("Method not allowed: " + method, null, false, false);
+            this.allowed = allowed;
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String... methods) {
+        String method = exchange.getRequestMethod();
+        for (String allowed : methods) {
+            if (allowed.equals(method)) {
+                return;
+            }
+        }
+        throw new MethodNotAllowedException(method, String.join(", ", methods));
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return body.isBlank() ? Collections.emptyMap() : JsonWriter.parseObject(body);
+        }
+    }
+
+    private static int parseId(String value) {
+        return parseInt(value, "id");
+    }
+
+    private static int parseInt(String value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static long parseVersion(String value) {
+        if (value == null) {
+            return DataStore.ANY_VERSION;
+        }
+        try {
+            long version = Long.parseLong(value);
+            if (version < 0) {
+                throw new IllegalArgumentException("Invalid version: " + value);
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid version: " + value);
+        }
+    }
+
+    private static <T> void sendOne(HttpExchange exchange, int status, T item, Renderer<T> renderer) throws IOException {
+        StringWriter out = new StringWriter();
+        renderer.write(new JsonWriter(out), item);
+        send(exchange, status, out.toString());
+    }
+
+    // Chunked, so the rows go out as the buffer fills instead of all at the end.
+    // Pages are read in ID order until one comes back empty; a short page is
+    // not the end, since a row deleted mid-read leaves a gap.
+    private static <T> void streamList(HttpExchange exchange, PageSource<T> source, Renderer<T> renderer) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        Writer out = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), STREAM_BUFFER_CHARS);
+        JsonWriter json = new JsonWriter(out);
+        json.beginArray();
+        List<T> page;
+        for (int offset = 0; !(page = source.page(offset, LIST_PAGE_SIZE)).isEmpty(); offset += LIST_PAGE_SIZE) {
+            for (T item : page) {
+                renderer.write(json, item);
+            }
+        }
+        json.endArray();
+        out.flush();
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).beginObject().name("error").value(message).endObject();
+        send(exchange, status, out.toString());
+    }
+
+    static int statusFor(BayMotorsException.ErrorCode code) {
+        switch (code) {
+            case INVALID_INPUT:
+                return 400;
+            case UNAUTHORIZED_ACCESS:
+                return 401;
+            case PERMISSION_DENIED:
+                return 403;
+            case CUSTOMER_NOT_FOUND:
+            case VEHICLE_NOT_FOUND:
+            case TASK_NOT_FOUND:
+                return 404;
+            case MECHANIC_UNAVAILABLE:
+            case TASK_ERROR:
+            case CONFLICT:
+                return 409;
+            default:
+                return 500;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.StockMovement;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.observer.InventoryListener;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Append-only record of every stock movement, for auditing and for finding
+ * what a supplier held at any past time.
+ *
+ * Each movement is one fixed-size 25-byte record (time, supplier ID, part,
+ * movement type, old and new quantity). Records are collected in memory
+ * and written to the file in batches. Every checkpointInterval records the
+ * ledger takes a snapshot of all stock levels. A point-in-time query starts
+ * from the last snapshot before that time and replays at most one
+ * interval of records. Part codes are written once to a companion
+ * ".codes" file, so records can store a small number in place of the code.
+ *
+ * Snapshots are kept in memory. When an existing ledger is opened they are
+ * rebuilt with one sequential read of the file.
+ *
+ * Recording a movement never fails the stock change that caused it. If a
+ * batch cannot be written, its records stay in memory and are written by
+ * the next flush; the failure is counted and kept for getLastWriteFailure.
+ */
+public class InventoryLedger implements InventoryListener, Closeable {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 50_000;
+    static final int RECORD_SIZE = 25;
+    private static final int BATCH_RECORDS = 1024;
+    private static final StockMovement[] MOVEMENTS = StockMovement.values();
+
+    private final FileChannel records;
+    private final DataOutputStream codesOut;
+    private final int checkpointInterval;
+    private final LongSupplier clock;
+    private ByteBuffer batch;   // Grows past one batch only while writes are failing
+    private final ByteBuffer readBuffer;
+    private final Map<String, Integer> codeIds;
+    private final List<String> codes;
+    private int codesWritten;
+    private final Map<Long, Integer> levels; // supplier ID << 32 | code ID -> quantity
+    private final List<Checkpoint> checkpoints;
+    private long recordCount;   // Including records still in the batch
+    private long flushedCount;
+    private long lastTime;
+    private long writeFailures;
+    private IOException lastWriteFailure;
+    private boolean writesFailing; // Reported once when writes start failing and once when they recover
+
+    public InventoryLedger(Path file) throws IOException {
+        this(file, DEFAULT_CHECKPOINT_INTERVAL, System::currentTimeMillis);
+    }
+
+    public InventoryLedger(Path file, int checkpointInterval, LongSupplier clock) throws IOException {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.clock = clock;
+        this.batch = ByteBuffer.allocate(BATCH_RECORDS * RECORD_SIZE);
+        this.readBuffer = ByteBuffer.allocate(BATCH_RECORDS * RECORD_SIZE);
+        this.codeIds = new HashMap<>();
+        this.codes = new ArrayList<>();
+        this.levels = new HashMap<>();
+        this.checkpoints = new ArrayList<>();
+        this.checkpoints.add(new Checkpoint(0, Long.MIN_VALUE, new long[0], new int[0]));
+        this.lastTime = Long.MIN_VALUE;
+
+        Path codesFile = codesFileFor(file);
+        if (Files.exists(codesFile)) {
+            loadCodes(codesFile);
+        }
+        this.codesWritten = codes.size();
+        this.codesOut = new DataOutputStream(Files.newOutputStream(codesFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        this.records = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replayExisting();
+    }
+
+    /**
+     * Starts recording the supplier's stock movements.
+     */
+    public void track(Supplier supplier) {
+        if (supplier != null) {
+            supplier.addInventoryListener(this);
+        }
+    }
+
+    public void untrack(Supplier supplier) {
+        if (supplier != null) {
+            supplier.removeInventoryListener(this);
+        }
+    }
+
+    @Override
+    public void onStockChanged(Supplier supplier, String partCode, StockMovement movement,
+                               int oldQuantity, int newQuantity) {
+        // The stock has already changed, so a write failure must not reach the supplier
+        try {
+            append(supplier.getId(), partCode, movement, oldQuantity, newQuantity);
+        } catch (IOException e) {
+            boolean firstFailure;
+            synchronized (this) {
+                writeFailures++;
+                lastWriteFailure = e;
+                firstFailure = !writesFailing;
+                writesFailing = true;
+            }
+            if (firstFailure) {
+                System.err.println("Could not write to inventory ledger, keeping records in memory: "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records a movement. The record is kept even if writing the batch
+     * fails, and is written by a later flush.
+     *
+     * @throws IOException if the batch was full and could not be written
+     */
+    public synchronized void append(int supplierId, String partCode, StockMovement movement,
+                                    int oldQuantity, int newQuantity) throws IOException {
+        long time = Math.max(clock.getAsLong(), lastTime); // Keep the file sorted by time
+        lastTime = time;
+        int codeId = codeIdFor(partCode);
+        if (!batch.hasRemaining()) {
+            // The last flush failed; keep everything and retry once this larger batch fills
+            batch = ByteBuffer.allocate(batch.capacity() * 2).put(batch.flip());
+        }
+        batch.putLong(time)
+                .putInt(supplierId)
+                .putInt(codeId)
+                .put((byte) movement.ordinal())
+                .putInt(oldQuantity)
+                .putInt(newQuantity);
+        applyRecord(supplierId, codeId, newQuantity, time);
+        if (!batch.hasRemaining()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any batched records to disk. If this fails the records are
+     * kept, and calling it again writes them to the same place.
+     */
+    public synchronized void flush() throws IOException {
+        if (batch.position() == 0) {
+            return;
+        }
+        // Codes must reach disk before the records that use them
+        while (codesWritten < codes.size()) {
+            codesOut.writeUTF(codes.get(codesWritten));
+            codesWritten++;
+        }
+        codesOut.flush();
+        ByteBuffer pending = batch.duplicate().flip();
+        while (pending.hasRemaining()) {
+            records.write(pending, flushedCount * RECORD_SIZE + pending.position());
+        }
+        flushedCount = recordCount;
+        if (writesFailing) {
+            writesFailing = false;
+            System.err.println("Inventory ledger writes recovered after " + writeFailures + " failures");
+        }
+        if (batch.capacity() > BATCH_RECORDS * RECORD_SIZE) {
+            batch = ByteBuffer.allocate(BATCH_RECORDS * RECORD_SIZE);
+        } else {
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return The supplier's stock of the part at the given time, or -1 if
+     *         the ledger has no record of it at that time
+     */
+    public synchronized int quantityAt(int supplierId, String partCode, long timeMillis) throws IOException {
+        Integer codeId = codeIds.get(partCode);
+        if (codeId == null) {
+            return -1;
+        }
+        flush();
+        long key = key(supplierId, codeId);
+        Checkpoint checkpoint = checkpointAt(timeMillis);
+        int quantity = checkpoint.get(key);
+
+        long end = Math.min(checkpoint.recordIndex + checkpointInterval, recordCount);
+        long from = checkpoint.recordIndex;
+        while (from < end) {
+            int count = readRecords(from, end);
+            for (int i = 0; i < count; i++) {
+                int base = i * RECORD_SIZE;
+                if (readBuffer.getLong(base) > timeMillis) {
+                    return quantity;
+                }
+                if (readBuffer.getInt(base + 8) == supplierId && readBuffer.getInt(base + 12) == codeId) {
+                    quantity = readBuffer.getInt(base + 21);
+                }
+            }
+            from += count;
+        }
+        return quantity;
+    }
+
+    /**
+     * @return Every movement of the part at the supplier between the two times, inclusive, oldest first
+     */
+    public synchronized List<Entry> movements(int supplierId, String partCode,
+                                              long fromMillis, long toMillis) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Integer codeId = codeIds.get(partCode);
+        if (codeId == null) {
+            return entries;
+        }
+        flush();
+        long index = firstRecordAtOrAfter(fromMillis);
+        while (index < recordCount) {
+            int count = readRecords(index, recordCount);
+            for (int i = 0; i < count; i++) {
+                int base = i * RECORD_SIZE;
+                long time = readBuffer.getLong(base);
+                if (time > toMillis) {
+                    return entries;
+                }
+                if (readBuffer.getInt(base + 8) == supplierId && readBuffer.getInt(base + 12) == codeId) {
+                    entries.add(new Entry(time, MOVEMENTS[readBuffer.get(base + 16)],
+                            readBuffer.getInt(base + 17), readBuffer.getInt(base + 21)));
+                }
+            }
+            index += count;
+        }
+        return entries;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized int getCheckpointCount() {
+        return checkpoints.size() - 1;
+    }
+
+    /**
+     * @return How many stock changes could not be written when they happened
+     */
+    public synchronized long getWriteFailureCount() {
+        return writeFailures;
+    }
+
+    public synchronized IOException getLastWriteFailure() {
+        return lastWriteFailure;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        codesOut.close();
+        records.close();
+    }
+
+    // ===== Internal helpers =====
+
+    private void applyRecord(int supplierId, int codeId, int newQuantity, long time) {
+        levels.put(key(supplierId, codeId), newQuantity);
+        recordCount++;
+        if (recordCount % checkpointInterval == 0) {
+            long[] keys = new long[levels.size()];
+            int i = 0;
+            for (Long key : levels.keySet()) {
+                keys[i++] = key;
+            }
+            Arrays.sort(keys);
+            int[] quantities = new int[keys.length];
+            for (i = 0; i < keys.length; i++) {
+                quantities[i] = levels.get(keys[i]);
+            }
+            checkpoints.add(new Checkpoint(recordCount, time, keys, quantities));
+        }
+    }
+
+    // New codes are written by the next flush, ahead of the records that use them
+    private int codeIdFor(String partCode) {
+        Integer id = codeIds.get(partCode);
+        if (id != null) {
+            return id;
+        }
+        id = codes.size();
+        codes.add(partCode);
+        codeIds.put(partCode, id);
+        return id;
+    }
+
+    // Latest checkpoint taken at or before the given time
+    private Checkpoint checkpointAt(long timeMillis) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpoints.get(mid).time <= timeMillis) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return checkpoints.get(low);
+    }
+
+    private long firstRecordAtOrAfter(long timeMillis) throws IOException {
+        long low = timeMillis == Long.MIN_VALUE ? 0 : checkpointAt(timeMillis - 1).recordIndex;
+        long high = recordCount;
+        ByteBuffer time = ByteBuffer.allocate(Long.BYTES);
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            time.clear();
+            readFully(time, mid * RECORD_SIZE);
+            if (time.getLong(0) < timeMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Reads up to one buffer of records starting at index into readBuffer
+    private int readRecords(long index, long end) throws IOException {
+        int count = (int) Math.min(end - index, BATCH_RECORDS);
+        readBuffer.clear().limit(count * RECORD_SIZE);
+        readFully(readBuffer, index * RECORD_SIZE);
+        return count;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (records.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Inventory ledger is truncated");
+            }
+        }
+    }
+
+    private void replayExisting() throws IOException {
+        long complete = records.size() / RECORD_SIZE;
+        records.truncate(complete * RECORD_SIZE); // Drop a record torn by a crash mid-write
+        for (long index = 0; index < complete; ) {
+            int count = readRecords(index, complete);
+            for (int i = 0; i < count; i++) {
+                int base = i * RECORD_SIZE;
+                long time = readBuffer.getLong(base);
+                lastTime = Math.max(lastTime, time);
+                applyRecord(readBuffer.getInt(base + 8), readBuffer.getInt(base + 12),
+                        readBuffer.getInt(base + 21), time);
+            }
+            index += count;
+        }
+        flushedCount = recordCount;
+    }
+
+    private void loadCodes(Path codesFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(codesFile)))) {
+            while (in.available() > 0) {
+                String code = in.readUTF();
+                codeIds.put(code, codes.size());
+                codes.add(code);
+            }
+        }
+    }
+
+    private static Path codesFileFor(Path file) {
+        Path name = file.getFileName();
+        Path parent = file.toAbsolutePath().getParent();
+        return parent == null ? Paths.get(name + ".codes") : parent.resolve(name + ".codes");
+    }
+
+    private static long key(int supplierId, int codeId) {
+        return ((long) supplierId << 32) | (codeId & 0xFFFFFFFFL);
+    }
+
+    private static final class Checkpoint {
+        private final long recordIndex; // Records before this index are included
+        private final long time;
+        private final long[] keys;      // Sorted
+        private final int[] quantities;
+
+        Checkpoint(long recordIndex, long time, long[] keys, int[] quantities) {
+            this.recordIndex = recordIndex;
+            this.time = time;
+            this.keys = keys;
+            this.quantities = quantities;
+        }
+
+        int get(long key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? quantities[i] : -1;
+        }
+    }
+
+    public static final class Entry {
+        private final long timeMillis;
+        private final StockMovement movement;
+        private final int oldQuantity;
+        private final int newQuantity;
+
+        Entry(long timeMillis, StockMovement movement, int oldQuantity, int newQuantity) {
+            this.timeMillis = timeMillis;
+            this.movement = movement;
+            this.oldQuantity = oldQuantity;
+            this.newQuantity = newQuantity;
+        }
+
+        public long getTimeMillis() { return timeMillis; }
+        public StockMovement getMovement() { return movement; }
+        public int getOldQuantity() { return oldQuantity; }
+        public int getNewQuantity() { return newQuantity; }
+    }
+}
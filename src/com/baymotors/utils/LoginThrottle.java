@@ -0,0 +1,106 @@
+package com.baymotors.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits failed login attempts per key (an email or a source) over a
+ * sliding window.
+ *
+ * Each key keeps only the failure counts of the current and previous
+ * fixed windows; the sliding count is the current count plus the previous
+ * one weighted by how much of it still overlaps the window. That is a few
+ * fields per key however many attempts are made.
+ */
+public class LoginThrottle {
+    private final int maxFailures;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Map<String, Window> windows;
+    private volatile long lastPurgeMillis;
+
+    public LoginThrottle(int maxFailures, long windowMillis) {
+        this(maxFailures, windowMillis, System::currentTimeMillis);
+    }
+
+    public LoginThrottle(int maxFailures, long windowMillis, LongSupplier clock) {
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("Failure limit must be positive");
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.maxFailures = maxFailures;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        this.windows = new ConcurrentHashMap<>();
+        this.lastPurgeMillis = clock.getAsLong();
+    }
+
+    public boolean isBlocked(String key) {
+        Window window = windows.get(key);
+        return window != null && window.estimate(clock.getAsLong()) >= maxFailures;
+    }
+
+    public void recordFailure(String key) {
+        long now = clock.getAsLong();
+        windows.computeIfAbsent(key, k -> new Window()).record(now);
+        if (now - lastPurgeMillis >= windowMillis) {
+            purgeIdle();
+        }
+    }
+
+    public void reset(String key) {
+        windows.remove(key);
+    }
+
+    /**
+     * Drops keys with no failures in the last two windows, since their
+     * sliding count can only be zero.
+     *
+     * @return Number of keys dropped
+     */
+    public int purgeIdle() {
+        long now = clock.getAsLong();
+        lastPurgeMillis = now;
+        int before = windows.size();
+        windows.values().removeIf(window -> window.isIdle(now));
+        return before - windows.size();
+    }
+
+    public int getTrackedKeyCount() {
+        return windows.size();
+    }
+
+    private final class Window {
+        private long start = Long.MIN_VALUE;
+        private int current;
+        private int previous;
+
+        synchronized void record(long now) {
+            roll(now);
+            current++;
+        }
+
+        synchronized double estimate(long now) {
+            roll(now);
+            double overlap = 1.0 - (double) (now - start) / windowMillis;
+            return current + previous * overlap;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return start == Long.MIN_VALUE || now - start >= 2 * windowMillis;
+        }
+
+        private void roll(long now) {
+            long windowStart = now - Math.floorMod(now, windowMillis);
+            if (windowStart == start) {
+                return;
+            }
+            previous = start != Long.MIN_VALUE && windowStart - start == windowMillis ? current : 0;
+            current = 0;
+            start = windowStart;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.adapter.OrderLine;
+import com.baymotors.patterns.observer.InventoryListener;
+import com.baymotors.patterns.observer.StockLowListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Watches stock levels against per-part reorder points.
+ *
+ * Each stock change is checked as it happens, so there is no periodic
+ * sweep of the inventory and parts without a reorder point cost one map
+ * lookup. When a supplier's stock of a part drops to its reorder point the
+ * part is added to that supplier's reorder proposal and listeners are told
+ * once; it leaves the proposal when stock rises above the point again.
+ */
+public class LowStockDetector implements InventoryListener {
+    private final Map<String, ReorderRule> rules;
+    private final Map<Integer, Supplier> tracked;
+    private final Map<Integer, LinkedHashMap<String, Integer>> lowParts; // supplier ID -> code -> reorder quantity
+    private final List<StockLowListener> listeners;
+
+    public LowStockDetector() {
+        this.rules = new ConcurrentHashMap<>();
+        this.tracked = new ConcurrentHashMap<>();
+        this.lowParts = new LinkedHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(StockLowListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(StockLowListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void track(Supplier supplier) {
+        if (supplier == null) {
+            return;
+        }
+        tracked.put(supplier.getId(), supplier);
+        supplier.addInventoryListener(this);
+        for (Part part : supplier.getSuppliedParts()) {
+            check(supplier, part.getCode());
+        }
+    }
+
+    public void untrack(Supplier supplier) {
+        if (supplier == null) {
+            return;
+        }
+        supplier.removeInventoryListener(this);
+        tracked.remove(supplier.getId());
+        synchronized (this) {
+            lowParts.remove(supplier.getId());
+        }
+    }
+
+    public synchronized void clear() {
+        tracked.clear();
+        lowParts.clear();
+    }
+
+    /**
+     * Sets the level at or below which a part should be reordered, and how
+     * many to reorder. Suppliers already below the new point are flagged at once.
+     */
+    public void setReorderPoint(String partCode, int reorderPoint, int reorderQuantity) {
+        if (partCode == null || partCode.isEmpty()) {
+            throw new IllegalArgumentException("Part code cannot be empty");
+        }
+        if (reorderPoint < 0) {
+            throw new IllegalArgumentException("Reorder point cannot be negative");
+        }
+        if (reorderQuantity <= 0) {
+            throw new IllegalArgumentException("Reorder quantity must be positive");
+        }
+        rules.put(partCode, new ReorderRule(reorderPoint, reorderQuantity));
+        recheck(partCode);
+    }
+
+    public synchronized void removeReorderPoint(String partCode) {
+        rules.remove(partCode);
+        lowParts.values().removeIf(flagged -> flagged.remove(partCode) != null && flagged.isEmpty());
+    }
+
+    @Override
+    public void onPartAdded(Supplier supplier, Part part) {
+        check(supplier, part.getCode());
+    }
+
+    @Override
+    public void onStockChanged(Supplier supplier, String partCode, int oldQuantity, int newQuantity) {
+        check(supplier, partCode);
+    }
+
+    /**
+     * @return One proposal per supplier with at least one part at or below its reorder point
+     */
+    public synchronized List<ReorderProposal> getReorderProposals() {
+        List<ReorderProposal> proposals = new ArrayList<>(lowParts.size());
+        for (Map.Entry<Integer, LinkedHashMap<String, Integer>> entry : lowParts.entrySet()) {
+            Supplier supplier = tracked.get(entry.getKey());
+            if (supplier == null) {
+                continue;
+            }
+            List<OrderLine> lines = new ArrayList<>(entry.getValue().size());
+            for (Map.Entry<String, Integer> line : entry.getValue().entrySet()) {
+                lines.add(new OrderLine(line.getKey(), line.getValue()));
+            }
+            proposals.add(new ReorderProposal(supplier, lines));
+        }
+        return proposals;
+    }
+
+    public synchronized boolean isLow(Supplier supplier, String partCode) {
+        Map<String, Integer> low = lowParts.get(supplier.getId());
+        return low != null && low.containsKey(partCode);
+    }
+
+    private void recheck(String partCode) {
+        for (Supplier supplier : tracked.values()) {
+            if (supplier.hasPart(partCode)) {
+                check(supplier, partCode);
+            }
+        }
+    }
+
+    // Compares the live stock level with the point instead of trusting the
+    // event's values, so events arriving out of order still settle correctly
+    private void check(Supplier supplier, String partCode) {
+        if (!rules.containsKey(partCode)) {
+            return;
+        }
+        ReorderRule rule;
+        int quantity;
+        boolean becameLow;
+        synchronized (this) {
+            rule = rules.get(partCode);
+            quantity = supplier.getPartQuantity(partCode);
+            boolean low = rule != null && supplier.hasPart(partCode) && quantity <= rule.reorderPoint;
+            LinkedHashMap<String, Integer> flagged = lowParts.get(supplier.getId());
+            boolean wasLow = flagged != null && flagged.containsKey(partCode);
+            becameLow = low && !wasLow;
+            if (becameLow) {
+                lowParts.computeIfAbsent(supplier.getId(), k -> new LinkedHashMap<>())
+                        .put(partCode, rule.reorderQuantity);
+            } else if (low) {
+                flagged.put(partCode, rule.reorderQuantity);
+            } else if (wasLow) {
+                flagged.remove(partCode);
+                if (flagged.isEmpty()) {
+                    lowParts.remove(supplier.getId());
+                }
+            }
+        }
+        if (becameLow) {
+            for (StockLowListener listener : listeners) {
+                listener.onStockLow(supplier, partCode, quantity, rule.reorderPoint);
+            }
+        }
+    }
+
+    private static final class ReorderRule {
+        private final int reorderPoint;
+        private final int reorderQuantity;
+
+        ReorderRule(int reorderPoint, int reorderQuantity) {
+            this.reorderPoint = reorderPoint;
+            this.reorderQuantity = reorderQuantity;
+        }
+    }
+
+    public static final class ReorderProposal {
+        private final Supplier supplier;
+        private final List<OrderLine> lines;
+
+        ReorderProposal(Supplier supplier, List<OrderLine> lines) {
+            this.supplier = supplier;
+            this.lines = Collections.unmodifiableList(lines);
+        }
+
+        public Supplier getSupplier() { return supplier; }
+        public List<OrderLine> getLines() { return lines; }
+    }
+}
@@ -1,37 +1,92 @@
 package com.baymotors.utils;
 
 import com.baymotors.exceptions.BayMotorsException;
-import com.baymotors.exceptions.TaskException;
 import com.baymotors.models.*;
+import com.baymotors.patterns.adapter.OrderLine;
 import com.baymotors.patterns.factory.NotificationFactory;
 import com.baymotors.patterns.factory.NotificationType;
+import com.baymotors.patterns.observer.StockLowListener;
 import com.baymotors.patterns.state.WaitingState;
 
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Queue;
 import java.util.Scanner;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 public class MenuSystem {
+    private static final int REMINDER_BATCH_SIZE = 500;
+    private static final long RESERVATION_TTL_MILLIS = 48L * 60 * 60 * 1000;
+    private static final int PART_SEARCH_LIMIT = 10;
+    private static final int LIST_PAGE_SIZE = 20;
+    private static final int DETAIL_PAGE_SIZE = 5;
+    private static final int TYPE_AHEAD_LIMIT = 10;
+    private static final DateTimeFormatter SEND_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     // Core system components
     private Scanner scanner;
+    private PrintStream out;
+    private String source;
+    private boolean running;
     private User currentUser;
+    private String sessionToken;
     private DataStore dataStore;
+    private GarageService garage;
+    // Raised on whichever thread changed the stock, shown at the next manager menu
+    private final Queue<String> stockAlerts = new ConcurrentLinkedQueue<>();
+    private final StockLowListener stockAlertListener = (supplier, partCode, quantity, reorderPoint) ->
+            stockAlerts.add("Low stock: " + partCode + " at " + supplier.getName() + " is down to " + quantity
+                    + " (reorder point " + reorderPoint + "). See Manage Parts/Suppliers > View Reorder Proposals.");
 
     /**
      * Constructor initializes the menu system with required components
      */
     public MenuSystem() {
-        this.scanner = new Scanner(System.in);
-        this.dataStore = DataStore.getInstance();
+        this(System.in, System.out, "console");
+    }
+
+    /**
+     * Creates a session reading from its own input and writing to its own
+     * output, e.g. one network connection
+     *
+     * @param source Where logins come from, used by the login throttle
+     */
+    public MenuSystem(InputStream in, PrintStream out, String source) {
+        this(DataStore.getInstance(), in, out, source);
+    }
+
+    /**
+     * Creates a session on the given store, e.g. one branch's
+     */
+    public MenuSystem(DataStore dataStore, InputStream in, PrintStream out, String source) {
+        this.scanner = new Scanner(in, StandardCharsets.UTF_8);
+        this.out = out;
+        this.source = source;
+        this.dataStore = dataStore;
+        this.garage = new GarageService(dataStore);
     }
 
     /**
      * Main entry point for the menu system
-     * Handles the main program loop and user role-based menu display
+     * Handles the main program loop and user role-based menu display.
+     * Returns when the user chooses Exit or the input ends.
      */
     public void start() {
-        while (true) {
+        running = true;
+        while (running) {
             try {
+                if (currentUser != null && dataStore.getAuthService().getSessions().validate(sessionToken) == null) {
+                    out.println("Session expired, please log in again");
+                    currentUser = null;
+                    sessionToken = null;
+                }
                 if (currentUser == null) {
                     showLoginMenu();
                 } else if (currentUser instanceof Manager) {
@@ -40,13 +95,21 @@ public class MenuSystem {
                     showMechanicMenu();
                 }
             } catch (BayMotorsException e) {
-                System.out.println("Error: " + e.getMessage());
-                System.out.println("Error Code: " + e.getErrorCode());
+                out.println("Error: " + e.getMessage());
+                out.println("Error Code: " + e.getErrorCode());
+            } catch (EndOfInput e) {
+                running = false;
             } catch (Exception e) {
-                System.out.println("Unexpected error: " + e.getMessage());
-                e.printStackTrace();
+                out.println("Unexpected error: " + e.getMessage());
+                e.printStackTrace(out);
             }
         }
+        if (sessionToken != null) {
+            dataStore.getAuthService().logout(sessionToken);
+            sessionToken = null;
+            currentUser = null;
+        }
+        out.flush();
     }
 
     // ===== Authentication and Login Methods =====
@@ -55,9 +118,9 @@ public class MenuSystem {
      * Displays the initial login menu and handles user authentication
      */
     private void showLoginMenu() throws BayMotorsException {
-        System.out.println("\n=== Login Menu ===");
-        System.out.println("1. Login");
-        System.out.println("2. Exit");
+        out.println("\n=== Login Menu ===");
+        out.println("1. Login");
+        out.println("2. Exit");
 
         int choice = getIntInput("Choose option: ");
 
@@ -66,11 +129,11 @@ public class MenuSystem {
                 handleLogin();
                 break;
             case 2:
-                System.out.println("Thank you for using Bay Motors System!");
-                System.exit(0);
+                out.println("Thank you for using Bay Motors System!");
+                running = false;
                 break;
             default:
-                System.out.println("Invalid option");
+                out.println("Invalid option");
         }
     }
 
@@ -81,32 +144,150 @@ public class MenuSystem {
         String email = getStringInput("Enter email: ");
         String password = getStringInput("Enter password: ");
 
-        User user = dataStore.getUserByEmail(email);
-        if (user != null && user.authenticate(password)) {
-            currentUser = user;
-            System.out.println("Welcome, " + user.getName() + "!");
-        } else {
-            throw new BayMotorsException("Invalid credentials",
-                    BayMotorsException.ErrorCode.UNAUTHORIZED_ACCESS);
-        }
+        AuthService authService = dataStore.getAuthService();
+        sessionToken = authService.login(email, password, source);
+        currentUser = authService.authenticate(sessionToken);
+        out.println("Welcome, " + currentUser.getName() + "!");
     }
 
     /**
      * Handles user logout by clearing the current user session
      */
     private void handleLogout() {
+        dataStore.getAuthService().logout(sessionToken);
+        sessionToken = null;
         currentUser = null;
-        System.out.println("Logged out successfully!");
+        out.println("Logged out successfully!");
     }
 
     // ===== Utility Methods for Input Handling =====
 
+    /**
+     * Shows the prompt, flushing everything printed since the last one, and
+     * reads the reply. Ends the session if the input has closed.
+     */
+    private String readLine(String prompt) {
+        out.print(prompt);
+        out.flush();
+        if (!scanner.hasNextLine()) {
+            throw new EndOfInput();
+        }
+        return scanner.nextLine().trim();
+    }
+
+    // Thrown out of any prompt when the input closes, to unwind to start()
+    private static final class EndOfInput extends RuntimeException {
+        EndOfInput() {
+            super(null, null, false, false);
+        }
+    }
+
+    // ===== Paged List Helpers =====
+
+    /**
+     * Shows a paged list and lets the user pick a row by its number,
+     * moving between pages with n, p or g followed by a page number
+     *
+     * @return The selected row or null if cancelled
+     */
+    private <T> T selectFromPages(PagedRenderer<T> pages, String prompt) {
+        if (!pages.render()) {
+            return null;
+        }
+        while (true) {
+            String input = getStringInput(prompt + " (n/p/g<page> to navigate, 0 to cancel): ");
+            if (pages.navigate(input)) {
+                pages.render();
+                continue;
+            }
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice == 0) {
+                    return null;
+                }
+                T row = pages.rowAt(choice);
+                if (row != null) {
+                    return row;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the retry message
+            }
+            out.println("Invalid selection. Please try again.");
+        }
+    }
+
+    /**
+     * Lets the user narrow a large list by typing part of a name, email,
+     * phone number or registration. Each query is answered from the search
+     * index, so it costs the same however many rows there are; a blank
+     * query falls back to browsing the full list page by page.
+     *
+     * @return The selected row or null if cancelled
+     */
+    private <T> T searchAndSelect(String noun, SearchIndex<T> index,
+                                  PagedRenderer.RowFormatter<T> formatter, PagedRenderer<T> browser) {
+        StringBuilder buffer = new StringBuilder(512);
+        String query = getStringInput("Search " + noun + "s (Enter to list all, 0 to cancel): ");
+        while (true) {
+            if (query.isEmpty()) {
+                return selectFromPages(browser, "Select " + noun + " number");
+            }
+            if (query.equals("0")) {
+                return null;
+            }
+            List<T> matches = index.search(query, TYPE_AHEAD_LIMIT);
+            if (matches.isEmpty()) {
+                out.println("No " + noun + "s match '" + query + "'.");
+            } else {
+                buffer.setLength(0);
+                buffer.append('\n');
+                for (int i = 0; i < matches.size(); i++) {
+                    formatter.format(buffer, i + 1, matches.get(i));
+                }
+                out.append(buffer);
+            }
+
+            String input = getStringInput("Select number, or type to search again (0 to cancel): ");
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice == 0) {
+                    return null;
+                }
+                if (choice >= 1 && choice <= matches.size()) {
+                    return matches.get(choice - 1);
+                }
+            } catch (NumberFormatException e) {
+                // Not a selection, so treat it as a new query
+            }
+            query = input;
+        }
+    }
+
+    /**
+     * Shows a paged list until the user enters a blank line
+     */
+    private <T> void viewPages(PagedRenderer<T> pages) {
+        if (!pages.render()) {
+            return;
+        }
+        while (true) {
+            String input = getStringInput("n/p/g<page> to navigate, Enter to return: ");
+            if (input.isEmpty()) {
+                return;
+            }
+            if (pages.navigate(input)) {
+                pages.render();
+            } else {
+                out.println("Invalid option");
+            }
+        }
+    }
+
     /**
      * Gets a string input from the user with the specified prompt
      */
     private String getStringInput(String prompt) {
-        System.out.print(prompt);
-        return scanner.nextLine().trim();
+        return readLine(prompt);
     }
 
     /**
@@ -115,10 +296,9 @@ public class MenuSystem {
     private int getIntInput(String prompt) {
         while (true) {
             try {
-                System.out.print(prompt);
-                return Integer.parseInt(scanner.nextLine().trim());
+                return Integer.parseInt(readLine(prompt));
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number");
+                out.println("Please enter a valid number");
             }
         }
     }
@@ -129,10 +309,9 @@ public class MenuSystem {
     private double getDoubleInput(String prompt) {
         while (true) {
             try {
-                System.out.print(prompt);
-                return Double.parseDouble(scanner.nextLine().trim());
+                return Double.parseDouble(readLine(prompt));
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number");
+                out.println("Please enter a valid number");
             }
         }
     }
@@ -141,23 +320,36 @@ public class MenuSystem {
 
     /**
      * Displays and handles the main manager menu options
-     * Provides access to all manager-specific functionality
+     * Provides access to all manager-specific functionality.
+     * While it is open, parts falling to their reorder point are announced
+     * above the menu.
      */
     private void showManagerMenu() throws BayMotorsException {
-        Manager manager = (Manager) currentUser;
+        LowStockDetector detector = dataStore.getLowStockDetector();
+        detector.addListener(stockAlertListener);
+        try {
+            runManagerMenu((Manager) currentUser);
+        } finally {
+            detector.removeListener(stockAlertListener);
+        }
+    }
 
+    private void runManagerMenu(Manager manager) throws BayMotorsException {
         while (true) {
-            System.out.println("\n=== Manager Menu ===");
-            System.out.println("1. Add New Mechanic");
-            System.out.println("2. Add New Customer");
-            System.out.println("3. Register Vehicle");
-            System.out.println("4. Create Task");
-            System.out.println("5. Allocate Task");
-            System.out.println("6. View All Tasks");
-            System.out.println("7. View Team Members");
-            System.out.println("8. Send Notification");
-            System.out.println("9. Manage Parts/Suppliers");
-            System.out.println("10. Logout");
+            for (String alert = stockAlerts.poll(); alert != null; alert = stockAlerts.poll()) {
+                out.println("\n*** " + alert + " ***");
+            }
+            out.println("\n=== Manager Menu ===");
+            out.println("1. Add New Mechanic");
+            out.println("2. Add New Customer");
+            out.println("3. Register Vehicle");
+            out.println("4. Create Task");
+            out.println("5. Allocate Task");
+            out.println("6. View All Tasks");
+            out.println("7. View Team Members");
+            out.println("8. Send Notification");
+            out.println("9. Manage Parts/Suppliers");
+            out.println("10. Logout");
 
             int choice = getIntInput("Choose option: ");
 
@@ -193,7 +385,7 @@ public class MenuSystem {
                     handleLogout();
                     return;
                 default:
-                    System.out.println("Invalid option");
+                    out.println("Invalid option");
             }
         }
     }
@@ -205,7 +397,7 @@ public class MenuSystem {
      * Creates a new mechanic account and adds them to the manager's team
      */
     private void handleAddMechanic(Manager manager) throws BayMotorsException {
-        System.out.println("\n=== Add New Mechanic ===");
+        out.println("\n=== Add New Mechanic ===");
         String name = getStringInput("Enter name: ");
         String email = getStringInput("Enter email: ");
         String password = getStringInput("Enter password: ");
@@ -219,9 +411,9 @@ public class MenuSystem {
             );
             dataStore.addUser(mechanic);
             manager.addTeamMember(mechanic);
-            System.out.println("Mechanic added successfully!");
+            out.println("Mechanic added successfully!");
         } catch (IllegalArgumentException e) {
-            throw new BayMotorsException("Invalid mechanic data: " + e.getMessage(),
+            throw BayMotorsException.expected("Invalid mechanic data: " + e.getMessage(),
                     BayMotorsException.ErrorCode.INVALID_INPUT);
         }
     }
@@ -232,29 +424,29 @@ public class MenuSystem {
     private void handleViewTeam(Manager manager) {
         List<Mechanic> teamMembers = manager.getTeamMembers();
         if (teamMembers.isEmpty()) {
-            System.out.println("No team members found.");
+            out.println("No team members found.");
             return;
         }
 
-        System.out.println("\n=== Team Members ===");
+        out.println("\n=== Team Members ===");
         for (Mechanic mechanic : teamMembers) {
-            System.out.println("\nMechanic ID: " + mechanic.getId());
-            System.out.println("Name: " + mechanic.getName());
-            System.out.println("Email: " + mechanic.getEmail());
+            out.println("\nMechanic ID: " + mechanic.getId());
+            out.println("Name: " + mechanic.getName());
+            out.println("Email: " + mechanic.getEmail());
 
             List<Task> assignedTasks = mechanic.getAssignedTasks();
-            System.out.println("Current Tasks: " + assignedTasks.size());
+            out.println("Current Tasks: " + assignedTasks.size());
 
             if (!assignedTasks.isEmpty()) {
-                System.out.println("Assigned Tasks:");
+                out.println("Assigned Tasks:");
                 for (Task task : assignedTasks) {
-                    System.out.printf("- %s (Priority: %d, Status: %s)\n",
+                    out.printf("- %s (Priority: %d, Status: %s)\n",
                             task.getDescription(),
                             task.getPriority(),
                             task.getState().getStatus());
                 }
             }
-            System.out.println("------------------------");
+            out.println("------------------------");
         }
     }
 
@@ -264,10 +456,14 @@ public class MenuSystem {
      * Handles the notification sending menu and options
      */
     private void handleSendNotification(Manager manager) {
-        System.out.println("\n=== Send Notification ===");
-        System.out.println("1. Send to All Registered Customers");
-        System.out.println("2. Send to Specific Customer");
-        System.out.println("3. Back");
+        out.println("\n=== Send Notification ===");
+        out.println("1. Send to All Registered Customers");
+        out.println("2. Send to Specific Customer");
+        out.println("3. Send Offer to Customer Segment");
+        out.println("4. Send Due Service Reminders");
+        out.println("5. Schedule Offer for Later");
+        out.println("6. View Delivery Statistics");
+        out.println("7. Back");
 
         int choice = getIntInput("Choose option: ");
 
@@ -280,12 +476,26 @@ public class MenuSystem {
                     sendNotificationToSpecificCustomer();
                     break;
                 case 3:
+                    sendNotificationToSegment();
+                    break;
+                case 4:
+                    sendDueServiceReminders();
+                    break;
+                case 5:
+                    scheduleOffer(manager);
+                    break;
+                case 6:
+                    handleViewNotificationStats();
+                    break;
+                case 7:
                     return;
                 default:
-                    System.out.println("Invalid option");
+                    out.println("Invalid option");
             }
+        } catch (EndOfInput e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("Error sending notification: " + e.getMessage());
+            out.println("Error sending notification: " + e.getMessage());
         }
     }
 
@@ -298,18 +508,18 @@ public class MenuSystem {
                 .collect(Collectors.toList());
 
         if (registeredCustomers.isEmpty()) {
-            System.out.println("No registered customers found.");
+            out.println("No registered customers found.");
             return;
         }
 
-        System.out.println("\nSending notifications to " + registeredCustomers.size() + " customers");
+        out.println("\nSending notifications to " + registeredCustomers.size() + " customers");
         for (Customer customer : registeredCustomers) {
-            NotificationFactory.createNotification(
+            NotificationUtil.dispatch(NotificationFactory.createNotification(
                     NotificationType.OFFER,
                     customer
-            ).send();
+            ));
         }
-        System.out.println("Notifications sent successfully!");
+        out.println("Notifications sent successfully!");
     }
 
     /**
@@ -319,9 +529,9 @@ public class MenuSystem {
         Customer customer = selectCustomer();
         if (customer == null) return;
 
-        System.out.println("\nSelect notification type:");
-        System.out.println("1. Offer");
-        System.out.println("2. Registration Benefit");
+        out.println("\nSelect notification type:");
+        out.println("1. Offer");
+        out.println("2. Registration Benefit");
 
         int choice = getIntInput("Choose type: ");
         NotificationType type;
@@ -334,12 +544,87 @@ public class MenuSystem {
                 type = NotificationType.REGISTRATION_BENEFIT;
                 break;
             default:
-                System.out.println("Invalid option");
+                out.println("Invalid option");
                 return;
         }
 
-        NotificationFactory.createNotification(type, customer).send();
-        System.out.println("Notification sent successfully!");
+        NotificationUtil.dispatch(NotificationFactory.createNotification(type, customer));
+        out.println("Notification sent successfully!");
+    }
+
+    /**
+     * Sends an offer to the customers matching a segment built from
+     * registration status, vehicle make and time since last service
+     */
+    private void sendNotificationToSegment() {
+        CustomerSegmentIndex index = dataStore.getSegmentIndex();
+        CompressedBitmap segment = index.all();
+
+        if (getStringInput("Registered customers only? (y/n): ").equalsIgnoreCase("y")) {
+            segment = segment.and(index.registered());
+        }
+        String make = getStringInput("Vehicle make (blank for any): ");
+        if (!make.isEmpty()) {
+            segment = segment.and(index.ownersOf(make));
+        }
+        int months = getIntInput("Months since last service (0 for any): ");
+        if (months > 0) {
+            segment = segment.and(index.lastServicedBefore(LocalDate.now().minusMonths(months)));
+        }
+
+        if (segment.isEmpty()) {
+            out.println("No customers match this segment.");
+            return;
+        }
+
+        out.println("\nSending notifications to " + segment.cardinality() + " customers");
+        NotificationUtil.sendToSegment(NotificationType.OFFER, segment, dataStore::getCustomer);
+        out.println("Notifications sent successfully!");
+    }
+
+    /**
+     * Sends service reminders for every vehicle whose next service is due
+     */
+    private void sendDueServiceReminders() {
+        int sent = NotificationUtil.sendServiceReminders(
+                dataStore.getReminderIndex(), LocalDate.now(), REMINDER_BATCH_SIZE);
+        if (sent == 0) {
+            out.println("No vehicles are due a service.");
+        } else {
+            out.println(sent + " service reminders sent successfully!");
+        }
+    }
+
+    /**
+     * Queues an offer to a customer for a date and time, e.g. 9am tomorrow
+     */
+    private void scheduleOffer(Manager manager) throws BayMotorsException {
+        Customer customer = selectCustomer();
+        if (customer == null) return;
+
+        String input = getStringInput("Send at (yyyy-MM-dd HH:mm): ");
+        LocalDateTime sendAt;
+        try {
+            sendAt = LocalDateTime.parse(input, SEND_AT_FORMAT);
+        } catch (DateTimeParseException e) {
+            out.println("Please enter a date and time like 2026-01-31 09:00");
+            return;
+        }
+        garage.scheduleOffer(manager, customer.getId(), sendAt);
+        out.println("Offer scheduled for " + sendAt.format(SEND_AT_FORMAT));
+    }
+
+    /**
+     * Displays delivery counts and latencies per notification type
+     */
+    private void handleViewNotificationStats() {
+        String report = NotificationMetrics.getInstance().report();
+        if (report.isEmpty()) {
+            out.println("No notifications sent yet.");
+            return;
+        }
+        out.println("\n=== Notification Delivery Statistics ===");
+        out.print(report);
     }
 
     /**
@@ -347,7 +632,7 @@ public class MenuSystem {
      * Displays unallocated tasks and available mechanics for selection
      */
     private void handleAllocateTask(Manager manager) throws BayMotorsException {
-        System.out.println("\n=== Allocate Task ===");
+        out.println("\n=== Allocate Task ===");
 
         // Get list of unallocated tasks
         List<Task> unallocatedTasks = dataStore.getAllTasks().stream()
@@ -355,15 +640,17 @@ public class MenuSystem {
                 .collect(Collectors.toList());
 
         if (unallocatedTasks.isEmpty()) {
-            System.out.println("No unallocated tasks available.");
+            out.println("No unallocated tasks available.");
             return;
         }
 
-        // Display unallocated tasks
-        System.out.println("\nUnallocated Tasks:");
+        // Display unallocated tasks, remembering the versions shown so a change made meanwhile is not overwritten
+        out.println("\nUnallocated Tasks:");
+        long[] versions = new long[unallocatedTasks.size()];
         for (int i = 0; i < unallocatedTasks.size(); i++) {
             Task task = unallocatedTasks.get(i);
-            System.out.printf("%d. %s (Priority: %d)\n",
+            versions[i] = task.getVersion();
+            out.printf("%d. %s (Priority: %d)\n",
                     i + 1, task.getDescription(), task.getPriority());
         }
 
@@ -373,10 +660,10 @@ public class MenuSystem {
 
         // Display available mechanics
         List<Mechanic> mechanics = manager.getTeamMembers();
-        System.out.println("\nAvailable Mechanics:");
+        out.println("\nAvailable Mechanics:");
         for (int i = 0; i < mechanics.size(); i++) {
             Mechanic mechanic = mechanics.get(i);
-            System.out.printf("%d. %s (%d current tasks)\n",
+            out.printf("%d. %s (%d current tasks)\n",
                     i + 1, mechanic.getName(), mechanic.getAssignedTasks().size());
         }
 
@@ -384,15 +671,10 @@ public class MenuSystem {
         int mechanicChoice = getIntInput("Select mechanic number (0 to cancel): ");
         if (mechanicChoice == 0 || mechanicChoice > mechanics.size()) return;
 
-        try {
-            Task selectedTask = unallocatedTasks.get(taskChoice - 1);
-            Mechanic selectedMechanic = mechanics.get(mechanicChoice - 1);
-            manager.allocateTask(selectedTask, selectedMechanic);
-            System.out.println("Task allocated successfully!");
-        } catch (TaskException e) {
-            throw new BayMotorsException("Failed to allocate task: " + e.getMessage(),
-                    BayMotorsException.ErrorCode.TASK_ERROR);
-        }
+        Task selectedTask = unallocatedTasks.get(taskChoice - 1);
+        Mechanic selectedMechanic = mechanics.get(mechanicChoice - 1);
+        garage.allocateTask(manager, selectedTask, selectedMechanic, versions[taskChoice - 1]);
+        out.println("Task allocated successfully!");
     }
 
     // ===== Mechanic Menu and Related Methods =====
@@ -405,12 +687,12 @@ public class MenuSystem {
         Mechanic mechanic = (Mechanic) currentUser;
 
         while (true) {
-            System.out.println("\n=== Mechanic Menu ===");
-            System.out.println("1. View My Tasks");
-            System.out.println("2. Complete Task");
-            System.out.println("3. Update Task Status");
-            System.out.println("4. View Vehicle Details");
-            System.out.println("5. Logout");
+            out.println("\n=== Mechanic Menu ===");
+            out.println("1. View My Tasks");
+            out.println("2. Complete Task");
+            out.println("3. Update Task Status");
+            out.println("4. View Vehicle Details");
+            out.println("5. Logout");
 
             int choice = getIntInput("Choose option: ");
 
@@ -431,7 +713,7 @@ public class MenuSystem {
                     handleLogout();
                     return;
                 default:
-                    System.out.println("Invalid option");
+                    out.println("Invalid option");
             }
         }
     }
@@ -443,26 +725,26 @@ public class MenuSystem {
     private void handleViewMyTasks(Mechanic mechanic) {
         List<Task> assignedTasks = mechanic.getAssignedTasks();
         if (assignedTasks.isEmpty()) {
-            System.out.println("No tasks currently assigned to you.");
+            out.println("No tasks currently assigned to you.");
             return;
         }
 
-        System.out.println("\n=== Your Assigned Tasks ===");
+        out.println("\n=== Your Assigned Tasks ===");
         for (Task task : assignedTasks) {
-            System.out.printf("\nTask ID: %d\n", task.getId());
-            System.out.printf("Description: %s\n", task.getDescription());
-            System.out.printf("Priority: %d\n", task.getPriority());
-            System.out.printf("Status: %s\n", task.getState().getStatus());
-            System.out.printf("Created: %s\n", task.getCreatedDate());
+            out.printf("\nTask ID: %d\n", task.getId());
+            out.printf("Description: %s\n", task.getDescription());
+            out.printf("Priority: %d\n", task.getPriority());
+            out.printf("Status: %s\n", task.getState().getStatus());
+            out.printf("Created: %s\n", task.getCreatedDate());
 
             Vehicle vehicle = task.getVehicle();
             if (vehicle != null) {
-                System.out.printf("Vehicle: %s %s (%s)\n",
+                out.printf("Vehicle: %s %s (%s)\n",
                         vehicle.getManufacturer().getName(),
                         vehicle.getModel(),
                         vehicle.getRegistration());
             }
-            System.out.println("------------------------");
+            out.println("------------------------");
         }
     }
 
@@ -476,14 +758,16 @@ public class MenuSystem {
                 .collect(Collectors.toList());
 
         if (activeTasks.isEmpty()) {
-            System.out.println("No active tasks to complete.");
+            out.println("No active tasks to complete.");
             return;
         }
 
-        System.out.println("\n=== Complete Task ===");
+        out.println("\n=== Complete Task ===");
+        long[] versions = new long[activeTasks.size()];
         for (int i = 0; i < activeTasks.size(); i++) {
             Task task = activeTasks.get(i);
-            System.out.printf("%d. %s (Priority: %d)\n",
+            versions[i] = task.getVersion();
+            out.printf("%d. %s (Priority: %d)\n",
                     i + 1,
                     task.getDescription(),
                     task.getPriority());
@@ -492,13 +776,8 @@ public class MenuSystem {
         int choice = getIntInput("Select task to complete (0 to cancel): ");
         if (choice > 0 && choice <= activeTasks.size()) {
             Task selectedTask = activeTasks.get(choice - 1);
-            try {
-                selectedTask.complete();
-                System.out.println("Task completed successfully!");
-            } catch (Exception e) {
-                throw new BayMotorsException("Failed to complete task: " + e.getMessage(),
-                        BayMotorsException.ErrorCode.TASK_ERROR);
-            }
+            garage.completeTask(mechanic, selectedTask, versions[choice - 1]);
+            out.println("Task completed successfully!");
         }
     }
 
@@ -510,15 +789,17 @@ public class MenuSystem {
         // Get mechanic's assigned tasks
         List<Task> assignedTasks = mechanic.getAssignedTasks();
         if (assignedTasks.isEmpty()) {
-            System.out.println("No tasks assigned to you.");
+            out.println("No tasks assigned to you.");
             return;
         }
 
         // Display tasks
-        System.out.println("\n=== Your Assigned Tasks ===");
+        out.println("\n=== Your Assigned Tasks ===");
+        long[] versions = new long[assignedTasks.size()];
         for (int i = 0; i < assignedTasks.size(); i++) {
             Task task = assignedTasks.get(i);
-            System.out.printf("%d. %s (Current Status: %s)\n",
+            versions[i] = task.getVersion();
+            out.printf("%d. %s (Current Status: %s)\n",
                     i + 1,
                     task.getDescription(),
                     task.getState().getStatus());
@@ -531,36 +812,39 @@ public class MenuSystem {
         Task selectedTask = assignedTasks.get(taskChoice - 1);
 
         // Show status options
-        System.out.println("\nUpdate Status Options:");
-        System.out.println("1. Mark as In Progress");
-        System.out.println("2. Move to Next State");
-        System.out.println("3. Mark as Complete");
-        System.out.println("4. Cancel");
+        out.println("\nUpdate Status Options:");
+        out.println("1. Mark as In Progress");
+        out.println("2. Move to Next State");
+        out.println("3. Mark as Complete");
+        out.println("4. Cancel");
 
         int statusChoice = getIntInput("Choose new status: ");
+        long version = versions[taskChoice - 1];
 
         try {
             switch (statusChoice) {
                 case 1:
-                    selectedTask.setState(new WaitingState());
-                    System.out.println("Task returned to Waiting state");
+                    dataStore.updateTask(selectedTask.getId(), version, task -> task.setState(new WaitingState()));
+                    out.println("Task returned to Waiting state");
                     break;
                 case 2:
-                    selectedTask.getState().next(selectedTask);
-                    System.out.println("Task moved to next state");
+                    dataStore.updateTask(selectedTask.getId(), version, task -> task.getState().next(task));
+                    out.println("Task moved to next state");
                     break;
                 case 3:
-                    selectedTask.complete();
-                    System.out.println("Task marked as Complete");
+                    dataStore.updateTask(selectedTask.getId(), version, Task::complete);
+                    out.println("Task marked as Complete");
                     break;
                 case 4:
                     return;
                 default:
-                    System.out.println("Invalid option");
+                    out.println("Invalid option");
             }
+        } catch (BayMotorsException e) {
+            throw e;
         } catch (Exception e) {
             throw new BayMotorsException("Failed to update task status: " + e.getMessage(),
-                    BayMotorsException.ErrorCode.TASK_ERROR);
+                    BayMotorsException.ErrorCode.TASK_ERROR, e);
         }
     }
 
@@ -572,34 +856,34 @@ public class MenuSystem {
         Vehicle vehicle = selectVehicle();
         if (vehicle == null) return;
 
-        System.out.println("\n=== Vehicle Details ===");
-        System.out.println("Registration: " + vehicle.getRegistration());
-        System.out.println("Make: " + vehicle.getManufacturer().getName());
-        System.out.println("Model: " + vehicle.getModel());
-        System.out.println("Year: " + vehicle.getYear());
+        out.println("\n=== Vehicle Details ===");
+        out.println("Registration: " + vehicle.getRegistration());
+        out.println("Make: " + vehicle.getManufacturer().getName());
+        out.println("Model: " + vehicle.getModel());
+        out.println("Year: " + vehicle.getYear());
 
         // Owner details
         if (vehicle.getOwner() != null) {
             Customer owner = vehicle.getOwner();
-            System.out.println("\nOwner Details:");
-            System.out.println("Name: " + owner.getName());
-            System.out.println("Email: " + owner.getEmail());
-            System.out.println("Phone: " + owner.getPhone());
-            System.out.println("Status: " + (owner.isRegistered() ? "Registered" : "Unregistered"));
+            out.println("\nOwner Details:");
+            out.println("Name: " + owner.getName());
+            out.println("Email: " + owner.getEmail());
+            out.println("Phone: " + owner.getPhone());
+            out.println("Status: " + (owner.isRegistered() ? "Registered" : "Unregistered"));
         }
 
         // Task history
         List<Task> taskHistory = vehicle.getTaskHistory();
         if (!taskHistory.isEmpty()) {
-            System.out.println("\nTask History:");
+            out.println("\nTask History:");
             for (Task task : taskHistory) {
-                System.out.printf("- %s (Status: %s, Priority: %d)\n",
+                out.printf("- %s (Status: %s, Priority: %d)\n",
                         task.getDescription(),
                         task.getState().getStatus(),
                         task.getPriority());
             }
         } else {
-            System.out.println("\nNo task history available.");
+            out.println("\nNo task history available.");
         }
     }
 
@@ -610,7 +894,7 @@ public class MenuSystem {
      * Links vehicles with customers and manufacturers
      */
     private void handleRegisterVehicle() throws BayMotorsException {
-        System.out.println("\n=== Register Vehicle ===");
+        out.println("\n=== Register Vehicle ===");
 
         // First, select or create customer
         Customer customer = selectOrCreateCustomer();
@@ -635,9 +919,9 @@ public class MenuSystem {
             );
             vehicle.setOwner(customer);
             dataStore.addVehicle(vehicle);
-            System.out.println("Vehicle registered successfully!");
+            out.println("Vehicle registered successfully!");
         } catch (IllegalArgumentException e) {
-            throw new BayMotorsException("Invalid vehicle data: " + e.getMessage(),
+            throw BayMotorsException.expected("Invalid vehicle data: " + e.getMessage(),
                     BayMotorsException.ErrorCode.INVALID_INPUT);
         }
     }
@@ -648,37 +932,19 @@ public class MenuSystem {
      * @return Selected vehicle or null if cancelled
      */
     private Vehicle selectVehicle() {
-        List<Vehicle> vehicles = dataStore.getAllVehicles();
-        if (vehicles.isEmpty()) {
-            System.out.println("No vehicles found.");
+        if (dataStore.getVehicleCount() == 0) {
+            out.println("No vehicles found.");
             return null;
         }
-
-        System.out.println("\nAvailable Vehicles:");
-        for (int i = 0; i < vehicles.size(); i++) {
-            Vehicle vehicle = vehicles.get(i);
-            String ownerName = (vehicle.getOwner() != null) ? vehicle.getOwner().getName() : "No Owner";
-            String manufacturerName = (vehicle.getManufacturer() != null) ?
-                    vehicle.getManufacturer().getName() : "Unknown Manufacturer";
-
-            System.out.printf("%d. %s %s (%s) - Owner: %s\n",
-                    i + 1,
-                    manufacturerName,
-                    vehicle.getModel(),
-                    vehicle.getRegistration(),
-                    ownerName);
-        }
-
-        while (true) {
-            int choice = getIntInput("Select vehicle number (0 to cancel): ");
-            if (choice == 0) {
-                return null;
-            }
-            if (choice > 0 && choice <= vehicles.size()) {
-                return vehicles.get(choice - 1);
-            }
-            System.out.println("Invalid selection. Please try again.");
-        }
+        PagedRenderer.RowFormatter<Vehicle> formatter = (buffer, number, vehicle) -> buffer.append(number).append(". ")
+                .append(vehicle.getManufacturer() != null ? vehicle.getManufacturer().getName() : "Unknown Manufacturer")
+                .append(' ').append(vehicle.getModel())
+                .append(" (").append(vehicle.getRegistration()).append(") - Owner: ")
+                .append(vehicle.getOwner() != null ? vehicle.getOwner().getName() : "No Owner")
+                .append('\n');
+        PagedRenderer<Vehicle> pages = new PagedRenderer<>("Available Vehicles",
+                dataStore::getVehicleCount, dataStore::getVehicles, formatter, out, LIST_PAGE_SIZE);
+        return searchAndSelect("vehicle", dataStore.getVehicleSearchIndex(), formatter, pages);
     }
 
     // ===== Customer Management Methods =====
@@ -689,7 +955,7 @@ public class MenuSystem {
      * @return The newly created customer
      */
     private Customer handleAddCustomer() throws BayMotorsException {
-        System.out.println("\n=== Add New Customer ===");
+        out.println("\n=== Add New Customer ===");
         String name = getStringInput("Enter name: ");
         String email = getStringInput("Enter email: ");
         String phone = getStringInput("Enter phone: ");
@@ -702,10 +968,10 @@ public class MenuSystem {
                     phone
             );
             dataStore.addCustomer(customer);
-            System.out.println("Customer added successfully!");
+            out.println("Customer added successfully!");
             return customer;
         } catch (IllegalArgumentException e) {
-            throw new BayMotorsException("Invalid customer data: " + e.getMessage(),
+            throw BayMotorsException.expected("Invalid customer data: " + e.getMessage(),
                     BayMotorsException.ErrorCode.INVALID_INPUT);
         }
     }
@@ -716,27 +982,18 @@ public class MenuSystem {
      * @return Selected customer or null if cancelled
      */
     private Customer selectCustomer() {
-        List<Customer> customers = dataStore.getAllCustomers();
-        if (customers.isEmpty()) {
-            System.out.println("No customers found.");
-            return null;
-        }
-
-        System.out.println("\nAvailable Customers:");
-        for (int i = 0; i < customers.size(); i++) {
-            Customer customer = customers.get(i);
-            System.out.printf("%d. %s (%s) - %s\n",
-                    i + 1,
-                    customer.getName(),
-                    customer.getEmail(),
-                    customer.isRegistered() ? "Registered" : "Unregistered");
-        }
-
-        int choice = getIntInput("Select customer number (0 to cancel): ");
-        if (choice == 0 || choice > customers.size()) {
+        if (dataStore.getCustomerCount() == 0) {
+            out.println("No customers found.");
             return null;
         }
-        return customers.get(choice - 1);
+        PagedRenderer.RowFormatter<Customer> formatter = (buffer, number, customer) -> buffer.append(number).append(". ")
+                .append(customer.getName())
+                .append(" (").append(customer.getEmail()).append(") - ")
+                .append(customer.isRegistered() ? "Registered" : "Unregistered")
+                .append('\n');
+        PagedRenderer<Customer> pages = new PagedRenderer<>("Available Customers",
+                dataStore::getCustomerCount, dataStore::getCustomers, formatter, out, LIST_PAGE_SIZE);
+        return searchAndSelect("customer", dataStore.getCustomerSearchIndex(), formatter, pages);
     }
 
     /**
@@ -745,9 +1002,9 @@ public class MenuSystem {
      * @return Selected or created customer, or null if cancelled
      */
     private Customer selectOrCreateCustomer() throws BayMotorsException {
-        System.out.println("\n1. Select Existing Customer");
-        System.out.println("2. Create New Customer");
-        System.out.println("3. Cancel");
+        out.println("\n1. Select Existing Customer");
+        out.println("2. Create New Customer");
+        out.println("3. Cancel");
 
         int choice = getIntInput("Choose option: ");
 
@@ -783,7 +1040,7 @@ public class MenuSystem {
             dataStore.addManufacturer(manufacturer);
             return manufacturer;
         } catch (IllegalArgumentException e) {
-            throw new BayMotorsException("Invalid manufacturer data: " + e.getMessage(),
+            throw BayMotorsException.expected("Invalid manufacturer data: " + e.getMessage(),
                     BayMotorsException.ErrorCode.INVALID_INPUT);
         }
     }
@@ -796,14 +1053,14 @@ public class MenuSystem {
     private Manufacturer selectManufacturer() {
         List<Manufacturer> manufacturers = dataStore.getAllManufacturers();
         if (manufacturers.isEmpty()) {
-            System.out.println("No manufacturers found.");
+            out.println("No manufacturers found.");
             return null;
         }
 
-        System.out.println("\nAvailable Manufacturers:");
+        out.println("\nAvailable Manufacturers:");
         for (int i = 0; i < manufacturers.size(); i++) {
             Manufacturer manufacturer = manufacturers.get(i);
-            System.out.printf("%d. %s\n",
+            out.printf("%d. %s\n",
                     i + 1,
                     manufacturer.getName());
         }
@@ -823,12 +1080,16 @@ public class MenuSystem {
      */
     private void handlePartsManagement() {
         while (true) {
-            System.out.println("\n=== Parts Management ===");
-            System.out.println("1. Add New Supplier");
-            System.out.println("2. Add New Part");
-            System.out.println("3. View All Parts");
-            System.out.println("4. View All Suppliers");
-            System.out.println("5. Back to Main Menu");
+            out.println("\n=== Parts Management ===");
+            out.println("1. Add New Supplier");
+            out.println("2. Add New Part");
+            out.println("3. View All Parts");
+            out.println("4. View All Suppliers");
+            out.println("5. Find Cheapest Supplier for Part");
+            out.println("6. Set Reorder Point");
+            out.println("7. View Reorder Proposals");
+            out.println("8. Search Parts");
+            out.println("9. Back to Main Menu");
 
             int choice = getIntInput("Choose option: ");
 
@@ -847,12 +1108,26 @@ public class MenuSystem {
                         handleViewAllSuppliers();
                         break;
                     case 5:
+                        handleFindSupplierForPart();
+                        break;
+                    case 6:
+                        handleSetReorderPoint();
+                        break;
+                    case 7:
+                        handleViewReorderProposals();
+                        break;
+                    case 8:
+                        handleSearchParts();
+                        break;
+                    case 9:
                         return;
                     default:
-                        System.out.println("Invalid option");
+                        out.println("Invalid option");
                 }
+            } catch (EndOfInput e) {
+                throw e;
             } catch (Exception e) {
-                System.out.println("Error: " + e.getMessage());
+                out.println("Error: " + e.getMessage());
             }
         }
     }
@@ -861,7 +1136,7 @@ public class MenuSystem {
      * Handles the process of adding a new supplier to the system
      */
     private void handleAddSupplier() {
-        System.out.println("\n=== Add New Supplier ===");
+        out.println("\n=== Add New Supplier ===");
         String name = getStringInput("Enter supplier name: ");
         String contactPerson = getStringInput("Enter contact person name: ");
         String email = getStringInput("Enter email: ");
@@ -878,9 +1153,9 @@ public class MenuSystem {
                     address
             );
             dataStore.addSupplier(supplier);
-            System.out.println("Supplier added successfully!");
+            out.println("Supplier added successfully!");
         } catch (Exception e) {
-            System.out.println("Error adding supplier: " + e.getMessage());
+            out.println("Error adding supplier: " + e.getMessage());
         }
     }
 
@@ -889,7 +1164,7 @@ public class MenuSystem {
      * Links parts with manufacturers and suppliers
      */
     private void handleAddPart() {
-        System.out.println("\n=== Add New Part ===");
+        out.println("\n=== Add New Part ===");
 
         // Select manufacturer
         Manufacturer manufacturer = selectManufacturer();
@@ -903,6 +1178,7 @@ public class MenuSystem {
         String name = getStringInput("Enter part name: ");
         String code = getStringInput("Enter part code: ");
         double price = getDoubleInput("Enter part price: ");
+        int quantity = getIntInput("Enter quantity in stock: ");
 
         try {
             Part part = new Part(
@@ -914,9 +1190,10 @@ public class MenuSystem {
                     supplier
             );
             dataStore.addPart(part);
-            System.out.println("Part added successfully!");
+            supplier.addPart(part, quantity);
+            out.println("Part added successfully!");
         } catch (Exception e) {
-            System.out.println("Error adding part: " + e.getMessage());
+            out.println("Error adding part: " + e.getMessage());
         }
     }
 
@@ -924,22 +1201,21 @@ public class MenuSystem {
      * Displays a list of all parts in the system with their details
      */
     private void handleViewAllParts() {
-        List<Part> parts = dataStore.getAllParts();
-        if (parts.isEmpty()) {
-            System.out.println("No parts found.");
+        if (dataStore.getPartCount() == 0) {
+            out.println("No parts found.");
             return;
         }
-
-        System.out.println("\n=== All Parts ===");
-        for (Part part : parts) {
-            System.out.println("\nPart ID: " + part.getId());
-            System.out.println("Name: " + part.getName());
-            System.out.println("Code: " + part.getCode());
-            System.out.println("Price: £" + part.getPrice());
-            System.out.println("Manufacturer: " + part.getManufacturer().getName());
-            System.out.println("Supplier: " + part.getSupplier().getName());
-            System.out.println("------------------------");
-        }
+        viewPages(new PagedRenderer<>("=== All Parts ===",
+                dataStore::getPartCount, dataStore::getParts,
+                (buffer, number, part) -> buffer
+                        .append("\nPart ID: ").append(part.getId())
+                        .append("\nName: ").append(part.getName())
+                        .append("\nCode: ").append(part.getCode())
+                        .append("\nPrice: £").append(part.getPrice())
+                        .append("\nManufacturer: ").append(part.getManufacturer().getName())
+                        .append("\nSupplier: ").append(part.getSupplier().getName())
+                        .append("\n------------------------\n"),
+                out, DETAIL_PAGE_SIZE));
     }
 
     /**
@@ -948,48 +1224,110 @@ public class MenuSystem {
     private void handleViewAllSuppliers() {
         List<Supplier> suppliers = dataStore.getAllSuppliers();
         if (suppliers.isEmpty()) {
-            System.out.println("No suppliers found.");
+            out.println("No suppliers found.");
             return;
         }
 
-        System.out.println("\n=== All Suppliers ===");
+        out.println("\n=== All Suppliers ===");
         for (Supplier supplier : suppliers) {
-            System.out.println("\nSupplier ID: " + supplier.getId());
-            System.out.println("Name: " + supplier.getName());
-            System.out.println("Contact Person: " + supplier.getContactPerson());
-            System.out.println("Email: " + supplier.getEmail());
-            System.out.println("Phone: " + supplier.getPhone());
-            System.out.println("Address: " + supplier.getAddress());
-            System.out.println("------------------------");
+            out.println("\nSupplier ID: " + supplier.getId());
+            out.println("Name: " + supplier.getName());
+            out.println("Contact Person: " + supplier.getContactPerson());
+            out.println("Email: " + supplier.getEmail());
+            out.println("Phone: " + supplier.getPhone());
+            out.println("Address: " + supplier.getAddress());
+            out.println("------------------------");
         }
     }
 
     /**
-     * Helper method to select a supplier from the list
-     *
-     * @return Selected supplier or null if cancelled
+     * Finds the cheapest supplier that can supply a part in the required quantity
      */
-    private Supplier selectSupplier() {
-        List<Supplier> suppliers = dataStore.getAllSuppliers();
-        if (suppliers.isEmpty()) {
-            System.out.println("No suppliers found.");
-            return null;
+    private void handleFindSupplierForPart() {
+        String code = getStringInput("Enter part code: ");
+        int quantity = getIntInput("Enter quantity needed: ");
+
+        PartSourcingIndex.SupplierOffer offer = dataStore.getSourcingIndex().findCheapest(code, quantity);
+        if (offer == null) {
+            out.println("No supplier has " + quantity + " of part " + code + " in stock.");
+            return;
         }
+        out.printf("Cheapest supplier: %s at £%.2f each (%d in stock)\n",
+                offer.getSupplier().getName(),
+                offer.getPrice(),
+                offer.getQuantity());
+    }
 
-        System.out.println("\nAvailable Suppliers:");
-        for (int i = 0; i < suppliers.size(); i++) {
-            Supplier supplier = suppliers.get(i);
-            System.out.printf("%d. %s (%s)\n",
-                    i + 1,
-                    supplier.getName(),
-                    supplier.getContactPerson());
+    /**
+     * Searches parts by name, code or manufacturer, tolerating small typos
+     */
+    private void handleSearchParts() {
+        String query = getStringInput("Search for: ");
+        List<Part> matches = dataStore.getPartSearchIndex().search(query, PART_SEARCH_LIMIT);
+        if (matches.isEmpty()) {
+            out.println("No matching parts.");
+            return;
+        }
+
+        out.println("\n=== Matching Parts ===");
+        for (Part part : matches) {
+            out.printf("%s - %s (%s) £%.2f from %s\n",
+                    part.getCode(),
+                    part.getName(),
+                    part.getManufacturer().getName(),
+                    part.getPrice(),
+                    part.getSupplier().getName());
+        }
+    }
+
+    /**
+     * Sets the stock level at which a part should be reordered
+     */
+    private void handleSetReorderPoint() {
+        String code = getStringInput("Enter part code: ");
+        int reorderPoint = getIntInput("Reorder when stock falls to: ");
+        int reorderQuantity = getIntInput("Quantity to reorder: ");
+
+        dataStore.getLowStockDetector().setReorderPoint(code, reorderPoint, reorderQuantity);
+        out.println("Reorder point set for part " + code + ".");
+    }
+
+    /**
+     * Displays parts at or below their reorder point, grouped by supplier
+     */
+    private void handleViewReorderProposals() {
+        List<LowStockDetector.ReorderProposal> proposals = dataStore.getLowStockDetector().getReorderProposals();
+        if (proposals.isEmpty()) {
+            out.println("No parts need reordering.");
+            return;
         }
 
-        int choice = getIntInput("Select supplier number (0 to cancel): ");
-        if (choice == 0 || choice > suppliers.size()) {
+        out.println("\n=== Reorder Proposals ===");
+        for (LowStockDetector.ReorderProposal proposal : proposals) {
+            out.println("\nSupplier: " + proposal.getSupplier().getName());
+            for (OrderLine line : proposal.getLines()) {
+                out.println("  " + line.getPartCode() + " x " + line.getQuantity()
+                        + " (in stock: " + proposal.getSupplier().getPartQuantity(line.getPartCode()) + ")");
+            }
+        }
+    }
+
+    /**
+     * Helper method to select a supplier from the list
+     *
+     * @return Selected supplier or null if cancelled
+     */
+    private Supplier selectSupplier() {
+        if (dataStore.getSupplierCount() == 0) {
+            out.println("No suppliers found.");
             return null;
         }
-        return suppliers.get(choice - 1);
+        PagedRenderer.RowFormatter<Supplier> formatter = (buffer, number, supplier) -> buffer.append(number).append(". ")
+                .append(supplier.getName())
+                .append(" (").append(supplier.getContactPerson()).append(")\n");
+        PagedRenderer<Supplier> pages = new PagedRenderer<>("Available Suppliers",
+                dataStore::getSupplierCount, dataStore::getSuppliers, formatter, out, LIST_PAGE_SIZE);
+        return searchAndSelect("supplier", dataStore.getSupplierSearchIndex(), formatter, pages);
     }
 
     /**
@@ -998,7 +1336,7 @@ public class MenuSystem {
      * @return Newly created supplier or null if creation fails
      */
     private Supplier createNewSupplier() {
-        System.out.println("\n=== Add New Supplier ===");
+        out.println("\n=== Add New Supplier ===");
         String name = getStringInput("Enter supplier name: ");
         String contactPerson = getStringInput("Enter contact person name: ");
         String email = getStringInput("Enter email: ");
@@ -1015,10 +1353,10 @@ public class MenuSystem {
                     address
             );
             dataStore.addSupplier(supplier);
-            System.out.println("Supplier added successfully!");
+            out.println("Supplier added successfully!");
             return supplier;
         } catch (Exception e) {
-            System.out.println("Error adding supplier: " + e.getMessage());
+            out.println("Error adding supplier: " + e.getMessage());
             return null;
         }
     }
@@ -1029,9 +1367,9 @@ public class MenuSystem {
      * @return Selected or created supplier, or null if cancelled
      */
     private Supplier selectOrCreateSupplier() {
-        System.out.println("\n1. Select Existing Supplier");
-        System.out.println("2. Create New Supplier");
-        System.out.println("3. Cancel");
+        out.println("\n1. Select Existing Supplier");
+        out.println("2. Create New Supplier");
+        out.println("3. Cancel");
 
         int choice = getIntInput("Choose option: ");
 
@@ -1052,7 +1390,7 @@ public class MenuSystem {
      * Links tasks with vehicles and sets initial properties
      */
     private void handleCreateTask() throws BayMotorsException {
-        System.out.println("\n=== Create New Task ===");
+        out.println("\n=== Create New Task ===");
 
         Vehicle vehicle = selectVehicle();
         if (vehicle == null) return;
@@ -1060,19 +1398,34 @@ public class MenuSystem {
         String description = getStringInput("Enter task description: ");
         int priority = getIntInput("Enter priority (1-High, 2-Medium, 3-Low): ");
 
-        try {
-            Task task = new Task(
-                    dataStore.getNextTaskId(),
-                    description,
-                    priority,
-                    vehicle
-            );
-            dataStore.addTask(task);
-            vehicle.addTask(task);
-            System.out.println("Task created successfully!");
-        } catch (IllegalArgumentException e) {
-            throw new BayMotorsException("Invalid task data: " + e.getMessage(),
-                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        Task task = garage.createTask(currentUser, vehicle, description, priority);
+        out.println("Task created successfully!");
+        if (getStringInput("Reserve parts for this task? (y/n): ").equalsIgnoreCase("y")) {
+            handleReserveParts(task);
+        }
+    }
+
+    /**
+     * Holds parts for a task at the cheapest supplier with enough stock.
+     * Reservations expire after 48 hours unless the task is started.
+     */
+    private void handleReserveParts(Task task) {
+        while (true) {
+            String code = getStringInput("Enter part code (blank to finish): ");
+            if (code.isEmpty()) {
+                return;
+            }
+            int quantity = getIntInput("Enter quantity: ");
+
+            PartSourcingIndex.SupplierOffer offer = dataStore.getSourcingIndex().findCheapest(code, quantity);
+            PartReservation reservation = offer == null ? null : dataStore.getReservationManager()
+                    .reserve(offer.getSupplier(), code, quantity, RESERVATION_TTL_MILLIS);
+            if (reservation == null) {
+                out.println("No supplier can reserve " + quantity + " of part " + code + ".");
+                continue;
+            }
+            task.addReservation(reservation);
+            out.println("Reserved " + quantity + " x " + code + " at " + offer.getSupplier().getName());
         }
     }
 
@@ -1081,45 +1434,46 @@ public class MenuSystem {
      * Including task status, assigned mechanic, and vehicle information
      */
     private void handleViewAllTasks() {
-        List<Task> allTasks = dataStore.getAllTasks();
-        if (allTasks.isEmpty()) {
-            System.out.println("No tasks found in the system.");
+        if (dataStore.getTaskCount() == 0) {
+            out.println("No tasks found in the system.");
             return;
         }
+        viewPages(new PagedRenderer<>("=== All Tasks ===",
+                dataStore::getTaskCount, dataStore::getTasks,
+                (buffer, number, task) -> formatTask(buffer, task),
+                out, DETAIL_PAGE_SIZE));
+    }
 
-        System.out.println("\n=== All Tasks ===");
-        for (Task task : allTasks) {
-            // Basic task information
-            System.out.println("\nTask ID: " + task.getId());
-            System.out.println("Description: " + task.getDescription());
-            System.out.println("Priority: " + task.getPriority());
-            System.out.println("Status: " + task.getState().getStatus());
-            System.out.println("Created: " + task.getCreatedDate());
-
-            // Completion information if available
-            if (task.getCompletedDate() != null) {
-                System.out.println("Completed: " + task.getCompletedDate());
-            }
-
-            // Assigned mechanic information
-            if (task.getAssignedMechanic() != null) {
-                System.out.println("Assigned to: " + task.getAssignedMechanic().getName());
-            }
+    private static void formatTask(StringBuilder buffer, Task task) {
+        // Basic task information
+        buffer.append("\nTask ID: ").append(task.getId())
+                .append("\nDescription: ").append(task.getDescription())
+                .append("\nPriority: ").append(task.getPriority())
+                .append("\nStatus: ").append(task.getState().getStatus())
+                .append("\nCreated: ").append(task.getCreatedDate())
+                .append('\n');
+
+        // Completion information if available
+        if (task.getCompletedDate() != null) {
+            buffer.append("Completed: ").append(task.getCompletedDate()).append('\n');
+        }
 
-            // Vehicle and owner information
-            if (task.getVehicle() != null) {
-                Vehicle vehicle = task.getVehicle();
-                System.out.printf("Vehicle: %s %s (%s)\n",
-                        vehicle.getManufacturer().getName(),
-                        vehicle.getModel(),
-                        vehicle.getRegistration());
+        // Assigned mechanic information
+        if (task.getAssignedMechanic() != null) {
+            buffer.append("Assigned to: ").append(task.getAssignedMechanic().getName()).append('\n');
+        }
 
-                if (vehicle.getOwner() != null) {
-                    System.out.println("Owner: " + vehicle.getOwner().getName());
-                }
+        // Vehicle and owner information
+        if (task.getVehicle() != null) {
+            Vehicle vehicle = task.getVehicle();
+            buffer.append("Vehicle: ").append(vehicle.getManufacturer().getName())
+                    .append(' ').append(vehicle.getModel())
+                    .append(" (").append(vehicle.getRegistration()).append(")\n");
+            if (vehicle.getOwner() != null) {
+                buffer.append("Owner: ").append(vehicle.getOwner().getName()).append('\n');
             }
-            System.out.println("------------------------");
         }
+        buffer.append("------------------------\n");
     }
 
     /**
@@ -1128,7 +1482,7 @@ public class MenuSystem {
      * @return Newly created manufacturer or null if creation fails
      */
     private Manufacturer createNewManufacturer() {
-        System.out.println("\n=== Add New Manufacturer ===");
+        out.println("\n=== Add New Manufacturer ===");
         String name = getStringInput("Enter manufacturer name: ");
 
         try {
@@ -1137,10 +1491,10 @@ public class MenuSystem {
                     name
             );
             dataStore.addManufacturer(manufacturer);
-            System.out.println("Manufacturer added successfully!");
+            out.println("Manufacturer added successfully!");
             return manufacturer;
         } catch (Exception e) {
-            System.out.println("Error adding manufacturer: " + e.getMessage());
+            out.println("Error adding manufacturer: " + e.getMessage());
             return null;
         }
     }
@@ -1151,9 +1505,9 @@ public class MenuSystem {
      * @return Selected or created manufacturer, or null if cancelled
      */
     private Manufacturer selectOrCreateManufacturer() {
-        System.out.println("\n1. Select Existing Manufacturer");
-        System.out.println("2. Create New Manufacturer");
-        System.out.println("3. Cancel");
+        out.println("\n1. Select Existing Manufacturer");
+        out.println("2. Create New Manufacturer");
+        out.println("3. Cancel");
 
         int choice = getIntInput("Choose option: ");
 
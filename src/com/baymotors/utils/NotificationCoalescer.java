@@ -0,0 +1,175 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Customer;
+import com.baymotors.patterns.factory.DigestNotification;
+import com.baymotors.patterns.factory.Notification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sits in front of notification delivery and groups notifications per
+ * customer over a time window. The first notification for a customer opens
+ * the window; when it closes, exact duplicates are dropped and everything
+ * left is delivered as a single digest.
+ *
+ * All open windows share one timing wheel instead of a timer per customer.
+ * Once started, a background thread delivers closed windows every tick;
+ * NotificationUtil.dispatch() routes the system's notifications through
+ * the coalescer it has been given.
+ */
+public class NotificationCoalescer {
+    private static final int WHEEL_SIZE = 512;
+
+    private final long windowMillis;
+    private final Consumer<Notification> delivery;
+    private final TimingWheel<PendingDigest> wheel;
+    private final Map<Integer, PendingDigest> pending;
+    private ScheduledExecutorService ticker;
+
+    public NotificationCoalescer(long windowMillis, Consumer<Notification> delivery) {
+        this(windowMillis, delivery, System.currentTimeMillis());
+    }
+
+    public NotificationCoalescer(long windowMillis, Consumer<Notification> delivery, long startMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        if (delivery == null) {
+            throw new IllegalArgumentException("Delivery cannot be null");
+        }
+        this.windowMillis = windowMillis;
+        this.delivery = delivery;
+        // Roughly 100 ticks per window keeps the delivery delay error around 1%
+        this.wheel = new TimingWheel<>(Math.max(1, windowMillis / 100), WHEEL_SIZE, startMillis);
+        this.pending = new HashMap<>();
+    }
+
+    public boolean submit(Notification notification) {
+        return submit(notification, System.currentTimeMillis());
+    }
+
+    /**
+     * Queues a notification for its customer's digest.
+     *
+     * @return false if an identical message is already pending for the customer
+     */
+    public boolean submit(Notification notification, long nowMillis) {
+        if (notification == null || notification.getCustomer() == null) {
+            throw new IllegalArgumentException("Notification must have a customer");
+        }
+        Customer customer = notification.getCustomer();
+        synchronized (this) {
+            PendingDigest digest = pending.get(customer.getId());
+            if (digest == null) {
+                digest = new PendingDigest(customer);
+                pending.put(customer.getId(), digest);
+                digest.timeout = wheel.schedule(digest, nowMillis + windowMillis);
+            }
+            return digest.add(notification);
+        }
+    }
+
+    public int flushDue() {
+        return flushDue(System.currentTimeMillis());
+    }
+
+    /**
+     * Delivers every digest whose window has closed.
+     *
+     * @return Number of notifications handed to delivery
+     */
+    public int flushDue(long nowMillis) {
+        return wheel.advance(nowMillis, this::deliver);
+    }
+
+    /**
+     * Delivers everything still pending, regardless of window (e.g. on shutdown).
+     */
+    public int flushAll() {
+        List<PendingDigest> all;
+        synchronized (this) {
+            all = new ArrayList<>(pending.values());
+        }
+        int delivered = 0;
+        for (PendingDigest digest : all) {
+            if (digest.timeout.cancel()) {
+                deliver(digest);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Starts a background thread that delivers closed windows once per tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = wheel.getTickMillis();
+        ticker.scheduleAtFixedRate(() -> flushDue(System.currentTimeMillis()), tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread and delivers everything still pending.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (ticker == null) {
+                return;
+            }
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        flushAll();
+    }
+
+    public synchronized int getPendingCustomerCount() {
+        return pending.size();
+    }
+
+    private void deliver(PendingDigest digest) {
+        Notification notification;
+        synchronized (this) {
+            pending.remove(digest.customer.getId());
+            notification = digest.toNotification();
+        }
+        delivery.accept(notification);
+    }
+
+    private static final class PendingDigest {
+        private final Customer customer;
+        // message -> first notification carrying it, in arrival order
+        private final Map<String, Notification> notifications = new LinkedHashMap<>();
+        private TimingWheel.Timeout<PendingDigest> timeout;
+
+        PendingDigest(Customer customer) {
+            this.customer = customer;
+        }
+
+        boolean add(Notification notification) {
+            return notifications.putIfAbsent(notification.getMessage(), notification) == null;
+        }
+
+        Notification toNotification() {
+            if (notifications.size() == 1) {
+                return notifications.values().iterator().next();
+            }
+            return new DigestNotification(customer, new ArrayList<>(notifications.keySet()));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.baymotors.utils;
+
+import com.baymotors.patterns.factory.NotificationType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivery counters and latency histograms per notification type.
+ * Every BaseNotification.send() is recorded here.
+ */
+public class NotificationMetrics {
+    public enum Outcome {
+        SENT,
+        FAILED,
+        ERROR
+    }
+
+    private static final NotificationMetrics instance = new NotificationMetrics();
+
+    private final Map<NotificationType, LongAdder[]> counters;
+    private final Map<NotificationType, LatencyHistogram> latencies;
+
+    private NotificationMetrics() {
+        counters = new EnumMap<>(NotificationType.class);
+        latencies = new EnumMap<>(NotificationType.class);
+        // Filled once up front so the hot path only reads the maps
+        for (NotificationType type : NotificationType.values()) {
+            LongAdder[] byOutcome = new LongAdder[Outcome.values().length];
+            for (int i = 0; i < byOutcome.length; i++) {
+                byOutcome[i] = new LongAdder();
+            }
+            counters.put(type, byOutcome);
+            latencies.put(type, new LatencyHistogram());
+        }
+    }
+
+    public static NotificationMetrics getInstance() {
+        return instance;
+    }
+
+    public void record(NotificationType type, Outcome outcome, long latencyNanos) {
+        if (type == null || outcome == null) {
+            return;
+        }
+        counters.get(type)[outcome.ordinal()].increment();
+        latencies.get(type).record(latencyNanos);
+    }
+
+    public long getCount(NotificationType type, Outcome outcome) {
+        return counters.get(type)[outcome.ordinal()].sum();
+    }
+
+    public long getTotalCount(Outcome outcome) {
+        long total = 0;
+        for (LongAdder[] byOutcome : counters.values()) {
+            total += byOutcome[outcome.ordinal()].sum();
+        }
+        return total;
+    }
+
+    public LatencyHistogram getLatency(NotificationType type) {
+        return latencies.get(type);
+    }
+
+    public void reset() {
+        for (NotificationType type : NotificationType.values()) {
+            for (LongAdder counter : counters.get(type)) {
+                counter.reset();
+            }
+            latencies.get(type).reset();
+        }
+    }
+
+    /**
+     * Multi-line report of every type that has recorded at least one send.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (NotificationType type : NotificationType.values()) {
+            LatencyHistogram latency = latencies.get(type);
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            report.append(type)
+                    .append(": sent=").append(getCount(type, Outcome.SENT))
+                    .append(" failed=").append(getCount(type, Outcome.FAILED))
+                    .append(" errors=").append(getCount(type, Outcome.ERROR))
+                    .append(" latency[").append(latency.summary()).append("]\n");
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,499 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Customer;
+import com.baymotors.patterns.factory.Notification;
+import com.baymotors.patterns.factory.NotificationFactory;
+import com.baymotors.patterns.factory.NotificationType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Holds notifications that should go out later (e.g. "send at 9am tomorrow").
+ *
+ * Entries are kept in a binary min-heap made of parallel primitive arrays
+ * (due time, customer ID, type), about 13 bytes per scheduled notification,
+ * so millions of future sends fit in a few tens of megabytes. Customers are
+ * resolved and notification objects created only when an entry is released.
+ *
+ * A file-backed scheduler keeps a snapshot plus a journal next to it
+ * ("&lt;file&gt;.journal"). Every schedule and every release is appended to the
+ * journal and flushed before the call returns, so a crash loses nothing
+ * and released entries are not sent again after a restart. Releases are
+ * journalled before the batch is handed to the sender, so a crash during
+ * sending drops that batch rather than sending it twice. save() writes a
+ * fresh snapshot and starts an empty journal; loading replays the journal
+ * and then does the same.
+ */
+public class NotificationScheduler implements Closeable {
+    private static final int FILE_MAGIC = 0x424D534E; // "BMSN"
+    private static final int JOURNAL_MAGIC = 0x424D534A; // "BMSJ"
+    private static final int FILE_VERSION = 2;
+    private static final byte OP_SCHEDULED = 1;
+    private static final byte OP_RELEASED = 2;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final NotificationType[] TYPES = NotificationType.values();
+
+    private final Path storeFile;
+    private final Path journalFile;
+    private DataOutputStream journal;
+    // Snapshot and journal carry this number so a journal already folded into the snapshot is not replayed
+    private long generation;
+    private long[] dueAt;
+    private int[] customerIds;
+    private byte[] types;
+    private int size;
+    private ScheduledExecutorService ticker;
+
+    public NotificationScheduler() {
+        this.storeFile = null;
+        this.journalFile = null;
+        this.dueAt = new long[INITIAL_CAPACITY];
+        this.customerIds = new int[INITIAL_CAPACITY];
+        this.types = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates a scheduler backed by a file, loading any notifications saved
+     * or journalled there by a previous run.
+     */
+    public NotificationScheduler(Path storeFile) throws IOException {
+        if (storeFile == null) {
+            throw new IllegalArgumentException("Store file cannot be null");
+        }
+        this.storeFile = storeFile;
+        this.journalFile = storeFile.resolveSibling(storeFile.getFileName() + ".journal");
+        this.dueAt = new long[INITIAL_CAPACITY];
+        this.customerIds = new int[INITIAL_CAPACITY];
+        this.types = new byte[INITIAL_CAPACITY];
+        if (Files.exists(storeFile)) {
+            load(storeFile);
+        }
+        if (Files.exists(journalFile)) {
+            replayJournal();
+        }
+        compact();
+    }
+
+    public void schedule(NotificationType type, Customer customer, LocalDateTime sendAt) {
+        if (sendAt == null) {
+            throw new IllegalArgumentException("Send time cannot be null");
+        }
+        long millis = sendAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        schedule(type, customer, millis);
+    }
+
+    public void schedule(NotificationType type, Customer customer, long dueAtMillis) {
+        if (customer == null) {
+            throw new IllegalArgumentException("Customer cannot be null");
+        }
+        schedule(type, customer.getId(), dueAtMillis);
+    }
+
+    public synchronized void schedule(NotificationType type, int customerId, long dueAtMillis) {
+        if (type == null) {
+            throw new IllegalArgumentException("Notification type cannot be null");
+        }
+        if (type == NotificationType.DIGEST) {
+            throw new IllegalArgumentException("Digest notifications cannot be scheduled");
+        }
+        byte typeIndex = (byte) type.ordinal();
+        if (journal != null) {
+            try {
+                appendToJournal(OP_SCHEDULED, dueAtMillis, customerId, typeIndex);
+                journal.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record scheduled notification", e);
+            }
+        }
+        push(dueAtMillis, customerId, typeIndex);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public boolean isFileBacked() {
+        return storeFile != null;
+    }
+
+    /**
+     * @return Due time of the earliest scheduled notification, or Long.MAX_VALUE if none
+     */
+    public synchronized long getNextDueMillis() {
+        return size == 0 ? Long.MAX_VALUE : dueAt[0];
+    }
+
+    /**
+     * Releases every notification due at or before the given time, handing
+     * them to the sender in batches of at most batchSize. Entries whose
+     * customer no longer exists are dropped.
+     *
+     * @return Number of notifications handed to the sender
+     */
+    public int releaseDue(long nowMillis, int batchSize, IntFunction<Customer> customerLookup,
+                          Consumer<List<Notification>> sender) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        int released = 0;
+        int[] batchCustomers = new int[batchSize];
+        byte[] batchTypes = new byte[batchSize];
+        while (true) {
+            int count = 0;
+            synchronized (this) {
+                while (count < batchSize && size > 0 && dueAt[0] <= nowMillis) {
+                    batchCustomers[count] = customerIds[0];
+                    batchTypes[count] = types[0];
+                    journalRelease(dueAt[0], customerIds[0], types[0]);
+                    count++;
+                    pop();
+                }
+                flushJournal();
+            }
+            if (count == 0) {
+                return released;
+            }
+            List<Notification> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Customer customer = customerLookup.apply(batchCustomers[i]);
+                if (customer != null) {
+                    batch.add(NotificationFactory.createNotification(TYPES[batchTypes[i]], customer));
+                }
+            }
+            if (!batch.isEmpty()) {
+                sender.accept(batch);
+                released += batch.size();
+            }
+        }
+    }
+
+    /**
+     * Starts a background thread that releases due notifications once per
+     * tick, handing them to the sender in batches.
+     */
+    public synchronized void start(long tickMillis, int batchSize, IntFunction<Customer> customerLookup,
+                                   Consumer<List<Notification>> sender) {
+        if (ticker != null) {
+            return;
+        }
+        if (tickMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Tick and batch size must be positive");
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                releaseDue(System.currentTimeMillis(), batchSize, customerLookup, sender);
+            } catch (RuntimeException e) {
+                // Keep the ticker alive; the next tick tries again
+                System.err.println("Could not release scheduled notifications: " + e.getMessage());
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the release thread, waiting for a release in progress to finish.
+     */
+    public void stop() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = ticker;
+            ticker = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes all pending notifications to the backing file and starts an
+     * empty journal. The file is replaced atomically so a crash mid-write
+     * leaves the previous snapshot and journal intact.
+     */
+    public synchronized void save() throws IOException {
+        if (storeFile == null) {
+            throw new IllegalStateException("Scheduler has no backing file");
+        }
+        compact();
+    }
+
+    private synchronized void compact() throws IOException {
+        long next = generation + 1;
+        writeSnapshot(storeFile, next);
+        generation = next;
+        closeJournal();
+        journal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(journalFile)));
+        journal.writeInt(JOURNAL_MAGIC);
+        journal.writeLong(generation);
+        writeTypeNames(journal);
+        journal.flush();
+    }
+
+    /**
+     * Writes a copy of all pending notifications to another file.
+     */
+    public synchronized void save(Path file) throws IOException {
+        writeSnapshot(file, generation);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeJournal();
+    }
+
+    private void writeSnapshot(Path file, long snapshotGeneration) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(snapshotGeneration);
+            writeTypeNames(out);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(dueAt[i]);
+                out.writeInt(customerIds[i]);
+                out.writeByte(types[i]);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Type names are written once so entries can store a one-byte index
+    // and still survive the enum being reordered
+    private static void writeTypeNames(DataOutputStream out) throws IOException {
+        out.writeByte(TYPES.length);
+        for (NotificationType type : TYPES) {
+            out.writeUTF(type.name());
+        }
+    }
+
+    private static byte[] readTypeNames(DataInputStream in) throws IOException {
+        int typeCount = in.readUnsignedByte();
+        byte[] ordinals = new byte[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            ordinals[i] = (byte) NotificationType.valueOf(in.readUTF()).ordinal();
+        }
+        return ordinals;
+    }
+
+    private synchronized void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a scheduled notification file: " + file);
+            }
+            int version = in.readInt();
+            if (version == 1) {
+                generation = 0;
+            } else if (version == FILE_VERSION) {
+                generation = in.readLong();
+            } else {
+                throw new IOException("Unsupported scheduled notification file version: " + version);
+            }
+            byte[] ordinals = readTypeNames(in);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long due = in.readLong();
+                int customerId = in.readInt();
+                byte type = ordinals[in.readUnsignedByte()];
+                push(due, customerId, type);
+            }
+        }
+    }
+
+    // ===== Journal =====
+
+    /**
+     * Applies the journal written since the last snapshot. Releases cancel
+     * the matching scheduled entry; a record cut short by a crash ends the
+     * replay.
+     */
+    private synchronized void replayJournal() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            if (in.readInt() != JOURNAL_MAGIC) {
+                throw new IOException("Not a scheduled notification journal: " + journalFile);
+            }
+            if (in.readLong() != generation) {
+                return; // Already folded into the snapshot
+            }
+            byte[] ordinals = readTypeNames(in);
+            List<long[]> scheduled = new ArrayList<>();
+            Map<String, Integer> released = new HashMap<>();
+            try {
+                while (true) {
+                    byte op = in.readByte();
+                    long due = in.readLong();
+                    int customerId = in.readInt();
+                    byte type = ordinals[in.readUnsignedByte()];
+                    if (op == OP_SCHEDULED) {
+                        scheduled.add(new long[] {due, customerId, type});
+                    } else {
+                        released.merge(due + ":" + customerId + ":" + type, 1, Integer::sum);
+                    }
+                }
+            } catch (EOFException e) {
+                // End of the journal, or a record cut short by a crash
+            }
+
+            // Releases may also cancel entries that came from the snapshot
+            for (long[] entry : scheduled) {
+                push(entry[0], (int) entry[1], (byte) entry[2]);
+            }
+            if (!released.isEmpty()) {
+                removeReleased(released);
+            }
+        }
+    }
+
+    private void removeReleased(Map<String, Integer> released) {
+        long[] keptDue = new long[size];
+        int[] keptCustomers = new int[size];
+        byte[] keptTypes = new byte[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            String key = dueAt[i] + ":" + customerIds[i] + ":" + types[i];
+            Integer remaining = released.get(key);
+            if (remaining != null) {
+                if (remaining == 1) {
+                    released.remove(key);
+                } else {
+                    released.put(key, remaining - 1);
+                }
+                continue;
+            }
+            keptDue[kept] = dueAt[i];
+            keptCustomers[kept] = customerIds[i];
+            keptTypes[kept] = types[i];
+            kept++;
+        }
+        size = 0;
+        for (int i = 0; i < kept; i++) {
+            push(keptDue[i], keptCustomers[i], keptTypes[i]);
+        }
+    }
+
+    private void appendToJournal(byte op, long due, int customerId, byte type) throws IOException {
+        journal.writeByte(op);
+        journal.writeLong(due);
+        journal.writeInt(customerId);
+        journal.writeByte(type);
+    }
+
+    // A failed write here still lets the batch go out; it may then be sent again after a restart
+    private void journalRelease(long due, int customerId, byte type) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            appendToJournal(OP_RELEASED, due, customerId, type);
+        } catch (IOException e) {
+            System.err.println("Could not record released notification: " + e.getMessage());
+        }
+    }
+
+    private void flushJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            System.err.println("Could not record released notifications: " + e.getMessage());
+        }
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    // ===== Heap operations =====
+
+    private void push(long due, int customerId, byte type) {
+        if (size == dueAt.length) {
+            int capacity = dueAt.length * 2;
+            dueAt = Arrays.copyOf(dueAt, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dueAt[parent] <= due) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, due, customerId, type);
+    }
+
+    private void pop() {
+        size--;
+        if (size == 0) {
+            return;
+        }
+        long due = dueAt[size];
+        int customerId = customerIds[size];
+        byte type = types[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && dueAt[child + 1] < dueAt[child]) {
+                child++;
+            }
+            if (due <= dueAt[child]) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        set(i, due, customerId, type);
+    }
+
+    private void move(int from, int to) {
+        set(to, dueAt[from], customerIds[from], types[from]);
+    }
+
+    private void set(int i, long due, int customerId, byte type) {
+        dueAt[i] = due;
+        customerIds[i] = customerId;
+        types[i] = type;
+    }
+}
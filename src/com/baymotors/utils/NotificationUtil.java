@@ -1,17 +1,61 @@
 package com.baymotors.utils;
 
 import com.baymotors.models.Customer;
+import com.baymotors.models.Vehicle;
 import com.baymotors.patterns.factory.Notification;
 import com.baymotors.patterns.factory.NotificationFactory;
 import com.baymotors.patterns.factory.NotificationType;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 public class NotificationUtil {
+    private static volatile NotificationCoalescer coalescer;
+
+    /**
+     * Routes every dispatched notification through the coalescer from now
+     * on, or straight to delivery again if null.
+     */
+    public static void useCoalescer(NotificationCoalescer notificationCoalescer) {
+        coalescer = notificationCoalescer;
+    }
+
+    /**
+     * Sends a notification, or queues it for the customer's digest when a
+     * coalescer is in use.
+     *
+     * @return false if it was sent and delivery failed
+     */
+    public static boolean dispatch(Notification notification) {
+        NotificationCoalescer current = coalescer;
+        if (current != null) {
+            current.submit(notification);
+            return true;
+        }
+        return notification.send();
+    }
+
+    /**
+     * Delivery end of the coalescer: sends a digest or single notification
+     * and reports failures without throwing into the timer thread.
+     */
+    static void deliver(Notification notification) {
+        try {
+            if (!notification.send()) {
+                System.out.println("Failed to send notification to customer: "
+                        + notification.getCustomer().getName());
+            }
+        } catch (Exception e) {
+            System.out.println("Error sending notification: " + e.getMessage());
+        }
+    }
+
     public static void sendNotification(NotificationType type, Customer customer) {
         try {
             Notification notification = NotificationFactory.createNotification(type, customer);
-            if (!notification.send()) {
+            if (!dispatch(notification)) {
                 System.out.println("Failed to send notification to customer: " + customer.getName());
             }
         } catch (Exception e) {
@@ -19,6 +63,19 @@ public class NotificationUtil {
         }
     }
 
+    public static void sendBatch(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            try {
+                if (!dispatch(notification)) {
+                    System.out.println("Failed to send notification to customer: "
+                            + notification.getCustomer().getName());
+                }
+            } catch (Exception e) {
+                System.out.println("Error sending notification: " + e.getMessage());
+            }
+        }
+    }
+
     public static void sendOfferToAllCustomers(List<Customer> customers) {
         for (Customer customer : customers) {
             if (customer.isRegistered()) {
@@ -27,6 +84,48 @@ public class NotificationUtil {
         }
     }
 
+    /**
+     * Sends a notification to every customer in a segment, walking the
+     * bitmap directly rather than building a customer list first.
+     *
+     * @return Number of notifications sent
+     */
+    public static int sendToSegment(NotificationType type, CompressedBitmap segment,
+                                    IntFunction<Customer> customerLookup) {
+        int[] sent = new int[1];
+        segment.forEach(id -> {
+            Customer customer = customerLookup.apply(id);
+            if (customer != null) {
+                sendNotification(type, customer);
+                sent[0]++;
+            }
+        });
+        return sent[0];
+    }
+
+    /**
+     * Sends a service reminder to the owner of every vehicle due on or
+     * before the given date, taking due vehicles from the index in batches.
+     *
+     * @return Number of reminders sent
+     */
+    public static int sendServiceReminders(ServiceReminderIndex index, LocalDate today, int batchSize) {
+        int sent = 0;
+        List<Vehicle> due;
+        while (!(due = index.pollDue(today, batchSize)).isEmpty()) {
+            List<Notification> batch = new ArrayList<>(due.size());
+            for (Vehicle vehicle : due) {
+                if (vehicle.getOwner() != null) {
+                    batch.add(NotificationFactory.createNotification(
+                            NotificationType.SERVICE_REMINDER, vehicle.getOwner()));
+                }
+            }
+            sendBatch(batch);
+            sent += batch.size();
+        }
+        return sent;
+    }
+
     public static void sendRegistrationBenefits(Customer customer) {
         if (!customer.isRegistered()) {
             sendNotification(NotificationType.REGISTRATION_BENEFIT, customer);
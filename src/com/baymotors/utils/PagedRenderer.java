@@ -0,0 +1,121 @@
+package com.baymotors.utils;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Shows a large list one page at a time.
+ *
+ * Only the current page is fetched from the source. Its rows are formatted
+ * into one reused buffer and written with a single print and flush, so a
+ * page costs the same however long the list is. Commands: "n" next page,
+ * "p" previous page, "g&lt;page&gt;" jump to a page.
+ */
+public class PagedRenderer<T> {
+    public interface PageSource<T> {
+        List<T> fetch(int offset, int limit);
+    }
+
+    public interface RowFormatter<T> {
+        /**
+         * @param rowNumber Position of the row in the whole list, from 1
+         */
+        void format(StringBuilder out, int rowNumber, T row);
+    }
+
+    private final String title;
+    private final IntSupplier count;
+    private final PageSource<T> source;
+    private final RowFormatter<T> formatter;
+    private final PrintStream out;
+    private final int pageSize;
+    private final StringBuilder buffer;
+    private List<T> rows;
+    private int page;
+    private int offset;
+
+    public PagedRenderer(String title, IntSupplier count, PageSource<T> source,
+                         RowFormatter<T> formatter, PrintStream out, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.title = title;
+        this.count = count;
+        this.source = source;
+        this.formatter = formatter;
+        this.out = out;
+        this.pageSize = pageSize;
+        this.buffer = new StringBuilder(1024);
+        this.rows = Collections.emptyList();
+    }
+
+    /**
+     * Fetches and prints the current page.
+     *
+     * @return false if the list is empty, in which case nothing is printed
+     */
+    public boolean render() {
+        int total = count.getAsInt();
+        if (total == 0) {
+            rows = Collections.emptyList();
+            return false;
+        }
+        int pageCount = (total + pageSize - 1) / pageSize;
+        page = Math.max(0, Math.min(page, pageCount - 1));
+        offset = page * pageSize;
+        rows = source.fetch(offset, pageSize);
+
+        buffer.setLength(0);
+        buffer.append('\n').append(title)
+                .append(" (page ").append(page + 1).append(" of ").append(pageCount)
+                .append(", ").append(total).append(" total)\n");
+        for (int i = 0; i < rows.size(); i++) {
+            formatter.format(buffer, offset + i + 1, rows.get(i));
+        }
+        out.append(buffer);
+        out.flush();
+        return true;
+    }
+
+    /**
+     * Moves to another page if the input is a navigation command. The page
+     * is not re-rendered.
+     *
+     * @return Whether the input was a navigation command
+     */
+    public boolean navigate(String input) {
+        String command = input.trim().toLowerCase();
+        if (command.equals("n")) {
+            page++;
+            return true;
+        }
+        if (command.equals("p")) {
+            page = Math.max(0, page - 1);
+            return true;
+        }
+        if (command.startsWith("g")) {
+            try {
+                page = Math.max(0, Integer.parseInt(command.substring(1).trim()) - 1);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param rowNumber A row number shown on the current page
+     * @return The row, or null if the number is not on the current page
+     */
+    public T rowAt(int rowNumber) {
+        int index = rowNumber - offset - 1;
+        return index >= 0 && index < rows.size() ? rows.get(index) : null;
+    }
+
+    public int getPage() {
+        return page + 1;
+    }
+}
@@ -0,0 +1,190 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.observer.InventoryListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of supplier part catalogues, keyed by supplier ID.
+ *
+ * Entries expire after a fixed time and the least recently used entry is
+ * evicted once maxEntries is reached. A supplier's entry is dropped as
+ * soon as it adds a part or changes a price. When several threads miss on
+ * the same supplier at once only one of them loads the catalogue; the
+ * others wait for that load and share its result.
+ */
+public class PartCatalogueCache implements InventoryListener {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, CachedCatalogue> entries; // access order, eldest first
+    private final Map<Integer, CompletableFuture<List<Part>>> loading;
+    private final Map<Integer, Long> generations; // bumped on invalidation so in-flight loads are not stored
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder loads;
+    private final LongAdder evictions;
+
+    public PartCatalogueCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.loading = new HashMap<>();
+        this.generations = new HashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.loads = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Subscribes to a supplier's catalogue changes so its entry is dropped
+     * when they happen.
+     */
+    public void track(Supplier supplier) {
+        if (supplier != null) {
+            supplier.addInventoryListener(this);
+        }
+    }
+
+    public void untrack(Supplier supplier) {
+        if (supplier != null) {
+            supplier.removeInventoryListener(this);
+            invalidate(supplier.getId());
+        }
+    }
+
+    /**
+     * @return The cached catalogue, loading it with loader if it is missing or expired
+     */
+    public List<Part> get(int supplierId, java.util.function.Supplier<List<Part>> loader) {
+        CompletableFuture<List<Part>> load;
+        boolean owner = false;
+        long generation;
+        synchronized (this) {
+            CachedCatalogue cached = entries.get(supplierId);
+            if (cached != null && System.nanoTime() < cached.expiresAt) {
+                hits.increment();
+                return cached.parts;
+            }
+            misses.increment();
+            if (cached != null) {
+                entries.remove(supplierId);
+            }
+            generation = generations.getOrDefault(supplierId, 0L);
+            load = loading.get(supplierId);
+            if (load == null) {
+                load = new CompletableFuture<>();
+                loading.put(supplierId, load);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return join(load);
+        }
+
+        List<Part> parts;
+        try {
+            loads.increment();
+            parts = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(supplierId, load);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            loading.remove(supplierId, load);
+            if (generations.getOrDefault(supplierId, 0L) == generation) {
+                entries.put(supplierId, new CachedCatalogue(parts, System.nanoTime() + ttlNanos));
+                evictOverflow();
+            }
+        }
+        load.complete(parts);
+        return parts;
+    }
+
+    public synchronized void invalidate(int supplierId) {
+        entries.remove(supplierId);
+        loading.remove(supplierId); // Later callers start a fresh load
+        generations.merge(supplierId, 1L, Long::sum);
+    }
+
+    public synchronized void clear() {
+        for (Integer supplierId : new ArrayList<>(entries.keySet())) {
+            invalidate(supplierId);
+        }
+        for (Integer supplierId : new ArrayList<>(loading.keySet())) {
+            invalidate(supplierId);
+        }
+    }
+
+    @Override
+    public void onPartAdded(Supplier supplier, Part part) {
+        invalidate(supplier.getId());
+    }
+
+    @Override
+    public void onPriceChanged(Supplier supplier, Part part) {
+        invalidate(supplier.getId());
+    }
+
+    // ===== Statistics =====
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getLoadCount() { return loads.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public synchronized int size() { return entries.size(); }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Integer eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+            evictions.increment();
+        }
+    }
+
+    private static List<Part> join(CompletableFuture<List<Part>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class CachedCatalogue {
+        private final List<Part> parts;
+        private final long expiresAt;
+
+        CachedCatalogue(List<Part> parts, long expiresAt) {
+            this.parts = parts;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.PartReservation;
+import com.baymotors.models.Supplier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates part reservations with a time limit and releases them when the
+ * limit passes. Expiry timers live on one shared timing wheel, so reserving,
+ * confirming and expiring are each O(1) regardless of how many are held.
+ * Other housekeeping that needs a periodic nudge, such as purging expired
+ * sessions, can ride on the same ticker with addTickTask.
+ */
+public class PartReservationManager {
+    private static final int WHEEL_SIZE = 1024;
+
+    private final TimingWheel<PartReservation> wheel;
+    private final AtomicInteger nextReservationId;
+    private final List<Runnable> tickTasks;
+    private ScheduledExecutorService ticker;
+
+    public PartReservationManager(long tickMillis) {
+        this(tickMillis, System.currentTimeMillis());
+    }
+
+    public PartReservationManager(long tickMillis, long startMillis) {
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, startMillis);
+        this.nextReservationId = new AtomicInteger(1);
+        this.tickTasks = new CopyOnWriteArrayList<>();
+    }
+
+    public PartReservation reserve(Supplier supplier, String partCode, int quantity, long ttlMillis) {
+        return reserve(supplier, partCode, quantity, ttlMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Holds stock at the supplier for ttlMillis.
+     *
+     * @return The reservation, or null if the supplier does not have enough stock
+     */
+    public PartReservation reserve(Supplier supplier, String partCode, int quantity,
+                                   long ttlMillis, long nowMillis) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("Supplier cannot be null");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Reservation time must be positive");
+        }
+        if (!supplier.reserve(partCode, quantity)) {
+            return null;
+        }
+        PartReservation reservation = new PartReservation(
+                nextReservationId.getAndIncrement(),
+                supplier,
+                partCode,
+                quantity,
+                nowMillis + ttlMillis
+        );
+        TimingWheel.Timeout<PartReservation> timeout = wheel.schedule(reservation, nowMillis + ttlMillis);
+        reservation.setOnSettled(timeout::cancel);
+        return reservation;
+    }
+
+    /**
+     * Expires every reservation whose time limit has passed.
+     *
+     * @return Number of reservations whose timer fired
+     */
+    public int expireDue(long nowMillis) {
+        return wheel.advance(nowMillis, PartReservation::expire);
+    }
+
+    public int getHeldCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Runs the task on the background thread after each tick's expiries.
+     */
+    public void addTickTask(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        tickTasks.add(task);
+    }
+
+    /**
+     * One tick: expires due reservations, then runs the tick tasks. A task
+     * that throws is reported and skipped, so it cannot cancel the ticker.
+     */
+    public void tick(long nowMillis) {
+        expireDue(nowMillis);
+        for (Runnable task : tickTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Background task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts a background thread that calls tick once per wheel tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "part-reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = wheel.getTickMillis();
+        ticker.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.observer.InventoryListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Part code -> suppliers index with each supplier's price and stock.
+ *
+ * For each part code the offers are kept sorted by price, with a max-tree
+ * of stock levels over them. "Cheapest supplier with at least N in stock"
+ * walks down the tree to the leftmost offer whose subtree holds N or more,
+ * which is O(log suppliers). Only catalogue or price changes re-sort a
+ * part's offers.
+ *
+ * Stock changes arrive on the order path, so they take no lock: they only
+ * flag the supplier's leaf as stale. The next query for the part re-reads
+ * the live stock of flagged leaves and repairs their paths to the root.
+ */
+public class PartSourcingIndex implements InventoryListener {
+    private final Map<String, PartOffers> offersByCode;
+
+    public PartSourcingIndex() {
+        this.offersByCode = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Indexes a supplier's current catalogue and subscribes to its changes.
+     */
+    public void track(Supplier supplier) {
+        if (supplier == null) {
+            return;
+        }
+        supplier.addInventoryListener(this);
+        for (Part part : supplier.getSuppliedParts()) {
+            offersFor(part.getCode()).upsert(supplier, part.getPrice(), supplier.getPartQuantity(part.getCode()));
+        }
+    }
+
+    public void untrack(Supplier supplier) {
+        if (supplier == null) {
+            return;
+        }
+        supplier.removeInventoryListener(this);
+        for (PartOffers offers : offersByCode.values()) {
+            offers.remove(supplier);
+        }
+    }
+
+    public void clear() {
+        offersByCode.clear();
+    }
+
+    @Override
+    public void onPartAdded(Supplier supplier, Part part) {
+        offersFor(part.getCode()).upsert(supplier, part.getPrice(), supplier.getPartQuantity(part.getCode()));
+    }
+
+    @Override
+    public void onPriceChanged(Supplier supplier, Part part) {
+        offersFor(part.getCode()).upsert(supplier, part.getPrice(), supplier.getPartQuantity(part.getCode()));
+    }
+
+    @Override
+    public void onStockChanged(Supplier supplier, String partCode, int oldQuantity, int newQuantity) {
+        PartOffers offers = offersByCode.get(partCode);
+        if (offers != null) {
+            offers.markStale(supplier);
+        }
+    }
+
+    /**
+     * @return The cheapest supplier holding at least minQuantity of the part, or null if none
+     */
+    public SupplierOffer findCheapest(String partCode, int minQuantity) {
+        PartOffers offers = offersByCode.get(partCode);
+        return offers == null ? null : offers.cheapestWith(Math.max(minQuantity, 1));
+    }
+
+    /**
+     * @return Every supplier listing the part, cheapest first
+     */
+    public List<SupplierOffer> getOffers(String partCode) {
+        PartOffers offers = offersByCode.get(partCode);
+        return offers == null ? Collections.emptyList() : offers.snapshot();
+    }
+
+    /**
+     * Picks the cheapest supplier with enough stock for each line of a basket.
+     *
+     * @param basket Part code -> quantity needed
+     */
+    public BasketSourcing sourceBasket(Map<String, Integer> basket) {
+        Map<String, SupplierOffer> chosen = new LinkedHashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        double total = 0;
+        for (Map.Entry<String, Integer> line : basket.entrySet()) {
+            SupplierOffer offer = findCheapest(line.getKey(), line.getValue());
+            if (offer == null) {
+                unavailable.add(line.getKey());
+            } else {
+                chosen.put(line.getKey(), offer);
+                total += offer.getPrice() * line.getValue();
+            }
+        }
+        return new BasketSourcing(chosen, unavailable, total);
+    }
+
+    private PartOffers offersFor(String partCode) {
+        return offersByCode.computeIfAbsent(partCode, k -> new PartOffers(k));
+    }
+
+    // ===== Result types =====
+
+    public static final class SupplierOffer {
+        private final Supplier supplier;
+        private final String partCode;
+        private final double price;
+        private final int quantity;
+
+        SupplierOffer(Supplier supplier, String partCode, double price, int quantity) {
+            this.supplier = supplier;
+            this.partCode = partCode;
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        public Supplier getSupplier() { return supplier; }
+        public String getPartCode() { return partCode; }
+        public double getPrice() { return price; }
+        public int getQuantity() { return quantity; }
+    }
+
+    public static final class BasketSourcing {
+        private final Map<String, SupplierOffer> lines;
+        private final List<String> unavailable;
+        private final double totalCost;
+
+        BasketSourcing(Map<String, SupplierOffer> lines, List<String> unavailable, double totalCost) {
+            this.lines = Collections.unmodifiableMap(lines);
+            this.unavailable = Collections.unmodifiableList(unavailable);
+            this.totalCost = totalCost;
+        }
+
+        public boolean isComplete() { return unavailable.isEmpty(); }
+        public Map<String, SupplierOffer> getLines() { return lines; }
+        public List<String> getUnavailable() { return unavailable; }
+        public double getTotalCost() { return totalCost; }
+    }
+
+    // ===== Per-part offers =====
+
+    private static final class PartOffers {
+        private final String partCode;
+        private Supplier[] suppliers = new Supplier[0]; // sorted by price, then supplier ID
+        private double[] prices = new double[0];
+        private int[] maxTree = new int[2];             // 1-based max-tree, leaves at [leafBase + i]
+        private int leafBase = 1;
+        // Replaced, never changed, by rebuild so markStale can read them without the lock
+        private volatile Map<Integer, Integer> positions = new HashMap<>(); // supplier ID -> index
+        private volatile AtomicIntegerArray stale = new AtomicIntegerArray(0); // 1 = leaf needs re-reading
+        private final AtomicBoolean anyStale = new AtomicBoolean();
+
+        PartOffers(String partCode) {
+            this.partCode = partCode;
+        }
+
+        synchronized void upsert(Supplier supplier, double price, int quantity) {
+            Integer position = positions.get(supplier.getId());
+            if (position != null && prices[position] == price) {
+                setQuantity(position, quantity);
+                return;
+            }
+            List<Supplier> newSuppliers = new ArrayList<>();
+            List<Double> newPrices = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            for (int i = 0; i < suppliers.length; i++) {
+                if (suppliers[i].getId() != supplier.getId()) {
+                    newSuppliers.add(suppliers[i]);
+                    newPrices.add(prices[i]);
+                    quantities.add(maxTree[leafBase + i]);
+                }
+            }
+            int insertAt = 0;
+            while (insertAt < newSuppliers.size()
+                    && (newPrices.get(insertAt) < price
+                    || (newPrices.get(insertAt) == price && newSuppliers.get(insertAt).getId() < supplier.getId()))) {
+                insertAt++;
+            }
+            newSuppliers.add(insertAt, supplier);
+            newPrices.add(insertAt, price);
+            quantities.add(insertAt, quantity);
+            rebuild(newSuppliers, newPrices, quantities);
+        }
+
+        synchronized void remove(Supplier supplier) {
+            Integer position = positions.get(supplier.getId());
+            if (position == null) {
+                return;
+            }
+            List<Supplier> newSuppliers = new ArrayList<>();
+            List<Double> newPrices = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            for (int i = 0; i < suppliers.length; i++) {
+                if (i != position) {
+                    newSuppliers.add(suppliers[i]);
+                    newPrices.add(prices[i]);
+                    quantities.add(maxTree[leafBase + i]);
+                }
+            }
+            rebuild(newSuppliers, newPrices, quantities);
+        }
+
+        // Lock-free; called from Supplier's listener dispatch on every order
+        void markStale(Supplier supplier) {
+            Integer position = positions.get(supplier.getId());
+            AtomicIntegerArray flags = stale;
+            if (position != null && position < flags.length()) {
+                flags.set(position, 1);
+                anyStale.set(true); // After the leaf flag, so a refresh that clears this sees the flag
+            }
+        }
+
+        // Reads the live stock level rather than trusting an event's value, so
+        // events from concurrent orders arriving out of order do not matter
+        private void refreshStale() {
+            if (!anyStale.getAndSet(false)) {
+                return;
+            }
+            AtomicIntegerArray flags = stale;
+            for (int i = 0; i < suppliers.length; i++) {
+                if (flags.getAndSet(i, 0) == 1) {
+                    setQuantity(i, suppliers[i].getPartQuantity(partCode));
+                }
+            }
+        }
+
+        synchronized SupplierOffer cheapestWith(int minQuantity) {
+            refreshStale();
+            if (suppliers.length == 0 || maxTree[1] < minQuantity) {
+                return null;
+            }
+            int node = 1;
+            while (node < leafBase) {
+                node = maxTree[2 * node] >= minQuantity ? 2 * node : 2 * node + 1;
+            }
+            return offerAt(node - leafBase);
+        }
+
+        synchronized List<SupplierOffer> snapshot() {
+            refreshStale();
+            List<SupplierOffer> offers = new ArrayList<>(suppliers.length);
+            for (int i = 0; i < suppliers.length; i++) {
+                offers.add(offerAt(i));
+            }
+            return offers;
+        }
+
+        private SupplierOffer offerAt(int i) {
+            return new SupplierOffer(suppliers[i], partCode, prices[i], maxTree[leafBase + i]);
+        }
+
+        private void setQuantity(int position, int quantity) {
+            int node = leafBase + position;
+            maxTree[node] = quantity;
+            for (node >>>= 1; node >= 1; node >>>= 1) {
+                maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+            }
+        }
+
+        private void rebuild(List<Supplier> newSuppliers, List<Double> newPrices, List<Integer> quantities) {
+            int n = newSuppliers.size();
+            suppliers = newSuppliers.toArray(new Supplier[0]);
+            prices = new double[n];
+            leafBase = 1;
+            while (leafBase < n) {
+                leafBase <<= 1;
+            }
+            maxTree = new int[2 * leafBase];
+            Arrays.fill(maxTree, Integer.MIN_VALUE);
+            Map<Integer, Integer> newPositions = new HashMap<>();
+            AtomicIntegerArray newStale = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) {
+                prices[i] = newPrices.get(i);
+                maxTree[leafBase + i] = quantities.get(i);
+                newPositions.put(suppliers[i].getId(), i);
+                // A change flagged against the old layout may be lost, so re-read every leaf
+                newStale.set(i, 1);
+            }
+            for (int node = leafBase - 1; node >= 1; node--) {
+                maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+            }
+            stale = newStale;
+            positions = newPositions;
+            anyStale.set(true);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.baymotors.utils;
+
+import java.util.Arrays;
+
+/**
+ * The set of IDs present in one DataStore table, in ID order, with O(log n)
+ * access by position.
+ *
+ * IDs are bits in a bitset, and a Fenwick tree over the bitset's words
+ * counts how many IDs come before each word. Finding the k-th ID descends
+ * the tree to the right word and then counts bits within it, so a page of
+ * rows is fetched without walking the rows before it. IDs come from the
+ * DataStore's counters, so the bitset stays dense.
+ */
+final class RowIndex {
+    private long[] words = new long[16];
+    private int[] tree = new int[17];
+    private int size;
+
+    /**
+     * @return false if the ID was already present
+     */
+    synchronized boolean add(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("ID cannot be negative");
+        }
+        int word = id >>> 6;
+        if (word >= words.length) {
+            grow(word + 1);
+        }
+        long bit = 1L << id;
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        words[word] |= bit;
+        update(word, 1);
+        size++;
+        return true;
+    }
+
+    synchronized boolean remove(int id) {
+        int word = id >>> 6;
+        if (id < 0 || word >= words.length || (words[word] & (1L << id)) == 0) {
+            return false;
+        }
+        words[word] &= ~(1L << id);
+        update(word, -1);
+        size--;
+        return true;
+    }
+
+    synchronized void clear() {
+        Arrays.fill(words, 0);
+        Arrays.fill(tree, 0);
+        size = 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return Up to limit IDs in ascending order, starting at the given position
+     */
+    synchronized int[] select(int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= size) {
+            return new int[0];
+        }
+        int[] ids = new int[Math.min(limit, size - offset)];
+
+        // Descend the tree to the word holding the (offset + 1)-th ID
+        int word = 0;
+        int remaining = offset + 1;
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1) {
+            int next = word + step;
+            if (next <= words.length && tree[next] < remaining) {
+                word = next;
+                remaining -= tree[next];
+            }
+        }
+        long bits = words[word];
+        for (int i = 1; i < remaining; i++) {
+            bits &= bits - 1;
+        }
+
+        int found = 0;
+        while (found < ids.length) {
+            while (bits == 0) {
+                bits = words[++word];
+            }
+            ids[found++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+        }
+        return ids;
+    }
+
+    private void update(int word, int delta) {
+        for (int i = word + 1; i <= words.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void grow(int minWords) {
+        int capacity = words.length;
+        while (capacity < minWords) {
+            capacity <<= 1;
+        }
+        words = Arrays.copyOf(words, capacity);
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            tree[i] += Long.bitCount(words[i - 1]);
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.baymotors.utils;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.models.User;
+import com.baymotors.patterns.factory.NotificationType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless front-end that replays a script of garage operations without
+ * rendering any menus. One command per line; blank lines and lines
+ * starting with # are skipped:
+ *
+ *   login &lt;email&gt; &lt;password&gt;
+ *   logout
+ *   create-task &lt;vehicleId&gt; &lt;priority&gt; &lt;description...&gt;
+ *   allocate &lt;taskId&gt; &lt;mechanicId&gt;
+ *   complete &lt;taskId&gt;
+ *   notify &lt;customerId&gt; [notificationType]
+ *
+ * A failed command is counted and the script carries on. The report has
+ * latency percentiles per command.
+ */
+public class ScriptRunner {
+    private static final String SOURCE = "script";
+    private static final int MAX_RECORDED_ERRORS = 20;
+
+    private final GarageService garage;
+    private final AuthService authService;
+    private String sessionToken;
+
+    public ScriptRunner(DataStore dataStore) {
+        this(new GarageService(dataStore), dataStore.getAuthService());
+    }
+
+    public ScriptRunner(GarageService garage, AuthService authService) {
+        this.garage = garage;
+        this.authService = authService;
+    }
+
+    public Report run(BufferedReader script) throws IOException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        String line;
+        int lineNumber = 0;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] args = line.split("\\s+", 4);
+            long commandStart = System.nanoTime();
+            try {
+                execute(args);
+                report.record(args[0], System.nanoTime() - commandStart, null);
+            } catch (BayMotorsException | IllegalArgumentException e) {
+                report.record(args[0], System.nanoTime() - commandStart,
+                        "line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private void execute(String[] args) throws BayMotorsException {
+        switch (args[0]) {
+            case "login":
+                requireArgs(args, 3);
+                sessionToken = authService.login(args[1], args[2], SOURCE);
+                break;
+            case "logout":
+                authService.logout(sessionToken);
+                sessionToken = null;
+                break;
+            case "create-task":
+                requireArgs(args, 4);
+                garage.createTask(currentUser(), parseInt(args[1]), args[3], parseInt(args[2]));
+                break;
+            case "allocate":
+                requireArgs(args, 3);
+                garage.allocateTask(currentUser(), parseInt(args[1]), parseInt(args[2]));
+                break;
+            case "complete":
+                requireArgs(args, 2);
+                garage.completeTask(currentUser(), parseInt(args[1]));
+                break;
+            case "notify":
+                requireArgs(args, 2);
+                NotificationType type = args.length > 2
+                        ? NotificationType.valueOf(args[2].toUpperCase())
+                        : NotificationType.OFFER;
+                garage.notifyCustomer(currentUser(), parseInt(args[1]), type);
+                break;
+            default:
+                throw BayMotorsException.expected("Unknown command: " + args[0],
+                        BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    private User currentUser() throws AuthException {
+        if (sessionToken == null) {
+            throw new AuthException("Not logged in");
+        }
+        return authService.authenticate(sessionToken);
+    }
+
+    private static void requireArgs(String[] args, int count) throws BayMotorsException {
+        if (args.length < count) {
+            throw BayMotorsException.expected("Missing arguments for " + args[0],
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    private static int parseInt(String value) throws BayMotorsException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw BayMotorsException.expected("Not a number: " + value,
+                    BayMotorsException.ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    /**
+     * Counts and latencies per command for one run of a script.
+     */
+    public static class Report {
+        private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        private final Map<String, Integer> failures = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long elapsedNanos;
+        private long commandCount;
+        private long failureCount;
+
+        private void record(String command, long nanos, String error) {
+            latencies.computeIfAbsent(command, c -> new LatencyHistogram()).record(nanos);
+            commandCount++;
+            if (error != null) {
+                failures.merge(command, 1, Integer::sum);
+                failureCount++;
+                if (errors.size() < MAX_RECORDED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        public long getCommandCount() { return commandCount; }
+        public long getFailureCount() { return failureCount; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public int getFailureCount(String command) {
+            return failures.getOrDefault(command, 0);
+        }
+
+        /**
+         * @return The command's latency histogram, or null if it never ran
+         */
+        public LatencyHistogram getLatencies(String command) {
+            return latencies.get(command);
+        }
+
+        // The first few failures, with their line numbers
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            out.append(String.format("%d commands in %.2f s (%.0f/s), %d failed%n",
+                    commandCount, seconds, seconds > 0 ? commandCount / seconds : 0, failureCount));
+            for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+                out.append(String.format("  %-12s %s failed=%d%n",
+                        entry.getKey(), entry.getValue().summary(), getFailureCount(entry.getKey())));
+            }
+            for (String error : errors) {
+                out.append("  ").append(error).append(System.lineSeparator());
+            }
+            return out.toString();
+        }
+    }
+}
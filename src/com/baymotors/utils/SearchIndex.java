@@ -0,0 +1,561 @@
+package com.baymotors.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Type-ahead and typo-tolerant search over any kind of record.
+ *
+ * Each record's searchable text is split into lowercase words, and the
+ * words go into a radix trie (a trie whose edges hold whole runs of
+ * letters, so long unique words such as part codes cost one node). Every
+ * query word must match some word of a record:
+ * - prefix search walks to the query word's node and reads records
+ *   breadth-first, so shorter completions come first, stopping as soon as
+ *   it has enough;
+ * - fuzzy search runs a Levenshtein row down the trie and abandons any
+ *   branch that is already more than the allowed number of edits away.
+ *
+ * @param <T> Record type, identified by a unique int ID
+ */
+public class SearchIndex<T> {
+    private final ToIntFunction<T> idOf;
+    private final Function<T, Collection<String>> textOf;
+    private final Node root;
+    private final Map<Integer, T> items;
+    private final Map<Integer, String[]> tokensById;
+
+    /**
+     * @param idOf   Unique ID of a record
+     * @param textOf Searchable fields of a record (e.g. name, code); nulls are skipped
+     */
+    public SearchIndex(ToIntFunction<T> idOf, Function<T, Collection<String>> textOf) {
+        this.idOf = idOf;
+        this.textOf = textOf;
+        this.root = new Node("");
+        this.items = new HashMap<>();
+        this.tokensById = new HashMap<>();
+    }
+
+    /**
+     * Adds a record, replacing any earlier version with the same ID.
+     */
+    public synchronized void add(T item) {
+        if (item == null) {
+            return;
+        }
+        int id = idOf.applyAsInt(item);
+        if (items.containsKey(id)) {
+            remove(id);
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : textOf.apply(item)) {
+            tokens.addAll(tokenize(text));
+        }
+        String[] tokenArray = tokens.toArray(new String[0]);
+        for (String token : tokenArray) {
+            insert(token, id);
+        }
+        items.put(id, item);
+        tokensById.put(id, tokenArray);
+    }
+
+    public synchronized void remove(T item) {
+        if (item != null) {
+            remove(idOf.applyAsInt(item));
+        }
+    }
+
+    public synchronized void remove(int id) {
+        String[] tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        items.remove(id);
+        for (String token : tokens) {
+            delete(token, id);
+        }
+    }
+
+    public synchronized void clear() {
+        root.children = Node.NO_CHILDREN;
+        root.firstChars = Node.NO_CHARS;
+        root.ids = Node.NO_IDS;
+        root.idCount = 0;
+        root.postings = 0;
+        items.clear();
+        tokensById.clear();
+    }
+
+    public synchronized int size() {
+        return items.size();
+    }
+
+    /**
+     * Prefix matches first, then close misspellings if there are fewer than limit.
+     */
+    public synchronized List<T> search(String query, int limit) {
+        List<T> results = prefixSearch(query, limit);
+        if (results.size() >= limit) {
+            return results;
+        }
+        int longest = 0;
+        for (String term : tokenize(query)) {
+            longest = Math.max(longest, term.length());
+        }
+        int maxEdits = longest >= 8 ? 2 : longest >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            for (T item : fuzzySearch(query, maxEdits, limit)) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (!results.contains(item)) {
+                    results.add(item);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return Up to limit records where every query word starts some word of
+     *         the record, shorter completions first
+     */
+    public synchronized List<T> prefixSearch(String query, int limit) {
+        List<T> results = new ArrayList<>();
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return results;
+        }
+        // Drive the search from the word with the fewest completions, check the rest per record
+        Node driver = null;
+        String driverTerm = null;
+        for (String term : terms) {
+            Node node = findPrefix(term);
+            if (node == null) {
+                return results;
+            }
+            if (driver == null || node.postings < driver.postings) {
+                driver = node;
+                driverTerm = term;
+            }
+        }
+
+        Set<Integer> seen = new LinkedHashSet<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(driver);
+        while (!queue.isEmpty() && results.size() < limit) {
+            Node node = queue.poll();
+            for (int i = 0; i < node.idCount && results.size() < limit; i++) {
+                int id = node.ids[i];
+                if (seen.add(id) && matchesAll(tokensById.get(id), terms, driverTerm)) {
+                    results.add(items.get(id));
+                }
+            }
+            queue.addAll(Arrays.asList(node.children));
+        }
+        return results;
+    }
+
+    /**
+     * @return Up to limit records where every query word is within maxEdits
+     *         edits of some word of the record, fewest total edits first
+     */
+    public synchronized List<T> fuzzySearch(String query, int maxEdits, int limit) {
+        List<T> results = new ArrayList<>();
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return results;
+        }
+        // Find the indexed words close to each query word; this touches only the trie
+        List<List<WordMatch>> matchesPerTerm = new ArrayList<>(terms.size());
+        List<Map<String, Integer>> distancesPerTerm = new ArrayList<>(terms.size());
+        int driver = 0;
+        long driverPostings = Long.MAX_VALUE;
+        for (String term : terms) {
+            List<WordMatch> matches = new ArrayList<>();
+            int[] row = new int[term.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            collectFuzzy(root, term, row, maxEdits, new StringBuilder(), matches);
+            if (matches.isEmpty()) {
+                return results;
+            }
+            Map<String, Integer> distances = new HashMap<>();
+            long postings = 0;
+            for (WordMatch match : matches) {
+                distances.put(match.word, match.distance);
+                postings += match.node.idCount;
+            }
+            if (postings < driverPostings) {
+                driver = matchesPerTerm.size();
+                driverPostings = postings;
+            }
+            matchesPerTerm.add(matches);
+            distancesPerTerm.add(distances);
+        }
+
+        // Read records from the rarest word's matches, closest first, and
+        // stop at the end of the first distance band that fills the limit
+        List<WordMatch> driverMatches = matchesPerTerm.get(driver);
+        driverMatches.sort((a, b) -> Integer.compare(a.distance, b.distance));
+        Map<Integer, Integer> totals = new HashMap<>();
+        int band = driverMatches.get(0).distance;
+        int unbeatable = 0; // Records whose other words all match exactly; nothing later can rank above them
+        scan:
+        for (WordMatch match : driverMatches) {
+            if (match.distance != band) {
+                if (totals.size() >= limit) {
+                    break;
+                }
+                band = match.distance;
+                unbeatable = 0;
+            }
+            for (int i = 0; i < match.node.idCount; i++) {
+                int id = match.node.ids[i];
+                if (totals.containsKey(id)) {
+                    continue;
+                }
+                int total = closestTotal(tokensById.get(id), distancesPerTerm, driver);
+                if (total >= 0) {
+                    totals.put(id, total + match.distance);
+                    if (total == 0 && ++unbeatable >= limit && match.distance == driverMatches.get(0).distance) {
+                        break scan;
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(totals.entrySet());
+        ranked.sort(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            results.add(items.get(ranked.get(i).getKey()));
+        }
+        return results;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // ===== Trie operations =====
+
+    private void insert(String token, int id) {
+        Node node = root;
+        node.postings++;
+        int pos = 0;
+        while (pos < token.length()) {
+            int index = node.childIndex(token.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node(token.substring(pos));
+                leaf.addId(id);
+                leaf.postings = 1;
+                node.insertChild(-index - 1, leaf);
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, token, pos);
+            if (common < child.label.length()) {
+                // Split the edge where the new word leaves it
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.firstChars = new char[]{child.label.charAt(0)};
+                middle.postings = child.postings;
+                node.children[index] = middle;
+                child = middle;
+            }
+            child.postings++;
+            node = child;
+            pos += common;
+        }
+        node.addId(id);
+    }
+
+    private void delete(String token, int id) {
+        Node[] path = new Node[token.length() + 1];
+        int depth = 0;
+        Node node = root;
+        path[depth++] = node;
+        int pos = 0;
+        while (pos < token.length()) {
+            int index = node.childIndex(token.charAt(pos));
+            if (index < 0) {
+                return;
+            }
+            node = node.children[index];
+            if (!token.startsWith(node.label, pos)) {
+                return;
+            }
+            pos += node.label.length();
+            path[depth++] = node;
+        }
+        if (!node.removeId(id)) {
+            return;
+        }
+        for (int i = 0; i < depth; i++) {
+            path[i].postings--;
+        }
+        // Drop branches that no longer lead to any word
+        for (int i = depth - 1; i > 0 && path[i].postings == 0; i--) {
+            path[i - 1].removeChild(path[i]);
+        }
+    }
+
+    // Node whose subtree holds every word starting with the prefix
+    private Node findPrefix(String prefix) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(pos));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, pos);
+            if (pos + common == prefix.length()) {
+                return child; // Prefix ends on or inside this edge
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            pos += common;
+        }
+        return node;
+    }
+
+    private void collectFuzzy(Node node, String term, int[] row, int maxEdits,
+                              StringBuilder word, List<WordMatch> out) {
+        if (min(row) == maxEdits) {
+            // No edits left, so the next letter must be one the row can match
+            // exactly; look those up instead of trying every child. A letter
+            // repeated in the query is only looked up once
+            char[] tried = new char[term.length()];
+            int triedCount = 0;
+            for (int j = 0; j < term.length(); j++) {
+                char c = term.charAt(j);
+                if (row[j] == maxEdits && indexOf(tried, triedCount, c) < 0) {
+                    tried[triedCount++] = c;
+                    int index = node.childIndex(c);
+                    if (index >= 0) {
+                        visitFuzzy(node.children[index], term, row, maxEdits, word, out);
+                    }
+                }
+            }
+            return;
+        }
+        for (Node child : node.children) {
+            visitFuzzy(child, term, row, maxEdits, word, out);
+        }
+    }
+
+    private void visitFuzzy(Node child, String term, int[] row, int maxEdits,
+                            StringBuilder word, List<WordMatch> out) {
+        int[] current = row;
+        for (int c = 0; c < child.label.length(); c++) {
+            current = nextRow(current, child.label.charAt(c), term);
+            if (min(current) > maxEdits) {
+                return;
+            }
+        }
+        int length = word.length();
+        word.append(child.label);
+        int distance = current[term.length()];
+        if (distance <= maxEdits && child.idCount > 0) {
+            out.add(new WordMatch(child, word.toString(), distance));
+        }
+        collectFuzzy(child, term, current, maxEdits, word, out);
+        word.setLength(length);
+    }
+
+    // Sum over the other query words of their closest match among the
+    // record's words, or -1 if one of them matches none
+    private static int closestTotal(String[] tokens, List<Map<String, Integer>> distancesPerTerm, int skip) {
+        int total = 0;
+        for (int t = 0; t < distancesPerTerm.size(); t++) {
+            if (t == skip) {
+                continue;
+            }
+            int best = -1;
+            for (String token : tokens) {
+                Integer distance = distancesPerTerm.get(t).get(token);
+                if (distance != null && (best < 0 || distance < best)) {
+                    best = distance;
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int indexOf(char[] chars, int count, char c) {
+        for (int i = 0; i < count; i++) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] nextRow(int[] previous, char c, String term) {
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previous[i - 1] + (term.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(previous[i] + 1, row[i - 1] + 1));
+        }
+        return row;
+    }
+
+    private static int min(int[] row) {
+        int min = row[0];
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static boolean matchesAll(String[] tokens, List<String> terms, String alreadyMatched) {
+        for (String term : terms) {
+            if (term.equals(alreadyMatched)) {
+                continue;
+            }
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonPrefix(String label, String text, int offset) {
+        int max = Math.min(label.length(), text.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == text.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class WordMatch {
+        private final Node node;
+        private final String word;
+        private final int distance;
+
+        WordMatch(Node node, String word, int distance) {
+            this.node = node;
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final char[] NO_CHARS = new char[0];
+        private static final int[] NO_IDS = new int[0];
+
+        private String label;                  // Letters on the edge into this node
+        private Node[] children = NO_CHILDREN; // Sorted by first letter of label
+        private char[] firstChars = NO_CHARS;  // First letter of each child's label, for lookups
+        private int[] ids = NO_IDS;            // Records with a word ending here
+        private int idCount;
+        private int postings;                  // Word occurrences in this subtree
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = firstChars[mid];
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int at, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            char[] chars = new char[firstChars.length + 1];
+            System.arraycopy(firstChars, 0, chars, 0, at);
+            chars[at] = child.label.charAt(0);
+            System.arraycopy(firstChars, at, chars, at + 1, firstChars.length - at);
+            firstChars = chars;
+        }
+
+        void removeChild(Node child) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    Node[] shrunk = new Node[children.length - 1];
+                    System.arraycopy(children, 0, shrunk, 0, i);
+                    System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+                    children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+                    char[] chars = new char[firstChars.length - 1];
+                    System.arraycopy(firstChars, 0, chars, 0, i);
+                    System.arraycopy(firstChars, i + 1, chars, i, firstChars.length - i - 1);
+                    firstChars = chars;
+                    return;
+                }
+            }
+        }
+
+        void addId(int id) {
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, idCount * 2));
+            }
+            ids[idCount++] = id;
+        }
+
+        boolean removeId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--idCount];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
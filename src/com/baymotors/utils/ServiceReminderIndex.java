@@ -0,0 +1,173 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+import com.baymotors.patterns.observer.CustomerListener;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Next-service-due index for vehicles, ordered by due date.
+ *
+ * Each completed task moves its vehicle's due date to the completion date
+ * plus the service interval. Older queue entries are not searched for and
+ * removed; they are recognised as stale and skipped when they reach the
+ * head of the queue. Finding the due vehicles therefore never scans the
+ * fleet or any task history.
+ */
+public class ServiceReminderIndex implements CustomerListener {
+    public static final Period DEFAULT_SERVICE_INTERVAL = Period.ofMonths(12);
+
+    private final Period serviceInterval;
+    private final PriorityQueue<DueEntry> queue;
+    private final Map<Integer, DueEntry> current; // vehicle ID -> live entry
+
+    public ServiceReminderIndex() {
+        this(DEFAULT_SERVICE_INTERVAL);
+    }
+
+    public ServiceReminderIndex(Period serviceInterval) {
+        if (serviceInterval == null || serviceInterval.isNegative() || serviceInterval.isZero()) {
+            throw new IllegalArgumentException("Service interval must be positive");
+        }
+        this.serviceInterval = serviceInterval;
+        this.queue = new PriorityQueue<>();
+        this.current = new HashMap<>();
+    }
+
+    /**
+     * Indexes the customer's vehicles from their existing history and
+     * subscribes to future service completions.
+     */
+    public synchronized void track(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+        customer.addListener(this);
+        for (Vehicle vehicle : customer.getVehicles()) {
+            seed(vehicle);
+        }
+    }
+
+    public synchronized void untrack(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+        customer.removeListener(this);
+        for (Vehicle vehicle : customer.getVehicles()) {
+            current.remove(vehicle.getId());
+        }
+    }
+
+    public synchronized void clear() {
+        queue.clear();
+        current.clear();
+    }
+
+    @Override
+    public synchronized void onVehicleAdded(Customer customer, Vehicle vehicle) {
+        seed(vehicle);
+    }
+
+    @Override
+    public synchronized void onVehicleRemoved(Customer customer, Vehicle vehicle) {
+        current.remove(vehicle.getId());
+    }
+
+    @Override
+    public synchronized void onServiceCompleted(Customer customer, Vehicle vehicle, Task task) {
+        LocalDate serviced = task.getCompletedDate() != null
+                ? task.getCompletedDate().toLocalDate()
+                : LocalDate.now();
+        update(vehicle, serviced);
+    }
+
+    /**
+     * Removes and returns up to maxCount vehicles due on or before the given
+     * date, earliest first. A returned vehicle is not due again until its
+     * next completed service.
+     */
+    public synchronized List<Vehicle> pollDue(LocalDate today, int maxCount) {
+        List<Vehicle> due = new ArrayList<>();
+        while (due.size() < maxCount && !queue.isEmpty()) {
+            DueEntry head = queue.peek();
+            if (current.get(head.vehicle.getId()) != head) {
+                queue.poll(); // Superseded by a later service
+                continue;
+            }
+            if (head.dueDate.isAfter(today)) {
+                break;
+            }
+            queue.poll();
+            current.remove(head.vehicle.getId());
+            due.add(head.vehicle);
+        }
+        return due;
+    }
+
+    public synchronized LocalDate getDueDate(Vehicle vehicle) {
+        DueEntry entry = vehicle == null ? null : current.get(vehicle.getId());
+        return entry == null ? null : entry.dueDate;
+    }
+
+    public synchronized int size() {
+        return current.size();
+    }
+
+    public Period getServiceInterval() {
+        return serviceInterval;
+    }
+
+    private void seed(Vehicle vehicle) {
+        LocalDate lastService = null;
+        for (Task task : vehicle.getTaskHistory()) {
+            if (task.getCompletedDate() != null) {
+                LocalDate completed = task.getCompletedDate().toLocalDate();
+                if (lastService == null || completed.isAfter(lastService)) {
+                    lastService = completed;
+                }
+            }
+        }
+        if (lastService != null) {
+            update(vehicle, lastService);
+        }
+    }
+
+    private void update(Vehicle vehicle, LocalDate serviced) {
+        LocalDate dueDate = serviced.plus(serviceInterval);
+        DueEntry existing = current.get(vehicle.getId());
+        if (existing != null && !dueDate.isAfter(existing.dueDate)) {
+            return;
+        }
+        DueEntry entry = new DueEntry(vehicle, dueDate);
+        current.put(vehicle.getId(), entry);
+        queue.offer(entry);
+        // Stale entries are normally dropped as they surface; compact if they pile up
+        if (queue.size() > 2 * current.size() + 64) {
+            queue.clear();
+            queue.addAll(current.values());
+        }
+    }
+
+    private static final class DueEntry implements Comparable<DueEntry> {
+        private final Vehicle vehicle;
+        private final LocalDate dueDate;
+
+        DueEntry(Vehicle vehicle, LocalDate dueDate) {
+            this.vehicle = vehicle;
+            this.dueDate = dueDate;
+        }
+
+        @Override
+        public int compareTo(DueEntry other) {
+            return dueDate.compareTo(other.dueDate);
+        }
+    }
+}
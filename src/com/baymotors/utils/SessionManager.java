@@ -0,0 +1,139 @@
+package com.baymotors.utils;
+
+import com.baymotors.models.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Issues opaque session tokens for authenticated users.
+ *
+ * Validating a token is one hash lookup and a time comparison. Expired
+ * sessions are dropped lazily when they are next seen, and the timing
+ * wheel purges the ones nobody comes back for, so the map does not grow
+ * with abandoned logins. Logging out cancels the session's timer, so the
+ * wheel does not grow with finished sessions either. purgeExpired needs
+ * calling periodically; DataStore runs it on its background ticker.
+ */
+public class SessionManager {
+    private static final int TOKEN_BYTES = 32;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<String, Session> sessions;
+    private final TimingWheel<Session> wheel;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final SecureRandom random;
+
+    public SessionManager(long ttlMillis) {
+        this(ttlMillis, System::currentTimeMillis);
+    }
+
+    public SessionManager(long ttlMillis, LongSupplier clock) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Session lifetime must be positive");
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(Math.max(1, ttlMillis / WHEEL_SIZE), WHEEL_SIZE, clock.getAsLong());
+        this.random = new SecureRandom();
+    }
+
+    /**
+     * Starts a session for a user who has already been authenticated.
+     *
+     * @return The session token
+     */
+    public String create(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, user, clock.getAsLong() + ttlMillis);
+        // Scheduled before the session is published, so invalidate always finds its timer
+        session.timeout = wheel.schedule(session, session.expiresAtMillis);
+        sessions.put(token, session);
+        return token;
+    }
+
+    /**
+     * @return The session's user, or null if the token is unknown or expired
+     */
+    public User validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (clock.getAsLong() >= session.expiresAtMillis) {
+            if (sessions.remove(token, session)) {
+                session.timeout.cancel();
+            }
+            return null;
+        }
+        return session.user;
+    }
+
+    public boolean invalidate(String token) {
+        if (token == null) {
+            return false;
+        }
+        Session session = sessions.remove(token);
+        if (session == null) {
+            return false;
+        }
+        session.timeout.cancel();
+        return true;
+    }
+
+    /**
+     * Removes every session whose lifetime has passed.
+     *
+     * @return Number of sessions purged
+     */
+    public int purgeExpired() {
+        int[] purged = new int[1];
+        wheel.advance(clock.getAsLong(), session -> {
+            if (sessions.remove(session.token, session)) {
+                purged[0]++;
+            }
+        });
+        return purged[0];
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return Number of session timers still on the wheel
+     */
+    public int getPendingExpiryCount() {
+        return wheel.size();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private static final class Session {
+        private final String token;
+        private final User user;
+        private final long expiresAtMillis;
+        private TimingWheel.Timeout<Session> timeout;
+
+        Session(String token, User user, long expiresAtMillis) {
+            this.token = token;
+            this.user = user;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.baymotors.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a fixed ring of buckets, each holding the timeouts
+ * that fall on that tick. Scheduling and cancelling are O(1); advancing the
+ * wheel only touches the buckets for the ticks that have elapsed.
+ * Deadlines further away than one revolution are kept with a round count.
+ *
+ * Time is passed in explicitly so callers (and tests) control the clock.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final long startMillis;
+    private final Bucket<T>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive");
+        }
+        int capacity = Integer.highestOneBit(wheelSize);
+        if (capacity < wheelSize) {
+            capacity <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = (Bucket<T>[]) new Bucket<?>[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        this.mask = capacity - 1;
+        this.currentTick = 0;
+    }
+
+    /**
+     * Schedules an item to expire at the given time. Deadlines already in
+     * the past expire on the next call to {@link #advance}.
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) {
+            deadlineTick = currentTick + 1;
+        }
+        Timeout<T> timeout = new Timeout<>(this, item, deadlineMillis);
+        timeout.remainingRounds = (deadlineTick - currentTick - 1) / buckets.length;
+        buckets[(int) (deadlineTick & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and hands every expired item
+     * to the callback. The callback runs outside the wheel's lock, so it may
+     * schedule new timeouts.
+     *
+     * @return Number of items that expired
+     */
+    public int advance(long nowMillis, Consumer<T> onExpire) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+            while (currentTick < targetTick) {
+                currentTick++;
+                Bucket<T> bucket = buckets[(int) (currentTick & mask)];
+                Timeout<T> timeout = bucket.head;
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    if (timeout.remainingRounds <= 0) {
+                        bucket.remove(timeout);
+                        size--;
+                        timeout.expired = true;
+                        expired.add(timeout.item);
+                    } else {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = next;
+                }
+            }
+        }
+        for (T item : expired) {
+            onExpire.accept(item);
+        }
+        return expired.size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Handle for a scheduled item, used to cancel it before it expires.
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineMillis;
+        private long remainingRounds;
+        private boolean expired;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, T item, long deadlineMillis) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * @return true if the timeout was still pending and is now cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return expired;
+            }
+        }
+
+        public T getItem() { return item; }
+        public long getDeadlineMillis() { return deadlineMillis; }
+    }
+
+    // Intrusive doubly-linked list so removal from a bucket is O(1)
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.adapter.AsyncPartSupplierAdapter;
+import com.baymotors.patterns.adapter.CircuitBreaker;
+import com.baymotors.patterns.adapter.HedgedPartSupplier;
+import com.baymotors.patterns.adapter.PartSupplierAdapter;
+import com.baymotors.patterns.adapter.SupplierUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncPartSupplierTest {
+    private ExecutorService executor;
+    private Supplier primarySupplier;
+    private Supplier backupSupplier;
+    private FakePartSupplierSystem primaryRemote;
+    private FakePartSupplierSystem backupRemote;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        primarySupplier = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+        primarySupplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, primarySupplier), 2);
+        backupSupplier = new Supplier(2, "Parts Direct", "Jane Doe", "b@test.com", "1111", "Swansea");
+        backupSupplier.addPart(new Part(2, "Oil Filter", "OF001", 16.49, toyota, backupSupplier), 10);
+        primaryRemote = new FakePartSupplierSystem(new PartSupplierAdapter(primarySupplier), 0, 0.0);
+        backupRemote = new FakePartSupplierSystem(new PartSupplierAdapter(backupSupplier), 0, 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReadsAreRetriedAfterFailures() throws Exception {
+        primaryRemote.setFailureRate(1.0);
+        AsyncPartSupplierAdapter async = new AsyncPartSupplierAdapter(
+                primaryRemote, executor, 500, 2, new CircuitBreaker(10, 1_000));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> async.getAvailableParts().get());
+        assertTrue(error.getCause() instanceof SupplierUnavailableException);
+        assertEquals(3, primaryRemote.getCallCount(), "First attempt plus two retries");
+    }
+
+    @Test
+    void testTimedOutOrderIsNotResent() {
+        primaryRemote.setLatencyMillis(300);
+        AsyncPartSupplierAdapter async = new AsyncPartSupplierAdapter(
+                primaryRemote, executor, 50, 2, new CircuitBreaker(10, 1_000));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> async.orderPart("OF001", 1).get());
+        assertTrue(error.getCause() instanceof TimeoutException);
+        assertEquals(1, primaryRemote.getCallCount());
+    }
+
+    @Test
+    void testCircuitOpensAndRecovers() throws Exception {
+        primaryRemote.setFailureRate(1.0);
+        CircuitBreaker breaker = new CircuitBreaker(3, 100);
+        AsyncPartSupplierAdapter async = new AsyncPartSupplierAdapter(primaryRemote, executor, 500, 0, breaker);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExecutionException.class, () -> async.getAvailableParts().get());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(ExecutionException.class, () -> async.getAvailableParts().get());
+        assertEquals(3, primaryRemote.getCallCount(), "Open circuit rejects without calling");
+
+        Thread.sleep(150);
+        primaryRemote.setFailureRate(0.0);
+        assertEquals(1, async.getAvailableParts().get().size());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testSlowPrimaryLookupIsHedged() throws Exception {
+        primaryRemote.setLatencyMillis(1_000);
+        HedgedPartSupplier hedged = new HedgedPartSupplier(
+                new AsyncPartSupplierAdapter(primaryRemote, executor),
+                new AsyncPartSupplierAdapter(backupRemote, executor),
+                20);
+
+        long start = System.nanoTime();
+        Part part = hedged.findPart("OF001").get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertSame(backupSupplier, part.getSupplier());
+        assertTrue(elapsedMillis < 500, "Backup answered while the primary was still slow");
+        assertEquals(1, hedged.getHedgedLookupCount());
+    }
+
+    @Test
+    void testOrderFailsOverOnlyWhenPrimaryDidNotOrder() throws Exception {
+        HedgedPartSupplier hedged = new HedgedPartSupplier(
+                new AsyncPartSupplierAdapter(primaryRemote, executor),
+                new AsyncPartSupplierAdapter(backupRemote, executor),
+                20);
+
+        assertTrue(hedged.orderPart("OF001", 2).get());
+        assertEquals(0, primarySupplier.getPartQuantity("OF001"));
+        assertEquals(10, backupSupplier.getPartQuantity("OF001"));
+
+        // Primary is out of stock, so the backup takes the order
+        assertTrue(hedged.orderPart("OF001", 2).get());
+        assertEquals(8, backupSupplier.getPartQuantity("OF001"));
+    }
+}
@@ -0,0 +1,144 @@
+package test.com.baymotos;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.models.Manager;
+import com.baymotors.models.User;
+import com.baymotors.utils.AuthService;
+import com.baymotors.utils.LoginThrottle;
+import com.baymotors.utils.PartReservationManager;
+import com.baymotors.utils.PasswordHasher;
+import com.baymotors.utils.SessionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthServiceTest {
+    private static final long TTL = 60_000;
+    private static final long WINDOW = 10_000;
+
+    private AtomicLong clock;
+    private AuthService auth;
+    private LoginThrottle emailThrottle;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000);
+        manager = new Manager(1, "Test Manager", "manager@test.com", "pass123");
+        Map<String, User> users = new HashMap<>();
+        users.put(manager.getEmail(), manager);
+        emailThrottle = new LoginThrottle(3, WINDOW, clock::get);
+        auth = new AuthService(users::get,
+                new SessionManager(TTL, clock::get),
+                emailThrottle,
+                new LoginThrottle(5, WINDOW, clock::get));
+    }
+
+    @Test
+    void testPasswordsAreStoredSalted() {
+        String first = PasswordHasher.hash("pass123", 1_000);
+        String second = PasswordHasher.hash("pass123", 1_000);
+        assertNotEquals(first, second, "Each hash has its own salt");
+        assertTrue(PasswordHasher.verify("pass123", first));
+        assertFalse(PasswordHasher.verify("pass124", first));
+        assertFalse(PasswordHasher.verify("pass123", "pass123"), "Plaintext is not a valid hash");
+        assertTrue(manager.authenticate("pass123"));
+        assertFalse(manager.authenticate("wrongpass"));
+    }
+
+    @Test
+    void testSessionValidatesUntilExpiry() throws AuthException {
+        String token = auth.login("manager@test.com", "pass123", "console");
+        assertSame(manager, auth.authenticate(token));
+
+        clock.addAndGet(TTL - 1);
+        assertSame(manager, auth.authenticate(token));
+        clock.addAndGet(1);
+        assertThrows(AuthException.class, () -> auth.authenticate(token));
+        assertEquals(0, auth.getSessions().size(), "Expired session is dropped when seen");
+    }
+
+    @Test
+    void testLogoutAndPurge() throws AuthException {
+        String kept = auth.login("manager@test.com", "pass123", "console");
+        String abandoned = auth.login("manager@test.com", "pass123", "console");
+        assertNotEquals(kept, abandoned);
+
+        auth.logout(kept);
+        assertThrows(AuthException.class, () -> auth.authenticate(kept));
+        assertEquals(1, auth.getSessions().getPendingExpiryCount(), "Logout cancels the session's timer");
+
+        clock.addAndGet(2 * TTL);
+        assertEquals(1, auth.getSessions().purgeExpired());
+        assertEquals(0, auth.getSessions().size());
+    }
+
+    @Test
+    void testFailedLoginsAreThrottledPerEmail() throws AuthException {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AuthException.class, () -> auth.login("manager@test.com", "guess", "console"));
+        }
+        AuthException blocked = assertThrows(AuthException.class,
+                () -> auth.login("manager@test.com", "pass123", "console"));
+        assertTrue(blocked.getMessage().contains("Too many"), "Correct password is refused while throttled");
+
+        // The previous window still counts, weighted by its overlap
+        clock.addAndGet(WINDOW);
+        assertThrows(AuthException.class, () -> auth.login("manager@test.com", "pass123", "console"));
+
+        clock.addAndGet(WINDOW);
+        assertNotNull(auth.login("manager@test.com", "pass123", "console"));
+        assertFalse(emailThrottle.isBlocked("manager@test.com"));
+    }
+
+    @Test
+    void testFailedLoginsAreThrottledPerSource() {
+        for (int i = 0; i < 5; i++) {
+            String email = "user" + i + "@test.com";
+            assertThrows(AuthException.class, () -> auth.login(email, "guess", "10.0.0.1"));
+        }
+        AuthException blocked = assertThrows(AuthException.class,
+                () -> auth.login("manager@test.com", "pass123", "10.0.0.1"));
+        assertTrue(blocked.getMessage().contains("Too many"));
+        assertDoesNotThrow(() -> auth.login("manager@test.com", "pass123", "console"));
+    }
+
+    @Test
+    void testIdleThrottleKeysArePurged() {
+        emailThrottle.recordFailure("a@test.com");
+        emailThrottle.recordFailure("b@test.com");
+        assertEquals(2, emailThrottle.getTrackedKeyCount());
+        clock.addAndGet(2 * WINDOW);
+        assertEquals(2, emailThrottle.purgeIdle());
+        assertEquals(0, emailThrottle.getTrackedKeyCount());
+    }
+
+    @Test
+    void testManySessionsLoggedOutLeaveNoTimers() throws AuthException {
+        for (int i = 0; i < 1_000; i++) {
+            auth.logout(auth.login("manager@test.com", "pass123", "console"));
+        }
+        assertEquals(0, auth.getSessions().size());
+        assertEquals(0, auth.getSessions().getPendingExpiryCount());
+    }
+
+    @Test
+    void testBackgroundTickerPurgesAbandonedSessions() throws AuthException {
+        SessionManager sessions = new SessionManager(TTL, clock::get);
+        sessions.create(manager);
+        PartReservationManager ticker = new PartReservationManager(1_000, clock.get());
+        ticker.addTickTask(sessions::purgeExpired);
+
+        ticker.tick(clock.get());
+        assertEquals(1, sessions.size());
+        clock.addAndGet(2 * TTL);
+        ticker.tick(clock.get());
+        assertEquals(0, sessions.size(), "Purged without anyone logging in");
+        assertEquals(0, sessions.getPendingExpiryCount());
+    }
+}
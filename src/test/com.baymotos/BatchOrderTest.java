@@ -0,0 +1,142 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.StockMovement;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.adapter.BatchOrderResult;
+import com.baymotors.patterns.adapter.OrderLine;
+import com.baymotors.patterns.adapter.PartSupplierAdapter;
+import com.baymotors.patterns.adapter.PartSupplierSystem;
+import com.baymotors.patterns.observer.InventoryListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchOrderTest {
+    private Supplier supplier;
+    private PartSupplierSystem system;
+
+    @BeforeEach
+    void setUp() {
+        supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "supplier@test.com", "0000", "Cardiff");
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+        supplier.addPart(new Part(2, "Brake Pad", "BP001", 45.99, toyota, supplier), 4);
+        supplier.addPart(new Part(3, "Spark Plug", "SP001", 8.50, toyota, supplier), 20);
+        system = new PartSupplierAdapter(supplier);
+    }
+
+    @Test
+    void testWholeBatchIsOrdered() {
+        BatchOrderResult result = system.orderParts(List.of(
+                new OrderLine("OF001", 2),
+                new OrderLine("BP001", 4),
+                new OrderLine("SP001", 5)
+        ));
+
+        assertTrue(result.isOrdered());
+        for (BatchOrderResult.LineResult line : result.getLines()) {
+            assertEquals(BatchOrderResult.LineStatus.ORDERED, line.getStatus());
+        }
+        assertEquals(8, supplier.getPartQuantity("OF001"));
+        assertEquals(0, supplier.getPartQuantity("BP001"));
+        assertEquals(15, supplier.getPartQuantity("SP001"));
+    }
+
+    @Test
+    void testFailedLineLeavesStockUntouched() {
+        BatchOrderResult result = system.orderParts(List.of(
+                new OrderLine("OF001", 2),
+                new OrderLine("BP001", 5),
+                new OrderLine("XX999", 1)
+        ));
+
+        assertFalse(result.isOrdered());
+        assertEquals(BatchOrderResult.LineStatus.NOT_ORDERED, result.getLines().get(0).getStatus());
+        assertEquals(BatchOrderResult.LineStatus.INSUFFICIENT_STOCK, result.getLines().get(1).getStatus());
+        assertEquals(BatchOrderResult.LineStatus.UNKNOWN_PART, result.getLines().get(2).getStatus());
+        assertEquals(10, supplier.getPartQuantity("OF001"));
+        assertEquals(4, supplier.getPartQuantity("BP001"));
+    }
+
+    @Test
+    void testRepeatedCodesAreCombined() {
+        BatchOrderResult result = system.orderParts(List.of(
+                new OrderLine("BP001", 3),
+                new OrderLine("BP001", 3)
+        ));
+
+        assertFalse(result.isOrdered(), "6 brake pads requested, only 4 in stock");
+        assertEquals(4, supplier.getPartQuantity("BP001"));
+    }
+
+    @Test
+    void testOpposingBatchesDoNotDeadlock() throws Exception {
+        supplier.updatePartQuantity("OF001", 30_000);
+        supplier.updatePartQuantity("SP001", 30_000);
+        List<OrderLine> forward = List.of(new OrderLine("OF001", 1), new OrderLine("SP001", 1));
+        List<OrderLine> backward = List.of(new OrderLine("SP001", 1), new OrderLine("OF001", 1));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<OrderLine> lines = t % 2 == 0 ? forward : backward;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5_000; i++) {
+                    system.orderParts(lines);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(10_000);
+            assertFalse(worker.isAlive(), "Batch orders deadlocked");
+        }
+        assertEquals(10_000, supplier.getPartQuantity("OF001"));
+        assertEquals(10_000, supplier.getPartQuantity("SP001"));
+    }
+
+    @Test
+    void testAdjustmentDuringFailingBatchIsNotInflatedByRollback() throws Exception {
+        Thread[] adjuster = new Thread[1];
+        supplier.addInventoryListener(new InventoryListener() {
+            @Override
+            public void onStockChanged(Supplier s, String partCode, StockMovement movement,
+                                       int oldQuantity, int newQuantity) {
+                if (movement != StockMovement.ORDER || !partCode.equals("BP001") || adjuster[0] != null) {
+                    return;
+                }
+                // Mid-batch: a stock count resets the line just taken, and a single
+                // order empties the next line so the batch has to roll back
+                adjuster[0] = new Thread(() -> s.updatePartQuantity("BP001", 50));
+                adjuster[0].start();
+                try {
+                    adjuster[0].join(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertTrue(s.order("OF001", 10));
+            }
+        });
+
+        List<String> shortages = supplier.orderAll(Map.of("BP001", 3, "OF001", 2));
+        adjuster[0].join();
+
+        assertEquals(List.of("OF001"), shortages);
+        assertEquals(50, supplier.getPartQuantity("BP001"), "The adjustment is the last word, not 50 + 3");
+        assertEquals(0, supplier.getPartQuantity("OF001"));
+    }
+}
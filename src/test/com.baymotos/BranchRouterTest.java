@@ -0,0 +1,105 @@
+package test.com.baymotos;
+
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.models.Customer;
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.BranchRouter;
+import com.baymotors.utils.DataStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BranchRouterTest {
+    private BranchRouter router;
+    private DataStore leeds;
+    private DataStore york;
+
+    @BeforeEach
+    void setUp() {
+        router = new BranchRouter();
+        leeds = router.addBranch("leeds");
+        york = router.addBranch("york");
+        router.addBranch("hull");
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    private Supplier supplierWith(DataStore store, String name, double price, int quantity) {
+        Supplier supplier = new Supplier(store.getNextSupplierId(), name, "Contact", "s@test.com", "0000", "Address");
+        store.addSupplier(supplier);
+        Manufacturer toyota = new Manufacturer(store.getNextManufacturerId(), "Toyota");
+        supplier.addPart(new Part(store.getNextPartId(), "Oil Filter", "OF001", price, toyota, supplier), quantity);
+        return supplier;
+    }
+
+    @Test
+    void testBranchesHaveSeparateIdsAndData() throws BayMotorsException {
+        leeds.addCustomer(new Customer(leeds.getNextCustomerId(), "Ann", "ann@test.com", "0000"));
+        york.addCustomer(new Customer(york.getNextCustomerId(), "Bob", "bob@test.com", "0000"));
+
+        assertEquals(1, leeds.getCustomer(1).getId());
+        assertEquals("Bob", york.getCustomer(1).getName(), "Each branch numbers its own customers");
+        assertNull(leeds.getCustomerByEmail("bob@test.com"));
+        assertSame(york, router.branch("york"));
+        assertEquals(0, DataStore.getInstance().getAllCustomers().stream()
+                .filter(c -> c.getEmail().equals("ann@test.com")).count(), "Branches are not the shared store");
+        assertEquals(List.of("hull", "leeds", "york"), List.copyOf(router.getBranchIds()));
+
+        BayMotorsException e = assertThrows(BayMotorsException.class, () -> router.branch("bristol"));
+        assertEquals(BayMotorsException.ErrorCode.INVALID_INPUT, e.getErrorCode());
+        assertThrows(IllegalArgumentException.class, () -> router.addBranch("leeds"));
+    }
+
+    @Test
+    void testCustomerByEmailFansOut() {
+        leeds.addCustomer(new Customer(leeds.getNextCustomerId(), "Ann", "ann@test.com", "0000"));
+        york.addCustomer(new Customer(york.getNextCustomerId(), "Bob", "bob@test.com", "0000"));
+        york.addCustomer(new Customer(york.getNextCustomerId(), "Ann", "ann@test.com", "0000"));
+
+        Map<String, Customer> found = router.findCustomersByEmail("ann@test.com");
+        assertEquals(List.of("leeds", "york"), List.copyOf(found.keySet()));
+        assertEquals(2, found.get("york").getId());
+        assertTrue(router.findCustomersByEmail("nobody@test.com").isEmpty());
+
+        york.removeCustomer(2);
+        assertEquals(List.of("leeds"), List.copyOf(router.findCustomersByEmail("ann@test.com").keySet()));
+    }
+
+    @Test
+    void testPartSourcingAcrossBranches() {
+        supplierWith(leeds, "Leeds Parts", 12.00, 50);
+        Supplier cheapYork = supplierWith(york, "York Parts", 10.00, 5);
+
+        BranchRouter.BranchOffer cheapest = router.findCheapest("OF001", 5);
+        assertEquals("york", cheapest.getBranchId());
+        assertSame(cheapYork, cheapest.getOffer().getSupplier());
+        assertEquals("leeds", router.findCheapest("OF001", 6).getBranchId(), "York does not have enough stock");
+        assertNull(router.findCheapest("OF001", 51));
+
+        List<BranchRouter.BranchOffer> offers = router.getOffers("OF001");
+        assertEquals(2, offers.size());
+        assertEquals(10.00, offers.get(0).getOffer().getPrice(), 0.001);
+        assertEquals("leeds", offers.get(1).getBranchId());
+    }
+
+    @Test
+    void testQueryFailureIsRethrown() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> router.fanOut(store -> {
+            if (store.getBranchId().equals("york")) {
+                throw new IllegalStateException("York is offline");
+            }
+            return store.getCustomerCount();
+        }));
+        assertEquals("York is offline", e.getMessage());
+    }
+}
@@ -0,0 +1,167 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Manager;
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Mechanic;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.models.Vehicle;
+import com.baymotors.utils.ConsoleServer;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsoleServerTest {
+    private static final int SESSIONS = 300;
+
+    private DataStore dataStore;
+    private ConsoleServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A fresh branch, since clearAll keeps the singleton's sessions and login throttle
+        dataStore = DataStore.createBranch("console-test");
+        // Cheap hashes so hundreds of logins do not dominate the test
+        Manager manager = new Manager(dataStore.getNextUserId(), "Test Manager", "manager@test.com", "pass123");
+        manager.setPasswordHash(PasswordHasher.hash("pass123", 1_000));
+        Mechanic mechanic = new Mechanic(dataStore.getNextUserId(), "Test Mechanic", "mechanic@test.com", "pass123");
+        mechanic.setPasswordHash(PasswordHasher.hash("pass123", 1_000));
+        dataStore.addUser(manager);
+        dataStore.addUser(mechanic);
+
+        server = new ConsoleServer(dataStore, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    private String converse(String input) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(input.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            socket.shutdownOutput();
+            InputStream in = socket.getInputStream();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testSessionLogsInAndExits() throws IOException {
+        String output = converse("1\nmechanic@test.com\npass123\n5\n2\n");
+        assertTrue(output.contains("Welcome, Test Mechanic!"), output);
+        assertTrue(output.contains("=== Mechanic Menu ==="));
+        assertTrue(output.contains("Logged out successfully!"));
+        assertTrue(output.contains("Thank you for using Bay Motors System!"));
+    }
+
+    @Test
+    void testClosedInputEndsSession() throws Exception {
+        String output = converse("1\nmanager@test.com\npass123\n");
+        assertTrue(output.contains("=== Manager Menu ==="), output);
+        assertEquals(0, dataStore.getAuthService().getSessions().size(), "Session is logged out on disconnect");
+    }
+
+    @Test
+    void testClosedInputAtPricePromptEndsSession() throws Exception {
+        dataStore.addManufacturer(new Manufacturer(1, "Toyota"));
+        dataStore.addSupplier(new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff"));
+
+        String output = converse("1\nmanager@test.com\npass123\n9\n2\n1\nautoparts\n1\nOil Filter\nOF001\n");
+        assertTrue(output.endsWith("Enter part price: "), "Prompt is flushed to the client: " + output);
+        assertEquals(0, dataStore.getAuthService().getSessions().size(), "Session is logged out on disconnect");
+    }
+
+    @Test
+    void testManagerIsAlertedWhenStockFallsToReorderPoint() throws IOException {
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        dataStore.addManufacturer(toyota);
+        Supplier supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 3);
+        dataStore.addSupplier(supplier);
+
+        String output = converse("1\nmanager@test.com\npass123\n9\n6\nOF001\n5\n20\n9\n10\n2\n");
+        int alert = output.indexOf("*** Low stock: OF001 at AutoParts Ltd is down to 3 (reorder point 5)");
+        assertTrue(alert >= 0, output);
+        assertEquals(alert, output.lastIndexOf("*** Low stock"), "Each alert is shown once");
+    }
+
+    @Test
+    void testConcurrentSessionsShareDataStore() throws Exception {
+        List<Future<String>> replies = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < SESSIONS; i++) {
+                String input = "1\nmanager@test.com\npass123\n"
+                        + "2\nCustomer " + i + "\ncustomer" + i + "@test.com\n0000\n"
+                        + "10\n2\n";
+                replies.add(clients.submit(() -> converse(input)));
+            }
+            for (Future<String> reply : replies) {
+                String output = reply.get();
+                assertTrue(output.contains("Customer added successfully!"), output);
+                assertTrue(output.contains("Thank you for using Bay Motors System!"));
+            }
+        }
+
+        List<Customer> customers = dataStore.getAllCustomers();
+        assertEquals(SESSIONS, customers.size());
+        Set<Integer> ids = new HashSet<>();
+        for (Customer customer : customers) {
+            ids.add(customer.getId());
+        }
+        assertEquals(SESSIONS, ids.size(), "Every session got its own customer ID");
+        assertEquals(0, dataStore.getAuthService().getSessions().size());
+    }
+
+    @Test
+    void testConcurrentSessionsRegisterVehiclesToOneCustomer() throws Exception {
+        Customer shared = new Customer(dataStore.getNextCustomerId(), "Shared Fleet", "fleet@test.com", "0000");
+        dataStore.addCustomer(shared);
+        dataStore.addManufacturer(new Manufacturer(dataStore.getNextManufacturerId(), "Ford"));
+
+        List<Future<String>> replies = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < SESSIONS; i++) {
+                String input = "1\nmanager@test.com\npass123\n"
+                        + "3\n1\nShared\n1\nREG" + i + "\nFord\nFocus\n2020\n"
+                        + "10\n2\n";
+                replies.add(clients.submit(() -> converse(input)));
+            }
+            for (Future<String> reply : replies) {
+                String output = reply.get();
+                assertTrue(output.contains("Vehicle registered successfully!"), output);
+            }
+        }
+
+        List<Vehicle> owned = shared.getVehicles();
+        assertEquals(SESSIONS, owned.size(), "No vehicle was lost to a concurrent add");
+        assertEquals(SESSIONS, new HashSet<>(owned).size());
+        for (Vehicle vehicle : owned) {
+            assertSame(shared, vehicle.getOwner());
+        }
+        assertEquals(SESSIONS, dataStore.getVehicleCount());
+        assertEquals(0, dataStore.getAuthService().getSessions().size());
+    }
+}
@@ -0,0 +1,123 @@
+package test.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.CompressedBitmap;
+import com.baymotors.utils.CustomerSegmentIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerSegmentTest {
+    private CustomerSegmentIndex index;
+    private Manufacturer toyota;
+    private Manufacturer ford;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSegmentIndex();
+        toyota = new Manufacturer(1, "Toyota");
+        ford = new Manufacturer(2, "Ford");
+    }
+
+    @Test
+    void testBitmapOperationsAcrossContainerTypes() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap threes = new CompressedBitmap();
+        for (int i = 0; i < 200_000; i++) {
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+            if (i % 3 == 0) {
+                threes.add(i);
+            }
+        }
+        threes.add(1_000_003);
+
+        assertEquals(100_000, evens.cardinality());
+        assertEquals(33_334, evens.and(threes).cardinality(), "Multiples of 6 below 200000");
+        assertEquals(100_000 + 66_668 - 33_334, evens.or(threes).cardinality());
+        assertTrue(threes.andNot(evens).contains(1_000_003));
+        assertFalse(threes.andNot(evens).contains(6));
+
+        for (int i = 0; i < 200_000; i += 2) {
+            if (i % 4 == 0) {
+                evens.remove(i);
+            }
+        }
+        assertEquals(50_000, evens.cardinality());
+        assertTrue(evens.contains(2));
+        assertFalse(evens.contains(4));
+    }
+
+    @Test
+    void testSegmentMaintainedFromDomainEvents() {
+        Customer alice = new Customer(1, "Alice", "alice@test.com", "111");
+        Customer bob = new Customer(2, "Bob", "bob@test.com", "222");
+        Customer carol = new Customer(3, "Carol", "carol@test.com", "333");
+        index.track(alice);
+        index.track(bob);
+        index.track(carol);
+
+        alice.register();
+        bob.register();
+
+        Vehicle aliceCar = new Vehicle(1, "AL1 CE", toyota, "Corolla", 2018);
+        aliceCar.setOwner(alice);
+        new Vehicle(2, "B0B 1", ford, "Focus", 2019).setOwner(bob);
+        new Vehicle(3, "CAR 0L", toyota, "Yaris", 2021).setOwner(carol);
+
+        Task service = new Task(1, "Regular Service", 2, aliceCar);
+        service.complete();
+
+        CompressedBitmap toyotaRegistered = index.registered().and(index.ownersOf("toyota"));
+        assertEquals(List.of(1), members(toyotaRegistered));
+
+        LocalDate today = LocalDate.now();
+        assertTrue(index.lastServicedBefore(today).isEmpty(), "Serviced today, not before today");
+        assertEquals(List.of(1), members(index.lastServicedBefore(today.plusDays(1))));
+        assertEquals(List.of(2, 3), members(index.neverServiced()));
+
+        index.untrack(alice);
+        assertTrue(index.registered().and(index.ownersOf("Toyota")).isEmpty());
+    }
+
+    @Test
+    void testTransferMovesOwnershipSegment() {
+        Customer alice = new Customer(1, "Alice", "alice@test.com", "111");
+        Customer bob = new Customer(2, "Bob", "bob@test.com", "222");
+        index.track(alice);
+        index.track(bob);
+
+        Vehicle car = new Vehicle(1, "AL1 CE", toyota, "Corolla", 2018);
+        car.setOwner(alice);
+        assertEquals(List.of(1), members(index.ownersOf("Toyota")));
+
+        car.setOwner(bob);
+        assertSame(bob, car.getOwner());
+        assertTrue(alice.getVehicles().isEmpty(), "The previous owner no longer lists the vehicle");
+        assertEquals(List.of(car), bob.getVehicles());
+        assertEquals(List.of(2), members(index.ownersOf("Toyota")), "Only the new owner owns a Toyota");
+
+        car.setOwner(null);
+        assertNull(car.getOwner());
+        assertTrue(bob.getVehicles().isEmpty());
+        assertTrue(index.ownersOf("Toyota").isEmpty());
+
+        bob.addVehicle(car);
+        alice.addVehicle(car);
+        assertSame(alice, car.getOwner(), "Adding to another customer transfers it too");
+        assertTrue(bob.getVehicles().isEmpty());
+        assertEquals(List.of(1), members(index.ownersOf("Toyota")));
+    }
+
+    private static List<Integer> members(CompressedBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
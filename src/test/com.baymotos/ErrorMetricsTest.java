@@ -0,0 +1,55 @@
+package test.com.baymotos;
+
+import com.baymotors.exceptions.AuthException;
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.exceptions.ErrorMetrics;
+import com.baymotors.exceptions.TaskException;
+import com.baymotors.models.Manager;
+import com.baymotors.models.Mechanic;
+import com.baymotors.models.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorMetricsTest {
+    private ErrorMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = ErrorMetrics.getInstance();
+        metrics.reset();
+    }
+
+    @Test
+    void testExpectedFailuresSkipStackTrace() {
+        Manager manager = new Manager(1, "Manager", "manager@test.com", "pass123");
+        Mechanic outsider = new Mechanic(2, "Mechanic", "mechanic@test.com", "pass123");
+        TaskException e = assertThrows(TaskException.class, () -> manager.allocateTask(new Task(1, "Service", 1, null), outsider));
+        assertEquals("Mechanic is not in manager's team", e.getMessage());
+        assertTrue(e.isExpected());
+        assertEquals(0, e.getStackTrace().length);
+
+        assertThrows(TaskException.class, () -> outsider.completeTask(null));
+        assertEquals(2, metrics.getExpectedCount(BayMotorsException.ErrorCode.TASK_ERROR));
+
+        BayMotorsException invalid = BayMotorsException.expected("Bad input", BayMotorsException.ErrorCode.INVALID_INPUT);
+        assertEquals(0, invalid.getStackTrace().length);
+        assertEquals(BayMotorsException.ErrorCode.INVALID_INPUT, invalid.getErrorCode());
+        assertEquals(0, new AuthException("Denied").getStackTrace().length);
+        assertEquals(1, metrics.getCount(BayMotorsException.ErrorCode.UNAUTHORIZED_ACCESS));
+    }
+
+    @Test
+    void testUnexpectedErrorsKeepStackTrace() {
+        IllegalStateException cause = new IllegalStateException("Disk full");
+        BayMotorsException e = new BayMotorsException("Save failed", BayMotorsException.ErrorCode.SYSTEM_ERROR, cause);
+        assertFalse(e.isExpected());
+        assertTrue(e.getStackTrace().length > 0);
+        assertSame(cause, e.getCause());
+
+        assertEquals(1, metrics.getUnexpectedCount(BayMotorsException.ErrorCode.SYSTEM_ERROR));
+        assertEquals(0, metrics.getExpectedCount(BayMotorsException.ErrorCode.SYSTEM_ERROR));
+        assertEquals("SYSTEM_ERROR: expected=0 unexpected=1\n", metrics.report());
+    }
+}
@@ -0,0 +1,71 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Part;
+import com.baymotors.patterns.adapter.BatchOrderResult;
+import com.baymotors.patterns.adapter.OrderLine;
+import com.baymotors.patterns.adapter.PartSupplierSystem;
+import com.baymotors.patterns.adapter.SupplierUnavailableException;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for a remote supplier system: adds latency to every call and
+ * fails a configurable share of them before they reach the real system.
+ */
+public class FakePartSupplierSystem implements PartSupplierSystem {
+    private final PartSupplierSystem delegate;
+    private final Random random;
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+    private final AtomicInteger calls;
+
+    public FakePartSupplierSystem(PartSupplierSystem delegate, long latencyMillis, double failureRate) {
+        this.delegate = delegate;
+        this.random = new Random(42);
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+        this.calls = new AtomicInteger();
+    }
+
+    public void setLatencyMillis(long latencyMillis) { this.latencyMillis = latencyMillis; }
+    public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+    public int getCallCount() { return calls.get(); }
+
+    @Override
+    public List<Part> getAvailableParts() {
+        simulateNetwork();
+        return delegate.getAvailableParts();
+    }
+
+    @Override
+    public boolean orderPart(String code, int quantity) {
+        simulateNetwork();
+        return delegate.orderPart(code, quantity);
+    }
+
+    @Override
+    public BatchOrderResult orderParts(List<OrderLine> lines) {
+        simulateNetwork();
+        return delegate.orderParts(lines);
+    }
+
+    private void simulateNetwork() {
+        calls.incrementAndGet();
+        boolean fail;
+        synchronized (random) {
+            fail = random.nextDouble() < failureRate;
+        }
+        if (fail) {
+            throw new SupplierUnavailableException("Simulated connection failure");
+        }
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package test.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.HttpApiServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpApiServerTest {
+    private DataStore dataStore;
+    private HttpApiServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        Manager manager = new Manager(dataStore.getNextUserId(), "Test Manager", "manager@test.com", "pass123");
+        Mechanic mechanic = new Mechanic(dataStore.getNextUserId(), "Test Mechanic", "mechanic@test.com", "pass123");
+        manager.addTeamMember(mechanic);
+        dataStore.addUser(manager);
+        dataStore.addUser(mechanic);
+        Customer customer = new Customer(dataStore.getNextCustomerId(), "John \"JD\" Doe", "john@test.com", "0000");
+        dataStore.addCustomer(customer);
+        Vehicle vehicle = new Vehicle(dataStore.getNextVehicleId(), "AB12 CDE", new Manufacturer(1, "Toyota"), "Corolla", 2020);
+        vehicle.setOwner(customer);
+        dataStore.addVehicle(vehicle);
+
+        server = new HttpApiServer(dataStore, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = post("/login", null,
+                "{\"email\": \"" + email + "\", \"password\": \"pass123\"}");
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    @Test
+    void testTaskLifecycleOverHttp() throws Exception {
+        String manager = login("manager@test.com");
+        HttpResponse<String> created = post("/tasks", manager,
+                "{\"vehicleId\": 1, \"description\": \"Replace brake pads\", \"priority\": 1}");
+        assertEquals(201, created.statusCode(), created.body());
+        assertTrue(created.body().contains("\"id\":1"));
+
+        HttpResponse<String> allocated = post("/tasks/1/allocate", manager, "{\"mechanicId\": 2}");
+        assertEquals(200, allocated.statusCode(), allocated.body());
+        assertTrue(allocated.body().contains("\"mechanicId\":2"));
+        assertEquals(409, post("/tasks/1/allocate", manager, "{\"mechanicId\": 2}").statusCode(),
+                "A task is only allocated once");
+
+        String mechanic = login("mechanic@test.com");
+        assertEquals(200, post("/tasks/1/complete", mechanic, "").statusCode());
+        assertNotNull(dataStore.getTask(1).getCompletedDate());
+    }
+
+    @Test
+    void testStaleVersionIsRejected() throws Exception {
+        String manager = login("manager@test.com");
+        post("/tasks", manager, "{\"vehicleId\": 1, \"description\": \"Oil change\", \"priority\": 2}");
+        assertTrue(get("/tasks/1", manager).body().contains("\"version\":0"));
+
+        HttpResponse<String> allocated = post("/tasks/1/allocate", manager, "{\"mechanicId\": 2, \"version\": 0}");
+        assertEquals(200, allocated.statusCode(), allocated.body());
+        long version = dataStore.getTask(1).getVersion();
+        assertTrue(allocated.body().contains("\"version\":" + version));
+
+        String mechanic = login("mechanic@test.com");
+        HttpResponse<String> stale = post("/tasks/1/complete", mechanic, "{\"version\": 0}");
+        assertEquals(409, stale.statusCode(), "Completing from a stale read is refused");
+        assertTrue(stale.body().contains("changed by someone else"), stale.body());
+        assertNull(dataStore.getTask(1).getCompletedDate());
+
+        assertEquals(200, post("/tasks/1/complete", mechanic, "{\"version\": " + version + "}").statusCode());
+        assertNotNull(dataStore.getTask(1).getCompletedDate());
+    }
+
+    @Test
+    void testListsAndLookups() throws Exception {
+        String token = login("manager@test.com");
+        HttpResponse<String> customers = get("/customers", token);
+        assertEquals(200, customers.statusCode());
+        assertTrue(customers.body().startsWith("[{\"id\":1,\"name\":\"John \\\"JD\\\" Doe\""), customers.body());
+        assertTrue(customers.body().contains("\"vehicleIds\":[1]"));
+
+        HttpResponse<String> vehicle = get("/vehicles/1", token);
+        assertTrue(vehicle.body().contains("\"registration\":\"AB12 CDE\""));
+        assertTrue(vehicle.body().contains("\"ownerId\":1"));
+        assertEquals(404, get("/vehicles/9", token).statusCode());
+        assertEquals(404, get("/tasks/9", token).statusCode());
+        assertEquals(404, post("/tasks/9/allocate", token, "{\"mechanicId\": 2}").statusCode(),
+                "A missing task is 404 on writes too, not a conflict");
+        assertEquals(404, post("/tasks/9/complete", login("mechanic@test.com"), "").statusCode());
+        assertEquals("[]", get("/tasks", token).body());
+    }
+
+    @Test
+    void testRequestsNeedValidSession() throws Exception {
+        assertEquals(401, get("/customers", "not-a-token").statusCode());
+        assertEquals(401, post("/login", null, "{\"email\": \"manager@test.com\", \"password\": \"nope\"}").statusCode());
+        String token = login("manager@test.com");
+        assertEquals(400, post("/tasks", token, "{\"vehicleId\": \"x\"}").statusCode());
+        assertEquals(204, post("/logout", token, "").statusCode());
+        assertEquals(401, get("/customers", token).statusCode());
+    }
+
+    @Test
+    void testPermissionDenialIsForbidden() throws Exception {
+        String manager = login("manager@test.com");
+        post("/tasks", manager, "{\"vehicleId\": 1, \"description\": \"Oil change\", \"priority\": 2}");
+        String mechanic = login("mechanic@test.com");
+        HttpResponse<String> denied = post("/tasks/1/allocate", mechanic, "{\"mechanicId\": 2}");
+        assertEquals(403, denied.statusCode(), "A valid session without the permission is 403, not 401");
+        assertNull(dataStore.getTask(1).getAssignedMechanic());
+    }
+
+    @Test
+    void testWrongMethodIsNotAllowed() throws Exception {
+        String token = login("manager@test.com");
+        HttpResponse<String> response = post("/customers", token, "");
+        assertEquals(405, response.statusCode());
+        assertEquals("GET", response.headers().firstValue("Allow").orElse(null));
+
+        HttpRequest put = HttpRequest.newBuilder(URI.create(baseUrl + "/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.ofString("")).build();
+        HttpResponse<String> tasks = client.send(put, HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, tasks.statusCode());
+        assertEquals("GET, POST", tasks.headers().firstValue("Allow").orElse(null));
+    }
+
+    @Test
+    void testListStreamsEveryPage() throws Exception {
+        int total = 1_201;
+        for (int i = 1; i < total; i++) {
+            dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "Customer " + i, "c" + i + "@test.com", "0000"));
+        }
+        String body = get("/customers", login("manager@test.com")).body();
+        assertEquals(total, body.split("\"vehicleIds\"", -1).length - 1, "Rows across all pages are streamed");
+        assertTrue(body.contains("\"id\":" + total + ","));
+        assertTrue(body.endsWith("]}]"), "The array is closed after the last page");
+    }
+}
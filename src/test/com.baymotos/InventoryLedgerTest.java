@@ -0,0 +1,156 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.StockMovement;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.InventoryLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryLedgerTest {
+    private Path directory;
+    private Path file;
+    private AtomicLong clock;
+    private Supplier supplier;
+    private Manufacturer toyota;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("ledger-test");
+        file = directory.resolve("inventory.ledger");
+        clock = new AtomicLong(1_000);
+        toyota = new Manufacturer(1, "Toyota");
+        supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (var files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testEveryMovementIsRecorded() throws Exception {
+        try (InventoryLedger ledger = new InventoryLedger(file, 4, clock::get)) {
+            ledger.track(supplier);
+            supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+            clock.set(2_000);
+            supplier.order("OF001", 3);
+            clock.set(3_000);
+            supplier.reserve("OF001", 2);
+            clock.set(4_000);
+            supplier.releaseReservation("OF001", 2);
+            clock.set(5_000);
+            supplier.updatePartQuantity("OF001", 40);
+
+            List<InventoryLedger.Entry> entries = ledger.movements(1, "OF001", Long.MIN_VALUE, Long.MAX_VALUE);
+            assertEquals(5, entries.size());
+            assertEquals(StockMovement.RECEIPT, entries.get(0).getMovement());
+            assertEquals(StockMovement.ORDER, entries.get(1).getMovement());
+            assertEquals(StockMovement.RESERVATION, entries.get(2).getMovement());
+            assertEquals(StockMovement.RELEASE, entries.get(3).getMovement());
+            assertEquals(StockMovement.ADJUSTMENT, entries.get(4).getMovement());
+            assertEquals(7, entries.get(1).getNewQuantity());
+
+            assertEquals(2, ledger.movements(1, "OF001", 2_000, 3_000).size());
+        }
+    }
+
+    @Test
+    void testDataStoreRecordsEverySupplier() throws Exception {
+        DataStore store = DataStore.createBranch("ledger-test");
+        store.openStorage(directory);
+        InventoryLedger ledger = store.getInventoryLedger();
+        store.addSupplier(supplier);
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+        supplier.order("OF001", 3);
+        assertEquals(2, ledger.movements(1, "OF001", Long.MIN_VALUE, Long.MAX_VALUE).size());
+
+        store.removeSupplier(supplier.getId());
+        supplier.order("OF001", 1);
+        assertEquals(2, ledger.getRecordCount(), "Removed suppliers are no longer recorded");
+        store.closeStorage();
+
+        try (InventoryLedger reopened = new InventoryLedger(directory.resolve("inventory.ledger"))) {
+            assertEquals(7, reopened.quantityAt(1, "OF001", Long.MAX_VALUE), "The last batch was written on close");
+        }
+    }
+
+    @Test
+    void testWriteFailuresNeverFailTheOrder() throws Exception {
+        InventoryLedger ledger = new InventoryLedger(file, 100, clock::get);
+        ledger.track(supplier);
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 5_000);
+        supplier.addPart(new Part(2, "Brake Pad", "BP001", 45.99, toyota, supplier), 5_000);
+        ledger.close(); // Every write from now on fails
+
+        for (int i = 0; i < 1_500; i++) {
+            assertTrue(supplier.order("OF001", 1));
+        }
+        assertTrue(supplier.orderAll(Map.of("OF001", 1, "BP001", 2)).isEmpty());
+
+        assertEquals(3_499, supplier.getPartQuantity("OF001"));
+        assertEquals(4_998, supplier.getPartQuantity("BP001"));
+        assertTrue(ledger.getWriteFailureCount() > 0);
+        assertNotNull(ledger.getLastWriteFailure());
+        assertEquals(1_504, ledger.getRecordCount(), "Records are kept for a later flush");
+    }
+
+    @Test
+    void testPointInTimeQueriesAcrossCheckpoints() throws Exception {
+        try (InventoryLedger ledger = new InventoryLedger(file, 100, clock::get)) {
+            ledger.track(supplier);
+            supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 5_000);
+            supplier.addPart(new Part(2, "Brake Pad", "BP001", 45.99, toyota, supplier), 5_000);
+            for (int i = 0; i < 1_000; i++) {
+                clock.set(10_000 + i * 10L);
+                supplier.order(i % 2 == 0 ? "OF001" : "BP001", 1);
+            }
+
+            assertTrue(ledger.getCheckpointCount() >= 9);
+            assertEquals(-1, ledger.quantityAt(1, "OF001", 999), "Before the part existed");
+            assertEquals(5_000, ledger.quantityAt(1, "OF001", 9_999));
+            // Orders at 10_000, 10_020, ... 10_500 for OF001: 26 of them
+            assertEquals(5_000 - 26, ledger.quantityAt(1, "OF001", 10_505));
+            assertEquals(4_500, ledger.quantityAt(1, "OF001", Long.MAX_VALUE));
+            assertEquals(4_500, ledger.quantityAt(1, "BP001", Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void testReopenedLedgerAnswersQueries() throws Exception {
+        try (InventoryLedger ledger = new InventoryLedger(file, 3, clock::get)) {
+            ledger.track(supplier);
+            supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+            for (int i = 1; i <= 5; i++) {
+                clock.set(1_000 + i * 100L);
+                supplier.order("OF001", 1);
+            }
+        }
+
+        try (InventoryLedger reopened = new InventoryLedger(file, 3, clock::get)) {
+            assertEquals(6, reopened.getRecordCount());
+            assertEquals(7, reopened.quantityAt(1, "OF001", 1_300));
+            assertEquals(5, reopened.quantityAt(1, "OF001", 2_000));
+
+            clock.set(3_000);
+            reopened.append(1, "OF001", StockMovement.ADJUSTMENT, 5, 50);
+            assertEquals(50, reopened.quantityAt(1, "OF001", 3_000));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.LowStockDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LowStockDetectorTest {
+    private Supplier cardiff;
+    private Supplier swansea;
+    private LowStockDetector detector;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        cardiff = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+        cardiff.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, cardiff), 10);
+        cardiff.addPart(new Part(2, "Brake Pad", "BP001", 45.99, toyota, cardiff), 10);
+        swansea = new Supplier(2, "Parts Direct", "Jane Doe", "b@test.com", "1111", "Swansea");
+        swansea.addPart(new Part(3, "Oil Filter", "OF001", 16.49, toyota, swansea), 3);
+
+        detector = new LowStockDetector();
+        events = new ArrayList<>();
+        detector.addListener((supplier, code, quantity, point) ->
+                events.add(supplier.getName() + ":" + code + ":" + quantity));
+        detector.track(cardiff);
+        detector.track(swansea);
+    }
+
+    @Test
+    void testCrossingReorderPointRaisesOneEvent() {
+        detector.setReorderPoint("OF001", 5, 20);
+        assertEquals(List.of("Parts Direct:OF001:3"), events, "Already below when the point was set");
+
+        cardiff.order("OF001", 4);
+        assertEquals(1, events.size(), "Still above the point");
+        cardiff.order("OF001", 1);
+        cardiff.order("OF001", 1);
+        assertEquals(2, events.size(), "Only the crossing raises an event");
+        assertEquals("AutoParts Ltd:OF001:5", events.get(1));
+        assertTrue(detector.isLow(cardiff, "OF001"));
+    }
+
+    @Test
+    void testProposalsAreGroupedBySupplierAndClearedOnRestock() {
+        detector.setReorderPoint("OF001", 5, 20);
+        detector.setReorderPoint("BP001", 8, 12);
+        cardiff.order("OF001", 6);
+        cardiff.order("BP001", 2);
+
+        List<LowStockDetector.ReorderProposal> proposals = detector.getReorderProposals();
+        assertEquals(2, proposals.size());
+        for (LowStockDetector.ReorderProposal proposal : proposals) {
+            if (proposal.getSupplier() == cardiff) {
+                assertEquals(2, proposal.getLines().size());
+            } else {
+                assertEquals(1, proposal.getLines().size());
+                assertEquals(20, proposal.getLines().get(0).getQuantity());
+            }
+        }
+
+        swansea.updatePartQuantity("OF001", 50);
+        assertEquals(1, detector.getReorderProposals().size());
+        assertFalse(detector.isLow(swansea, "OF001"));
+
+        detector.removeReorderPoint("BP001");
+        assertEquals(1, detector.getReorderProposals().get(0).getLines().size());
+    }
+
+    @Test
+    void testPartsWithoutReorderPointAreIgnored() {
+        cardiff.order("BP001", 10);
+        assertTrue(events.isEmpty());
+        assertTrue(detector.getReorderProposals().isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+import com.baymotors.patterns.factory.*;
+import com.baymotors.utils.NotificationCoalescer;
+import com.baymotors.utils.NotificationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationCoalescerTest {
+    private static final long WINDOW = 60_000;
+
+    private Customer customer;
+    private List<Notification> delivered;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer(1, "John Doe", "john@test.com", "1234567890");
+        delivered = new ArrayList<>();
+        coalescer = new NotificationCoalescer(WINDOW, delivered::add, 0);
+    }
+
+    @Test
+    void testNotificationsMergedIntoDigest() {
+        assertTrue(coalescer.submit(NotificationFactory.createNotification(NotificationType.TASK_COMPLETE, customer), 0));
+        assertFalse(coalescer.submit(NotificationFactory.createNotification(NotificationType.TASK_COMPLETE, customer), 1_000),
+                "Exact duplicate should be dropped");
+        assertTrue(coalescer.submit(NotificationFactory.createNotification(NotificationType.OFFER, customer), 2_000));
+
+        // Window has not closed yet
+        assertEquals(0, coalescer.flushDue(WINDOW - 1_000));
+        assertTrue(delivered.isEmpty());
+
+        assertEquals(1, coalescer.flushDue(WINDOW + 1_000));
+        assertEquals(1, delivered.size());
+        assertTrue(delivered.get(0) instanceof DigestNotification);
+        assertEquals(2, ((DigestNotification) delivered.get(0)).getMessages().size());
+        assertEquals(0, coalescer.getPendingCustomerCount());
+    }
+
+    @Test
+    void testCompletedTasksGoThroughCoalescerInUse() {
+        Vehicle first = new Vehicle(1, "AB12 CDE", new Manufacturer(1, "Ford"), "Focus", 2015);
+        Vehicle second = new Vehicle(2, "XY65 ZZZ", new Manufacturer(1, "Ford"), "Fiesta", 2018);
+        first.setOwner(customer);
+        second.setOwner(customer);
+        coalescer = new NotificationCoalescer(WINDOW, delivered::add);
+        NotificationUtil.useCoalescer(coalescer);
+        try {
+            new Task(1, "Service", 1, first).complete();
+            new Task(2, "Service", 1, second).complete();
+            NotificationUtil.dispatch(NotificationFactory.createNotification(NotificationType.OFFER, customer));
+            assertTrue(delivered.isEmpty(), "Held until the window closes");
+            assertEquals(1, coalescer.getPendingCustomerCount());
+        } finally {
+            NotificationUtil.useCoalescer(null);
+        }
+        coalescer.flushAll();
+        assertEquals(1, delivered.size());
+        assertEquals(2, ((DigestNotification) delivered.get(0)).getMessages().size(),
+                "Identical completion messages are merged and the offer is added");
+    }
+
+    @Test
+    void testSingleNotificationDeliveredUnchanged() {
+        Notification offer = NotificationFactory.createNotification(NotificationType.OFFER, customer);
+        coalescer.submit(offer, 0);
+        coalescer.flushDue(WINDOW + 1_000);
+        assertEquals(1, delivered.size());
+        assertSame(offer, delivered.get(0));
+    }
+
+    @Test
+    void testCustomersHaveSeparateWindows() {
+        Customer other = new Customer(2, "Jane Doe", "jane@test.com", "0987654321");
+        coalescer.submit(NotificationFactory.createNotification(NotificationType.OFFER, customer), 0);
+        coalescer.submit(NotificationFactory.createNotification(NotificationType.OFFER, other), WINDOW / 2);
+
+        assertEquals(1, coalescer.flushDue(WINDOW + 1_000));
+        assertEquals(customer, delivered.get(0).getCustomer());
+        assertEquals(1, coalescer.getPendingCustomerCount());
+
+        assertEquals(1, coalescer.flushAll());
+        assertEquals(other, delivered.get(1).getCustomer());
+    }
+}
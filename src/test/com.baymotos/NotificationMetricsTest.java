@@ -0,0 +1,58 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.patterns.factory.*;
+import com.baymotors.utils.LatencyHistogram;
+import com.baymotors.utils.NotificationMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationMetricsTest {
+    private NotificationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = NotificationMetrics.getInstance();
+        metrics.reset();
+    }
+
+    @Test
+    void testTemplateSubstitution() {
+        MessageTemplate template = MessageTemplate.compile("Hi {name}, we will email {email}. {unknown}");
+        Customer customer = new Customer(1, "John Doe", "john@test.com", "1234567890");
+        assertEquals("Hi John Doe, we will email john@test.com. {unknown}", template.render(customer));
+
+        Notification notification = NotificationFactory.createNotification(NotificationType.TASK_COMPLETE, customer);
+        assertTrue(notification.getMessage().contains("John Doe"));
+    }
+
+    @Test
+    void testSendsCountedPerTypeAndOutcome() {
+        Customer customer = new Customer(1, "John Doe", "john@test.com", "1234567890");
+        Customer noEmail = new Customer(2, "No Email", null, "1234567890");
+
+        NotificationFactory.createNotification(NotificationType.OFFER, customer).send();
+        NotificationFactory.createNotification(NotificationType.OFFER, customer).send();
+        NotificationFactory.createNotification(NotificationType.OFFER, noEmail).send();
+
+        assertEquals(2, metrics.getCount(NotificationType.OFFER, NotificationMetrics.Outcome.SENT));
+        assertEquals(1, metrics.getCount(NotificationType.OFFER, NotificationMetrics.Outcome.FAILED));
+        assertEquals(0, metrics.getCount(NotificationType.TASK_COMPLETE, NotificationMetrics.Outcome.SENT));
+        assertEquals(3, metrics.getLatency(NotificationType.OFFER).getCount());
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        long p50 = histogram.getPercentileNanos(50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 within bucket precision: " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 within bucket precision: " + p99);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,149 @@
+package test.com.baymotos;
+
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.models.Customer;
+import com.baymotors.models.Manager;
+import com.baymotors.patterns.factory.*;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.GarageService;
+import com.baymotors.utils.NotificationScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationSchedulerTest {
+    private Map<Integer, Customer> customers;
+    private List<List<Notification>> batches;
+
+    @BeforeEach
+    void setUp() {
+        customers = new HashMap<>();
+        for (int id = 1; id <= 5; id++) {
+            customers.put(id, new Customer(id, "Customer " + id, "c" + id + "@test.com", "0000"));
+        }
+        batches = new ArrayList<>();
+    }
+
+    @Test
+    void testDueNotificationsReleasedInOrderAndBatches() {
+        NotificationScheduler scheduler = new NotificationScheduler();
+        scheduler.schedule(NotificationType.OFFER, 3, 300);
+        scheduler.schedule(NotificationType.OFFER, 1, 100);
+        scheduler.schedule(NotificationType.TASK_COMPLETE, 2, 200);
+        scheduler.schedule(NotificationType.OFFER, 4, 5_000);
+
+        assertEquals(100, scheduler.getNextDueMillis());
+        int released = scheduler.releaseDue(1_000, 2, customers::get, batches::add);
+
+        assertEquals(3, released);
+        assertEquals(2, batches.size(), "Three due items with batch size 2 should make two batches");
+        assertEquals(customers.get(1), batches.get(0).get(0).getCustomer());
+        assertEquals(customers.get(2), batches.get(0).get(1).getCustomer());
+        assertTrue(batches.get(0).get(1) instanceof TaskCompleteNotification);
+        assertEquals(customers.get(3), batches.get(1).get(0).getCustomer());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void testPendingNotificationsSurviveRestart() throws Exception {
+        Path dir = Files.createTempDirectory("scheduler-test");
+        Path store = dir.resolve("scheduled.bin");
+
+        NotificationScheduler scheduler = new NotificationScheduler(store);
+        for (int i = 0; i < 1_000; i++) {
+            scheduler.schedule(NotificationType.OFFER, (i % 5) + 1, 10_000 - i);
+        }
+        scheduler.save();
+        scheduler.close();
+
+        NotificationScheduler restored = new NotificationScheduler(store);
+        assertEquals(1_000, restored.size());
+        assertEquals(9_001, restored.getNextDueMillis());
+        assertEquals(1_000, restored.releaseDue(10_000, 100, customers::get, batches::add));
+        assertEquals(10, batches.size());
+        restored.close();
+
+        deleteStore(store);
+    }
+
+    @Test
+    void testUnsavedChangesSurviveCrash() throws Exception {
+        Path store = Files.createTempDirectory("scheduler-test").resolve("scheduled.bin");
+
+        NotificationScheduler scheduler = new NotificationScheduler(store);
+        scheduler.schedule(NotificationType.OFFER, 1, 100);
+        scheduler.schedule(NotificationType.OFFER, 2, 200);
+        scheduler.save();
+        scheduler.schedule(NotificationType.OFFER, 3, 300);
+        scheduler.schedule(NotificationType.TASK_COMPLETE, 4, 400);
+        assertEquals(2, scheduler.releaseDue(250, 10, customers::get, batches::add));
+        // No save() or close(): the process dies here
+
+        NotificationScheduler restored = new NotificationScheduler(store);
+        assertEquals(2, restored.size(), "Released items must not come back and unsaved ones must not be lost");
+        assertEquals(300, restored.getNextDueMillis());
+
+        batches.clear();
+        assertEquals(2, restored.releaseDue(1_000, 10, customers::get, batches::add));
+        assertEquals(customers.get(3), batches.get(0).get(0).getCustomer());
+        assertTrue(batches.get(0).get(1) instanceof TaskCompleteNotification);
+        scheduler.close();
+        restored.close();
+
+        deleteStore(store);
+    }
+
+    @Test
+    void testScheduledOfferIsReleasedByTicker() throws Exception {
+        DataStore store = DataStore.createBranch("scheduler-test");
+        Path dir = Files.createTempDirectory("scheduler-test");
+        store.openStorage(dir);
+        Manager manager = new Manager(store.getNextUserId(), "Manager", "manager@test.com", "pass123");
+        store.addCustomer(customers.get(1));
+        GarageService garage = new GarageService(store);
+
+        assertThrows(BayMotorsException.class,
+                () -> garage.scheduleOffer(manager, 1, LocalDateTime.now().minusMinutes(1)));
+        garage.scheduleOffer(manager, 1, LocalDateTime.now().plusNanos(200_000_000));
+        garage.scheduleOffer(manager, 1, LocalDateTime.now().plusDays(1));
+
+        List<List<Notification>> sent = Collections.synchronizedList(new ArrayList<>());
+        store.getNotificationScheduler().start(10, 100, store::getCustomer, sent::add);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sent.size(), "Only the offer that fell due is released");
+        assertEquals(customers.get(1), sent.get(0).get(0).getCustomer());
+        store.closeStorage();
+
+        // Tomorrow's offer is still there after a restart
+        DataStore restarted = DataStore.createBranch("scheduler-test");
+        restarted.openStorage(dir);
+        assertEquals(1, restarted.getNotificationScheduler().size());
+        restarted.closeStorage();
+
+        try (var files = Files.list(dir)) {
+            for (Path path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private static void deleteStore(Path store) throws Exception {
+        Files.deleteIfExists(store);
+        Files.deleteIfExists(store.resolveSibling(store.getFileName() + ".journal"));
+        Files.deleteIfExists(store.getParent());
+    }
+}
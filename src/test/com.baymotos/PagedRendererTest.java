@@ -0,0 +1,92 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.PagedRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagedRendererTest {
+    private DataStore dataStore;
+    private ByteArrayOutputStream output;
+    private PagedRenderer<Customer> pages;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        for (int i = 0; i < 95; i++) {
+            dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "Customer " + i, "c" + i + "@test.com", "0000"));
+        }
+        output = new ByteArrayOutputStream();
+        pages = new PagedRenderer<>("Customers", dataStore::getCustomerCount, dataStore::getCustomers,
+                (buffer, number, customer) -> buffer.append(number).append(". ").append(customer.getName()).append('\n'),
+                new PrintStream(output, false, StandardCharsets.UTF_8), 20);
+    }
+
+    private String take() {
+        String text = output.toString(StandardCharsets.UTF_8);
+        output.reset();
+        return text;
+    }
+
+    @Test
+    void testPagesFetchInIdOrderSkippingGaps() {
+        dataStore.removeCustomer(3);
+        dataStore.removeCustomer(70);
+        assertEquals(93, dataStore.getCustomerCount());
+
+        List<Customer> first = dataStore.getCustomers(0, 5);
+        assertEquals(List.of(1, 2, 4, 5, 6), first.stream().map(Customer::getId).toList());
+        List<Customer> later = dataStore.getCustomers(66, 4);
+        assertEquals(List.of(68, 69, 71, 72), later.stream().map(Customer::getId).toList());
+        assertEquals(3, dataStore.getCustomers(90, 20).size());
+        assertTrue(dataStore.getCustomers(93, 20).isEmpty());
+    }
+
+    @Test
+    void testNavigation() {
+        assertTrue(pages.render());
+        String first = take();
+        assertTrue(first.contains("Customers (page 1 of 5, 95 total)"));
+        assertTrue(first.contains("20. Customer 19\n"));
+        assertFalse(first.contains("21. "));
+        assertEquals("Customer 4", pages.rowAt(5).getName());
+        assertNull(pages.rowAt(21), "Only rows on the current page can be picked");
+
+        assertTrue(pages.navigate("n"));
+        pages.render();
+        assertTrue(take().contains("21. Customer 20\n"));
+        assertEquals("Customer 20", pages.rowAt(21).getName());
+
+        assertTrue(pages.navigate("g 5"));
+        pages.render();
+        String last = take();
+        assertTrue(last.contains("page 5 of 5"));
+        assertTrue(last.contains("95. Customer 94\n"));
+
+        assertTrue(pages.navigate("n"));
+        pages.render();
+        assertEquals(5, pages.getPage(), "Paging past the end stays on the last page");
+
+        assertTrue(pages.navigate("p"));
+        pages.render();
+        assertEquals(4, pages.getPage());
+        assertFalse(pages.navigate("7"));
+        assertFalse(pages.navigate("gx"));
+    }
+
+    @Test
+    void testEmptyListRendersNothing() {
+        dataStore.clearAll();
+        assertFalse(pages.render());
+        assertEquals("", take());
+    }
+}
@@ -0,0 +1,109 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.patterns.adapter.CachingPartSupplierSystem;
+import com.baymotors.patterns.adapter.PartSupplierAdapter;
+import com.baymotors.patterns.adapter.PartSupplierSystem;
+import com.baymotors.utils.PartCatalogueCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartCatalogueCacheTest {
+    private Manufacturer toyota;
+    private Supplier supplier;
+    private FakePartSupplierSystem remote;
+    private PartCatalogueCache cache;
+    private PartSupplierSystem cached;
+
+    @BeforeEach
+    void setUp() {
+        toyota = new Manufacturer(1, "Toyota");
+        supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+        remote = new FakePartSupplierSystem(new PartSupplierAdapter(supplier), 0, 0.0);
+        cache = new PartCatalogueCache(2, 60_000);
+        cached = new CachingPartSupplierSystem(supplier, remote, cache);
+    }
+
+    @Test
+    void testRepeatedReadsHitTheCache() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, cached.getAvailableParts().size());
+        }
+        assertEquals(1, remote.getCallCount());
+        assertEquals(9, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.9, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void testCatalogueChangesInvalidate() {
+        cached.getAvailableParts();
+        Part brakePad = new Part(2, "Brake Pad", "BP001", 45.99, toyota, supplier);
+        supplier.addPart(brakePad, 4);
+        assertEquals(2, cached.getAvailableParts().size());
+
+        brakePad.setPrice(39.99);
+        assertEquals(39.99, cached.getAvailableParts().get(1).getPrice(), 1e-9);
+        assertEquals(3, remote.getCallCount());
+
+        supplier.order("BP001", 1); // Stock changes do not touch the catalogue
+        cached.getAvailableParts();
+        assertEquals(3, remote.getCallCount());
+    }
+
+    @Test
+    void testExpiryAndLruEviction() throws Exception {
+        PartCatalogueCache shortLived = new PartCatalogueCache(2, 30);
+        PartSupplierSystem system = new CachingPartSupplierSystem(supplier, remote, shortLived);
+        system.getAvailableParts();
+        Thread.sleep(60);
+        system.getAvailableParts();
+        assertEquals(2, remote.getCallCount(), "Expired entry is reloaded");
+
+        List<Part> none = new ArrayList<>();
+        cache.get(10, () -> none);
+        cache.get(11, () -> none);
+        cache.get(10, () -> none); // 10 is now most recently used
+        cache.get(12, () -> none);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        int[] reloads = new int[1];
+        cache.get(10, () -> { reloads[0]++; return none; });
+        cache.get(11, () -> { reloads[0]++; return none; });
+        assertEquals(1, reloads[0], "Only the least recently used entry was evicted");
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        remote.setLatencyMillis(100);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                cached.getAvailableParts();
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(1, remote.getCallCount());
+        assertEquals(1, cache.getLoadCount());
+    }
+}
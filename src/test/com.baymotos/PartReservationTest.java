@@ -0,0 +1,83 @@
+package test.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.PartReservationManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartReservationTest {
+    private static final long TTL = 60_000;
+
+    private PartReservationManager manager;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        manager = new PartReservationManager(100, 0);
+        supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "supplier@test.com", "0000", "Cardiff");
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, new Manufacturer(1, "Toyota"), supplier), 10);
+    }
+
+    @Test
+    void testReservationHoldsStockUntilExpiry() {
+        PartReservation reservation = manager.reserve(supplier, "OF001", 4, TTL, 0);
+        assertNotNull(reservation);
+        assertEquals(6, supplier.getPartQuantity("OF001"));
+        assertNull(manager.reserve(supplier, "OF001", 7, TTL, 0), "Held stock is not available to others");
+
+        assertEquals(0, manager.expireDue(TTL - 1_000));
+        assertEquals(1, manager.expireDue(TTL + 1_000));
+        assertEquals(PartReservation.Status.EXPIRED, reservation.getStatus());
+        assertEquals(10, supplier.getPartQuantity("OF001"));
+        assertFalse(reservation.confirm(), "Expired reservation cannot be confirmed");
+    }
+
+    @Test
+    void testStartingTaskConfirmsReservations() {
+        Vehicle vehicle = new Vehicle(1, "ABC123", new Manufacturer(1, "Toyota"), "Corolla", 2020);
+        Task task = new Task(1, "Oil Change", 1, vehicle);
+        PartReservation reservation = manager.reserve(supplier, "OF001", 3, TTL, 0);
+        task.addReservation(reservation);
+
+        task.getState().next(task); // Waiting -> In Progress
+        assertEquals(PartReservation.Status.CONFIRMED, reservation.getStatus());
+        assertEquals(0, manager.getHeldCount(), "Confirming cancels the expiry timer");
+
+        assertEquals(0, manager.expireDue(TTL * 2));
+        assertEquals(7, supplier.getPartQuantity("OF001"), "Confirmed stock stays ordered");
+    }
+
+    @Test
+    void testConfirmAndExpireRaceHasOneWinner() throws Exception {
+        supplier.updatePartQuantity("OF001", 1_000);
+        List<PartReservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            reservations.add(manager.reserve(supplier, "OF001", 2, TTL, 0));
+        }
+        ConcurrentLinkedQueue<Integer> confirmed = new ConcurrentLinkedQueue<>();
+        Thread confirmer = new Thread(() -> {
+            for (PartReservation reservation : reservations) {
+                if (reservation.confirm()) {
+                    confirmed.add(reservation.getId());
+                }
+            }
+        });
+        confirmer.start();
+        int expired = manager.expireDue(TTL + 1_000);
+        confirmer.join();
+        manager.expireDue(TTL * 3);
+
+        int expiredCount = (int) reservations.stream()
+                .filter(r -> r.getStatus() == PartReservation.Status.EXPIRED)
+                .count();
+        assertEquals(500, confirmed.size() + expiredCount);
+        assertTrue(expired >= expiredCount);
+        assertEquals(expiredCount * 2, supplier.getPartQuantity("OF001"));
+    }
+}
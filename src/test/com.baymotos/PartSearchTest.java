@@ -0,0 +1,82 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartSearchTest {
+    private DataStore dataStore;
+    private SearchIndex<Part> index;
+    private Part oilFilter;
+    private Part brakePad;
+    private Part brakeDisc;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        Manufacturer honda = new Manufacturer(2, "Honda");
+        Supplier supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "a@test.com", "0000", "Cardiff");
+        oilFilter = new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier);
+        brakePad = new Part(2, "Brake Pad", "BP001", 45.99, toyota, supplier);
+        brakeDisc = new Part(3, "Front Brake Disc", "BD002", 89.00, honda, supplier);
+        dataStore.addPart(oilFilter);
+        dataStore.addPart(brakePad);
+        dataStore.addPart(brakeDisc);
+        index = dataStore.getPartSearchIndex();
+    }
+
+    @Test
+    void testPrefixSearchAcrossFields() {
+        assertEquals(List.of(oilFilter), index.prefixSearch("oil", 10));
+        assertEquals(List.of(oilFilter), index.prefixSearch("of0", 10), "Codes are searchable");
+        assertEquals(2, index.prefixSearch("bra", 10).size());
+        assertEquals(List.of(brakeDisc), index.prefixSearch("brake hon", 10), "Every word must match");
+        assertEquals(List.of(brakePad), index.prefixSearch("BRAKE toy", 10));
+        assertEquals(1, index.prefixSearch("b", 1).size(), "Results are capped at the limit");
+        assertTrue(index.prefixSearch("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testTyposAreTolerated() {
+        assertTrue(index.prefixSearch("brkae", 10).isEmpty());
+        List<Part> matches = index.fuzzySearch("brkae", 2, 10);
+        assertEquals(2, matches.size());
+        assertEquals(List.of(oilFilter), index.search("filtar", 10));
+        assertEquals(List.of(brakeDisc), index.fuzzySearch("frnt", 1, 10));
+    }
+
+    @Test
+    void testFuzzyMatchesWhenQueryRepeatsALetter() {
+        List<String> words = List.of("ignition", "nition", "bcda", "bcdx", "bq");
+        SearchIndex<String> wordIndex = new SearchIndex<>(words::indexOf, word -> List.of(word));
+        for (String word : words) {
+            wordIndex.add(word);
+        }
+
+        List<String> matches = wordIndex.fuzzySearch("inition", 1, 10);
+        assertTrue(matches.contains("ignition"), "One insertion away");
+        assertTrue(matches.contains("nition"), "One deletion away");
+        assertEquals(List.of("bcda"), wordIndex.fuzzySearch("abcda", 1, 10));
+    }
+
+    @Test
+    void testIndexFollowsDataStore() {
+        dataStore.removePart(brakePad.getId());
+        assertEquals(List.of(brakeDisc), index.prefixSearch("brake", 10));
+
+        Part wiper = new Part(4, "Wiper Blade", "WB001", 9.99, oilFilter.getManufacturer(), oilFilter.getSupplier());
+        dataStore.addPart(wiper);
+        assertEquals(List.of(wiper), index.search("wiper", 10));
+        assertEquals(3, index.size());
+    }
+}
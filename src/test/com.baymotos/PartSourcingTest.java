@@ -0,0 +1,104 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.Supplier;
+import com.baymotors.utils.PartSourcingIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartSourcingTest {
+    private PartSourcingIndex index;
+    private Manufacturer toyota;
+    private Supplier cheap;
+    private Supplier mid;
+    private Supplier pricey;
+
+    @BeforeEach
+    void setUp() {
+        index = new PartSourcingIndex();
+        toyota = new Manufacturer(1, "Toyota");
+        cheap = supplier(1, "Cheap Parts");
+        mid = supplier(2, "Mid Parts");
+        pricey = supplier(3, "Pricey Parts");
+        index.track(cheap);
+        index.track(mid);
+        index.track(pricey);
+
+        cheap.addPart(new Part(1, "Oil Filter", "OF001", 10.00, toyota, cheap), 5);
+        mid.addPart(new Part(2, "Oil Filter", "OF001", 12.50, toyota, mid), 20);
+        pricey.addPart(new Part(3, "Oil Filter", "OF001", 15.00, toyota, pricey), 100);
+        mid.addPart(new Part(4, "Air Filter", "AF001", 25.99, toyota, mid), 10);
+    }
+
+    @Test
+    void testCheapestSupplierWithEnoughStock() {
+        assertSame(cheap, index.findCheapest("OF001", 5).getSupplier());
+        assertSame(mid, index.findCheapest("OF001", 6).getSupplier());
+        assertSame(pricey, index.findCheapest("OF001", 21).getSupplier());
+        assertNull(index.findCheapest("OF001", 101));
+        assertNull(index.findCheapest("XX999", 1));
+    }
+
+    @Test
+    void testIndexFollowsOrdersAndPriceChanges() {
+        assertTrue(mid.order("OF001", 15));
+        assertSame(pricey, index.findCheapest("OF001", 6).getSupplier(), "Mid supplier is down to 5");
+
+        pricey.getSuppliedParts().get(0).setPrice(9.00);
+        assertSame(pricey, index.findCheapest("OF001", 1).getSupplier(), "Price cut makes pricey supplier cheapest");
+        assertEquals(9.00, index.getOffers("OF001").get(0).getPrice(), 0.001);
+
+        cheap.updatePartQuantity("OF001", 0);
+        assertEquals(3, index.getOffers("OF001").size());
+    }
+
+    @Test
+    void testConcurrentOrdersLeaveIndexMatchingStock() throws Exception {
+        pricey.updatePartQuantity("OF001", 4_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    pricey.order("OF001", 1);
+                    index.findCheapest("OF001", 50);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2_000, pricey.getPartQuantity("OF001"));
+        assertEquals(2_000, index.findCheapest("OF001", 21).getQuantity(), "Stale leaves are re-read on query");
+        assertNull(index.findCheapest("OF001", 2_001));
+    }
+
+    @Test
+    void testBasketSourcing() {
+        Map<String, Integer> basket = new LinkedHashMap<>();
+        basket.put("OF001", 10);
+        basket.put("AF001", 2);
+        basket.put("XX999", 1);
+
+        PartSourcingIndex.BasketSourcing sourcing = index.sourceBasket(basket);
+        assertFalse(sourcing.isComplete());
+        assertEquals(1, sourcing.getUnavailable().size());
+        assertSame(mid, sourcing.getLines().get("OF001").getSupplier());
+        assertEquals(10 * 12.50 + 2 * 25.99, sourcing.getTotalCost(), 0.001);
+    }
+
+    private Supplier supplier(int id, String name) {
+        return new Supplier(id, name, "Contact", name.replace(' ', '.') + "@test.com", "0000", "Cardiff");
+    }
+}
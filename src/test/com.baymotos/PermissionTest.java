@@ -0,0 +1,58 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manager;
+import com.baymotors.models.Mechanic;
+import com.baymotors.models.Permission;
+import com.baymotors.models.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionTest {
+    private Manager manager;
+    private Mechanic mechanic;
+
+    @BeforeEach
+    void setUp() {
+        manager = new Manager(1, "Test Manager", "manager@test.com", "pass123");
+        mechanic = new Mechanic(2, "Test Mechanic", "mechanic@test.com", "pass123");
+    }
+
+    @Test
+    void testDefaultRoles() {
+        for (Permission permission : Permission.values()) {
+            assertTrue(manager.hasPermission(permission), "Manager has " + permission);
+        }
+        assertTrue(mechanic.hasPermission(Permission.TASK_COMPLETE));
+        assertTrue(mechanic.hasPermission(Permission.VIEW_VEHICLE));
+        assertFalse(mechanic.hasPermission(Permission.MANAGE_PARTS));
+        assertFalse(mechanic.hasPermission((Permission) null));
+    }
+
+    @Test
+    void testStringActionsResolveToPermissions() {
+        assertTrue(mechanic.hasPermission("TASK_UPDATE"));
+        assertTrue(mechanic.hasPermission("VIEW_VEHICLE"));
+        assertFalse(mechanic.hasPermission("MANAGE_CUSTOMERS"));
+        assertFalse(manager.hasPermission("NOT_A_PERMISSION"), "Unknown actions are never permitted");
+        assertFalse(manager.hasPermission((String) null));
+        assertSame(Permission.SEND_NOTIFICATIONS, Permission.fromName("SEND_NOTIFICATIONS"));
+    }
+
+    @Test
+    void testRolesConfiguredWithoutSubclassing() {
+        Role senior = Role.of("Senior Mechanic", Permission.TASK_VIEW, Permission.TASK_ALLOCATE, Permission.VIEW_CUSTOMER);
+        Mechanic seniorMechanic = new Mechanic(3, "Senior", "senior@test.com", "pass123", senior);
+        assertTrue(seniorMechanic.hasPermission(Permission.VIEW_CUSTOMER));
+        assertFalse(seniorMechanic.hasPermission(Permission.TASK_COMPLETE));
+        assertEquals(Permission.TASK_VIEW.bit() | Permission.TASK_ALLOCATE.bit() | Permission.VIEW_CUSTOMER.bit(),
+                senior.getMask());
+
+        mechanic.setRole(new Role("Read Only", EnumSet.noneOf(Permission.class)));
+        assertFalse(mechanic.hasPermission(Permission.TASK_VIEW));
+        assertThrows(IllegalArgumentException.class, () -> mechanic.setRole(null));
+    }
+}
@@ -0,0 +1,85 @@
+package test.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.ScriptRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScriptRunnerTest {
+    private DataStore dataStore;
+    private Mechanic mechanic;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        Manager manager = new Manager(dataStore.getNextUserId(), "Test Manager", "manager@test.com", "pass123");
+        mechanic = new Mechanic(dataStore.getNextUserId(), "Test Mechanic", "mechanic@test.com", "pass123");
+        manager.addTeamMember(mechanic);
+        dataStore.addUser(manager);
+        dataStore.addUser(mechanic);
+
+        Customer customer = new Customer(dataStore.getNextCustomerId(), "John Doe", "john@test.com", "0000");
+        dataStore.addCustomer(customer);
+        Vehicle vehicle = new Vehicle(dataStore.getNextVehicleId(), "AB12 CDE", new Manufacturer(1, "Toyota"), "Corolla", 2020);
+        vehicle.setOwner(customer);
+        dataStore.addVehicle(vehicle);
+    }
+
+    private ScriptRunner.Report run(String script) throws IOException {
+        return new ScriptRunner(dataStore).run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    void testScriptDrivesTaskLifecycle() throws IOException {
+        ScriptRunner.Report report = run(String.join("\n",
+                "# manager creates and allocates",
+                "login manager@test.com pass123",
+                "create-task 1 1 Replace brake pads",
+                "allocate 1 2",
+                "notify 1 offer",
+                "logout",
+                "",
+                "login mechanic@test.com pass123",
+                "complete 1"));
+
+        assertEquals(7, report.getCommandCount());
+        assertEquals(0, report.getFailureCount(), report.getErrors().toString());
+        Task task = dataStore.getTask(1);
+        assertEquals("Replace brake pads", task.getDescription());
+        assertSame(mechanic, task.getAssignedMechanic());
+        assertNotNull(task.getCompletedDate());
+        assertEquals(1, report.getLatencies("create-task").getCount());
+        assertTrue(report.format().contains("complete"));
+    }
+
+    @Test
+    void testFailuresAreCountedAndScriptContinues() throws IOException {
+        ScriptRunner.Report report = run(String.join("\n",
+                "create-task 1 1 Before login",
+                "login mechanic@test.com pass123",
+                "create-task 99 1 Missing vehicle",
+                "create-task 1 2 Oil change",
+                "allocate 1 2",
+                "complete 1",
+                "frobnicate"));
+
+        assertEquals(7, report.getCommandCount());
+        assertEquals(5, report.getFailureCount());
+        assertEquals(2, report.getFailureCount("create-task"));
+        assertEquals(1, report.getFailureCount("allocate"), "Mechanics cannot allocate");
+        assertEquals(1, report.getFailureCount("complete"), "Task is not allocated to the mechanic");
+        assertEquals(1, report.getFailureCount("frobnicate"));
+        assertTrue(report.getErrors().get(0).startsWith("line 1:"));
+        assertEquals("Oil change", dataStore.getTask(1).getDescription());
+        assertNull(dataStore.getTask(1).getAssignedMechanic());
+        assertNull(dataStore.getTask(2));
+    }
+}
@@ -0,0 +1,55 @@
+package test.com.baymotos;
+
+import com.baymotors.models.*;
+import com.baymotors.utils.NotificationUtil;
+import com.baymotors.utils.ServiceReminderIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceReminderTest {
+    private ServiceReminderIndex index;
+    private Customer customer;
+    private Manufacturer toyota;
+
+    @BeforeEach
+    void setUp() {
+        index = new ServiceReminderIndex(Period.ofMonths(6));
+        customer = new Customer(1, "John Doe", "john@test.com", "1234567890");
+        toyota = new Manufacturer(1, "Toyota");
+        index.track(customer);
+    }
+
+    @Test
+    void testDueDateFollowsLastCompletedTask() {
+        Vehicle vehicle = new Vehicle(1, "ABC123", toyota, "Corolla", 2020);
+        vehicle.setOwner(customer);
+        assertNull(index.getDueDate(vehicle), "Vehicle with no completed service has no due date");
+
+        new Task(1, "Oil Change", 1, vehicle).complete();
+        LocalDate due = LocalDate.now().plusMonths(6);
+        assertEquals(due, index.getDueDate(vehicle));
+
+        assertTrue(index.pollDue(due.minusDays(1), 10).isEmpty());
+        assertEquals(1, index.pollDue(due, 10).size());
+        assertEquals(0, index.size(), "Reminded vehicle leaves the index until serviced again");
+    }
+
+    @Test
+    void testRemindersSentInBatches() {
+        for (int id = 1; id <= 5; id++) {
+            Vehicle vehicle = new Vehicle(id, "REG" + id, toyota, "Yaris", 2021);
+            vehicle.setOwner(customer);
+            new Task(id, "Service", 2, vehicle).complete();
+        }
+        assertEquals(5, index.size());
+
+        int sent = NotificationUtil.sendServiceReminders(index, LocalDate.now().plusYears(1), 2);
+        assertEquals(5, sent);
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,88 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Part;
+import com.baymotors.models.PartCodes;
+import com.baymotors.models.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupplierInventoryTest {
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        supplier = new Supplier(1, "AutoParts Ltd", "John Smith", "supplier@test.com", "0000", "Cardiff");
+        Manufacturer toyota = new Manufacturer(1, "Toyota");
+        supplier.addPart(new Part(1, "Oil Filter", "OF001", 15.99, toyota, supplier), 10);
+    }
+
+    @Test
+    void testOrderDecrementsOnlyWhenSufficient() {
+        assertTrue(supplier.order("OF001", 4));
+        assertEquals(6, supplier.getPartQuantity("OF001"));
+        assertFalse(supplier.order("OF001", 7), "Cannot order more than in stock");
+        assertFalse(supplier.order("OF001", -1), "Negative quantities are rejected");
+        assertFalse(supplier.order("XX999", 1), "Unknown part");
+        assertTrue(supplier.updatePartQuantity("OF001", 20));
+        assertEquals(20, supplier.getPartQuantity("OF001"));
+    }
+
+    @Test
+    void testOrderByInternedPartId() {
+        int partId = PartCodes.idOf("OF001");
+        assertTrue(partId >= 0);
+        assertEquals("OF001", PartCodes.codeOf(partId));
+        assertEquals(partId, PartCodes.intern("OF001"), "Interning is idempotent");
+
+        assertTrue(supplier.order(partId, 3));
+        assertEquals(7, supplier.getPartQuantity(partId));
+        assertEquals(7, supplier.getPartQuantity("OF001"));
+        int interned = PartCodes.size();
+        assertEquals(-1, PartCodes.idOf("NOT-STOCKED"));
+        assertFalse(supplier.hasPart("NOT-STOCKED"));
+        assertFalse(supplier.order("NOT-STOCKED", 1));
+        assertEquals(interned, PartCodes.size(), "Lookups must not intern unknown codes");
+        assertFalse(supplier.order(-1, 1));
+    }
+
+    @Test
+    void testConcurrentOrdersNeverOversell() throws Exception {
+        int stock = 10_000;
+        supplier.updatePartQuantity("OF001", stock);
+        int threads = 8;
+        AtomicInteger ordered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Each thread tries to take far more than its share
+                for (int i = 0; i < stock; i++) {
+                    if (supplier.order("OF001", 3)) {
+                        ordered.addAndGet(3);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(stock - stock % 3, ordered.get());
+        assertEquals(stock % 3, supplier.getPartQuantity("OF001"));
+    }
+}
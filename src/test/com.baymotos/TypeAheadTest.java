@@ -0,0 +1,102 @@
+package test.com.baymotos;
+
+import com.baymotors.models.Customer;
+import com.baymotors.models.Manager;
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Supplier;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.MenuSystem;
+import com.baymotors.utils.PasswordHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeAheadTest {
+    private DataStore dataStore;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+        dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "John Smith", "john@test.com", "07700 900123"));
+        dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "Joanna Smythe", "jo@test.com", "07700 900456"));
+        dataStore.addCustomer(new Customer(dataStore.getNextCustomerId(), "Alice Brown", "alice@test.com", "01632 960001"));
+
+        Manufacturer ford = new Manufacturer(dataStore.getNextManufacturerId(), "Ford");
+        dataStore.addManufacturer(ford);
+        dataStore.addVehicle(new Vehicle(dataStore.getNextVehicleId(), "AB12 CDE", ford, "Focus", 2015));
+        dataStore.addVehicle(new Vehicle(dataStore.getNextVehicleId(), "XY65 ZZZ", ford, "Fiesta", 2018));
+
+        dataStore.addSupplier(new Supplier(dataStore.getNextSupplierId(), "Motor Parts Ltd", "Dave Jones",
+                "dave@motorparts.com", "0113 496 0000", "Leeds"));
+        dataStore.addSupplier(new Supplier(dataStore.getNextSupplierId(), "Brake World", "Sue Patel",
+                "sue@brakeworld.com", "0161 496 0000", "Manchester"));
+    }
+
+    private List<String> customerNames(String query) {
+        return dataStore.getCustomerSearchIndex().search(query, 10).stream().map(Customer::getName).toList();
+    }
+
+    @Test
+    void testCustomerSearchByNameEmailAndPhone() {
+        assertEquals(List.of("Joanna Smythe", "John Smith"), customerNames("jo"), "Exact word \"jo\" comes first");
+        assertEquals(List.of("John Smith"), customerNames("john sm"));
+        assertEquals(List.of("Alice Brown"), customerNames("alice@"));
+        assertEquals(List.of("Joanna Smythe"), customerNames("07700900456"), "Phone matches without its spaces");
+        assertEquals(List.of("John Smith"), customerNames("smitj"), "Small typos still match");
+    }
+
+    @Test
+    void testVehicleAndSupplierSearch() {
+        List<Vehicle> vehicles = dataStore.getVehicleSearchIndex().search("ab12c", 10);
+        assertEquals(1, vehicles.size());
+        assertEquals("Focus", vehicles.get(0).getModel());
+        assertEquals(2, dataStore.getVehicleSearchIndex().search("ford", 10).size());
+
+        List<Supplier> suppliers = dataStore.getSupplierSearchIndex().search("patel", 10);
+        assertEquals(1, suppliers.size());
+        assertEquals("Brake World", suppliers.get(0).getName());
+        assertEquals(2, dataStore.getSupplierCount());
+    }
+
+    @Test
+    void testRemovedRecordsAreNotFound() {
+        dataStore.removeCustomer(1);
+        assertEquals(List.of("Joanna Smythe"), customerNames("jo"));
+        dataStore.removeSupplier(2);
+        assertTrue(dataStore.getSupplierSearchIndex().search("patel", 10).isEmpty());
+        assertEquals(1, dataStore.getSupplierCount());
+    }
+
+    @Test
+    void testMenuSelectsVehicleBySearch() {
+        Manager manager = new Manager(dataStore.getNextUserId(), "Test Manager", "manager@test.com", "pass123");
+        manager.setPasswordHash(PasswordHasher.hash("pass123", 1_000));
+        dataStore.addUser(manager);
+
+        // A search with no matches, a refined search, then pick the single match
+        String input = "1\nmanager@test.com\npass123\n"
+                + "4\nzz99\nxy65\n1\nReplace clutch\n2\nn\n"
+                + "10\n2\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new MenuSystem(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(output, true, StandardCharsets.UTF_8), "test").start();
+
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("No vehicles match 'zz99'."), text);
+        assertTrue(text.contains("1. Ford Fiesta (XY65 ZZZ)"), text);
+        assertTrue(text.contains("Task created successfully!"), text);
+        List<Task> tasks = dataStore.getAllTasks();
+        assertEquals(1, tasks.size());
+        assertEquals("XY65 ZZZ", tasks.get(0).getVehicle().getRegistration());
+    }
+}
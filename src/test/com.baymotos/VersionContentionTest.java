@@ -0,0 +1,137 @@
+package test.com.baymotos;
+
+import com.baymotors.exceptions.BayMotorsException;
+import com.baymotors.exceptions.ConflictException;
+import com.baymotors.models.Manager;
+import com.baymotors.models.Manufacturer;
+import com.baymotors.models.Mechanic;
+import com.baymotors.models.Supplier;
+import com.baymotors.models.Task;
+import com.baymotors.models.Vehicle;
+import com.baymotors.patterns.state.WaitingState;
+import com.baymotors.utils.DataStore;
+import com.baymotors.utils.GarageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionContentionTest {
+    private static final int WRITERS = 4;
+    private static final int UPDATES_PER_WRITER = 500;
+    private static final int SUPPLIERS = 2;
+
+    private DataStore dataStore;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = DataStore.getInstance();
+        dataStore.clearAll();
+    }
+
+    @Test
+    void testStaleWriteIsRefused() throws BayMotorsException {
+        Manager manager = new Manager(dataStore.getNextUserId(), "Manager", "manager@test.com", "pass123");
+        Mechanic mechanic = new Mechanic(dataStore.getNextUserId(), "Mechanic", "mechanic@test.com", "pass123");
+        manager.addTeamMember(mechanic);
+        Vehicle vehicle = new Vehicle(dataStore.getNextVehicleId(), "AB12 CDE", new Manufacturer(1, "Ford"), "Focus", 2015);
+        dataStore.addVehicle(vehicle);
+        GarageService garage = new GarageService(dataStore);
+        Task task = garage.createTask(manager, vehicle, "Replace clutch", 1);
+        garage.allocateTask(manager, task, mechanic);
+
+        // Both read the task, then the mechanic completes it before the status change lands
+        long seen = task.getVersion();
+        garage.completeTask(mechanic, task.getId(), seen);
+        assertTrue(task.getVersion() > seen);
+        String status = task.getState().getStatus();
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> dataStore.updateTask(task.getId(), seen, t -> t.setState(new WaitingState())));
+        assertEquals(seen, e.getExpectedVersion());
+        assertEquals(task.getVersion(), e.getActualVersion());
+        assertEquals(BayMotorsException.ErrorCode.CONFLICT, e.getErrorCode());
+        assertEquals(status, task.getState().getStatus(), "The mechanic's change was not overwritten");
+        assertNotNull(task.getCompletedDate());
+        assertThrows(ConflictException.class, () -> garage.completeTask(mechanic, task.getId(), seen));
+    }
+
+    @Test
+    void testUpdatesUnderContentionAreNeverLost() throws Exception {
+        for (int i = 0; i < SUPPLIERS; i++) {
+            dataStore.addSupplier(new Supplier(dataStore.getNextSupplierId(), "Supplier " + i, "Contact",
+                    "s@test.com", "0", "Address"));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicBoolean versionWentBack = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        int id = 1 + (writer + i) % SUPPLIERS;
+                        // Read, compute, then write back only if nobody else wrote in between
+                        while (true) {
+                            Supplier supplier = dataStore.getSupplier(id);
+                            long version = supplier.getVersion();
+                            String next = String.valueOf(Long.parseLong(supplier.getPhone()) + 1);
+                            Thread.yield();
+                            try {
+                                dataStore.updateSupplier(id, version, s -> s.setPhone(next));
+                                break;
+                            } catch (ConflictException e) {
+                                // Lost the race; read again and retry
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            long[] last = new long[SUPPLIERS + 1];
+            while (writing.get()) {
+                for (int id = 1; id <= SUPPLIERS; id++) {
+                    long version = dataStore.getSupplier(id).getVersion();
+                    if (version < last[id]) {
+                        versionWentBack.set(true);
+                    }
+                    last[id] = version;
+                }
+                Thread.yield();
+            }
+        });
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        reader.start();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        reader.join();
+
+        long updates = (long) WRITERS * UPDATES_PER_WRITER;
+        long total = 0;
+        for (int id = 1; id <= SUPPLIERS; id++) {
+            Supplier supplier = dataStore.getSupplier(id);
+            assertEquals(supplier.getVersion(), Long.parseLong(supplier.getPhone()),
+                    "Every successful write was built on the latest value");
+            total += supplier.getVersion();
+        }
+        assertEquals(updates, total, "No update was lost");
+        assertFalse(versionWentBack.get(), "Versions never go back");
+    }
+}